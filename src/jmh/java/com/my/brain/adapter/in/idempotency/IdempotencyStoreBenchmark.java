@@ -0,0 +1,214 @@
+package com.my.brain.adapter.in.idempotency;
+
+import com.my.brain.config.AppConfig;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.sqlite.SQLiteDataSource;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * 왜: memory/file/sqlite 백엔드(및 tiered 조합) 선택을 수치로 하고, 소비 핫패스인 tryClaim의 회귀를 배포 전에 잡기 위함.
+ * 재전달 비율이 높은 상황(hit-heavy), 신규 이벤트 유입이 많은 상황(miss-heavy), 그 중간(mixed)을
+ * 살아 있는 키 수와 스레드 경합별로 측정한다. 처리량은 ops/s, 지연은 SampleTime의 p0.99, 할당률은 `-prof gc`로 본다.
+ * memory는 운영과 같이 상한(살아 있는 키의 2배)에 도달하면 오래된 키부터 축출하므로 긴 miss-heavy 측정에서는 적중률이 떨어진다.
+ * sqlite는 Agroal 풀 없이 SQLiteDataSource로 매번 커넥션을 여므로 절대값은 운영보다 보수적이다.
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class IdempotencyStoreBenchmark {
+
+    private static final Duration TTL = Duration.ofHours(24);
+    private static final Duration LEASE = Duration.ofMinutes(5);
+    private static final int CONTENDED_THREADS = 8;
+    private static final int PREFILL_LOADERS = 64;
+
+    @Param({"memory", "file", "sqlite", "tiered-file", "tiered-sqlite"})
+    public String backend;
+
+    @Param({"10000", "100000", "1000000"})
+    public int liveKeys;
+
+    @Param({"hit-heavy", "miss-heavy", "mixed"})
+    public String workload;
+
+    private final AtomicLong missSequence = new AtomicLong();
+    private Path workDir;
+    private String[] keys;
+    private int hitPercent;
+    private IdempotencyStore store;
+    private AutoCloseable closer;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        hitPercent = switch (workload) {
+            case "hit-heavy" -> 90;
+            case "miss-heavy" -> 10;
+            case "mixed" -> 50;
+            default -> throw new IllegalStateException("지원하지 않는 workload입니다: " + workload);
+        };
+        workDir = Files.createTempDirectory("idempotency-bench");
+        keys = new String[liveKeys];
+        for (int i = 0; i < liveKeys; i++) {
+            keys[i] = "evt-" + i;
+        }
+        IdempotencyStore persistent = switch (backend) {
+            case "memory" -> new InMemoryIdempotencyStore(TTL, LEASE, liveKeys * 2, System::currentTimeMillis);
+            case "file", "tiered-file" -> fileStore();
+            case "sqlite", "tiered-sqlite" -> sqliteStore();
+            default -> throw new IllegalStateException("지원하지 않는 idempotency backend입니다: " + backend);
+        };
+        prefill(persistent);
+        // 재시작 직후처럼 이미 채워진 저장소에서 캐시 계층을 예열한다.
+        store = backend.startsWith("tiered-")
+                ? new TieredIdempotencyStore(persistent, TTL, 10_000)
+                : persistent;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        if (closer != null) {
+            closer.close();
+        }
+        try (Stream<Path> paths = Files.walk(workDir)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(IdempotencyStoreBenchmark::deleteQuietly);
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    @Threads(1)
+    public boolean throughputSingleThread() {
+        return claim();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    @Threads(CONTENDED_THREADS)
+    public boolean throughputContended() {
+        return claim();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SampleTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    @Threads(1)
+    public boolean latencySingleThread() {
+        return claim();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SampleTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    @Threads(CONTENDED_THREADS)
+    public boolean latencyContended() {
+        return claim();
+    }
+
+    /**
+     * 왜: 소비 경로와 동일하게 tryClaim 한 번으로 조회+점유를 하고, 점유한 신규 이벤트는 처리 성공으로 보고 완료 기록까지 남긴다.
+     * 적중 키는 미리 만든 배열에서 골라 키 생성 할당이 측정에 섞이지 않게 한다.
+     */
+    private boolean claim() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        if (random.nextInt(100) < hitPercent) {
+            return store.tryClaim(keys[random.nextInt(keys.length)]);
+        }
+        String key = "miss-" + missSequence.incrementAndGet();
+        if (!store.tryClaim(key)) {
+            return false;
+        }
+        store.markProcessed(key);
+        return true;
+    }
+
+    private FileIdempotencyStore fileStore() {
+        FileIdempotencyStore fileStore = new FileIdempotencyStore(
+                workDir.resolve("idempotency.log"),
+                TTL,
+                LEASE,
+                Duration.ofMinutes(60),
+                Duration.ofMillis(200),
+                System::currentTimeMillis
+        );
+        closer = fileStore::close;
+        return fileStore;
+    }
+
+    private SqliteIdempotencyStore sqliteStore() {
+        Path dbPath = workDir.resolve("idempotency.db");
+        SQLiteDataSource dataSource = new SQLiteDataSource();
+        dataSource.setUrl("jdbc:sqlite:" + dbPath.toAbsolutePath());
+        SqliteIdempotencyStore sqliteStore = new SqliteIdempotencyStore(dataSource, dbPath, TTL, LEASE, 10, new DefaultGroupCommit());
+        sqliteStore.init();
+        closer = sqliteStore::stop;
+        return sqliteStore;
+    }
+
+    /**
+     * 왜: 그룹 커밋 백엔드는 동시에 들어온 쓰기만 한 배치로 묶으므로, 배치 크기만큼의 가상 스레드로 나눠 넣어야 1M 키도 빠르게 적재된다.
+     */
+    private void prefill(IdempotencyStore target) {
+        try (ExecutorService loaders = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int loader = 0; loader < PREFILL_LOADERS; loader++) {
+                int first = loader;
+                loaders.execute(() -> {
+                    for (int i = first; i < keys.length; i += PREFILL_LOADERS) {
+                        target.markProcessed(keys[i]);
+                    }
+                });
+            }
+        }
+    }
+
+    private static void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException ignored) {
+            // 임시 디렉터리 정리 실패는 측정 결과와 무관하다.
+        }
+    }
+
+    private static final class DefaultGroupCommit implements AppConfig.GroupCommitConfig {
+        @Override
+        public boolean enabled() {
+            return true;
+        }
+
+        @Override
+        public int maxBatch() {
+            return 64;
+        }
+
+        @Override
+        public int lingerMillis() {
+            return 5;
+        }
+    }
+}
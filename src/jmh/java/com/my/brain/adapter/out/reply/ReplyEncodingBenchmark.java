@@ -0,0 +1,76 @@
+package com.my.brain.adapter.out.reply;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.my.brain.domain.model.ReplyMessage;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 왜: 응답 인코더를 기존 문자열 이어 붙이기와 Jackson 직렬화에 견줘 지연과 응답당 할당(`-prof gc`의 gc.alloc.rate.norm)으로 비교하기 위함.
+ * 이어 붙이기는 커넥터가 어차피 UTF-8 바이트로 바꾸므로 `getBytes`까지 포함해야 공정하며, 이스케이프를 하지 않아 따옴표가 든 응답에선 잘못된 JSON을 만든다.
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ReplyEncodingBenchmark {
+
+    @Param({"short-ascii", "auth-reply", "long-korean"})
+    public String payload;
+
+    private final ReplyMessageEncoder encoder = new ReplyMessageEncoder();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private ReplyMessage message;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        String content = switch (payload) {
+            case "short-ascii" -> "saved: buy milk";
+            case "auth-reply" -> "인증이 필요합니다.\n아래 링크에서 \"허용\"을 눌러 주세요:\nhttps://accounts.example.com/o/oauth2/auth?state=abc\\def";
+            case "long-korean" -> "오늘 할 일 정리:\n" + "- 회의록 정리하고 \"다음 단계\" 공유하기\n".repeat(60);
+            default -> throw new IllegalStateException("지원하지 않는 payload입니다: " + payload);
+        };
+        message = new ReplyMessage("123456789", content);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public byte[] concatenation() {
+        return concatenate(message);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public byte[] jackson() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(message);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public byte[] encoder() {
+        return encoder.encode(message);
+    }
+
+    /** 인코더 도입 전 RabbitReplyProducer의 직렬화 방식. */
+    private static byte[] concatenate(ReplyMessage replyMessage) {
+        String json = "{\"replyToUserId\":\"" + replyMessage.replyToUserId() + "\",\"content\":\"" + replyMessage.content() + "\"}";
+        return json.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,169 @@
+package com.my.brain.adapter.in.deadletter;
+
+import com.my.brain.adapter.ratelimit.TokenBucket;
+import com.my.brain.config.AppConfig;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.quarkus.runtime.StartupEvent;
+import io.smallrye.reactive.messaging.rabbitmq.OutgoingRabbitMQMetadata;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.enterprise.inject.Instance;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.reactive.messaging.Channel;
+import org.eclipse.microprofile.reactive.messaging.Emitter;
+import org.eclipse.microprofile.reactive.messaging.Message;
+import org.eclipse.microprofile.reactive.messaging.Metadata;
+import org.jboss.logging.Logger;
+
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 왜: 보관된 DLQ 메시지를 원래 교환기(`bot.exchange`)로 되돌리되, 토큰 버킷으로 속도를 제한해
+ * 막 회복한 LLM/Google 쿼터를 재처리 적체가 다시 소진하지 않도록 하기 위함.
+ * 발행 확인을 받은 항목만 보관소에서 지우므로 재시작/발행 실패 시에도 유실되지 않는다.
+ * 재발행 때마다 `x-redrive-count` 헤더를 올려 다시 죽은 메시지가 횟수를 달고 보관되게 하고, `max-redrives`번 재발행된 메시지는
+ * 더 돌리지 않고 보관소에 남겨 원인이 풀리지 않은 메시지가 DLQ와 교환기 사이를 끝없이 오가지 않게 한다.
+ * 주기 재처리는 `app.dlq.redrive.enabled=true`일 때만 빈을 만들고 시작한다.
+ */
+@ApplicationScoped
+public class DeadLetterRedriver {
+
+    private static final Logger log = Logger.getLogger(DeadLetterRedriver.class);
+    private static final int PAGE_SIZE = 100;
+    public static final String REDRIVE_COUNT_HEADER = "x-redrive-count";
+
+    private final SqliteDeadLetterStore store;
+    private final Emitter<String> emitter;
+    private final AppConfig.RedriveConfig config;
+    private final TokenBucket bucket;
+    private ScheduledExecutorService executor;
+    private final LongAdder redriven = new LongAdder();
+
+    @Inject
+    public DeadLetterRedriver(SqliteDeadLetterStore store,
+                              @Channel("brain-requests-redrive") Emitter<String> emitter,
+                              AppConfig appConfig,
+                              MeterRegistry meterRegistry) {
+        this.store = store;
+        this.emitter = emitter;
+        this.config = appConfig.dlq().redrive();
+        this.bucket = new TokenBucket(config.ratePerSecond(), config.burst());
+        FunctionCounter.builder("brain.dlq.redriven", this, DeadLetterRedriver::redriven).register(meterRegistry);
+    }
+
+    /**
+     * 정적 관찰자라 재처리가 꺼져 있으면 이 빈(과 보관 테이블)을 만들지 않는다.
+     */
+    static void onStart(@Observes StartupEvent event, AppConfig appConfig, Instance<DeadLetterRedriver> redriver) {
+        if (appConfig.dlq().redrive().enabled()) {
+            redriver.get().start();
+        }
+    }
+
+    void start() {
+        executor = Executors.newSingleThreadScheduledExecutor(Thread.ofVirtual().name("dlq-redrive-", 0).factory());
+        executor.scheduleWithFixedDelay(this::redriveSafely, 0, config.intervalSeconds(), TimeUnit.SECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * @return 메시지가 지금까지 재발행된 횟수. 헤더가 없거나 읽을 수 없으면 0
+     */
+    public static int redriveCount(Map<String, Object> headers) {
+        Object value = headers == null ? null : headers.get(REDRIVE_COUNT_HEADER);
+        if (value instanceof Number number) {
+            return number.intValue();
+        }
+        if (value == null) {
+            return 0;
+        }
+        try {
+            return Integer.parseInt(value.toString());
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    /**
+     * @return 이번 호출에서 재발행(발행 확인 완료)한 메시지 수
+     */
+    public int redrive(RedriveFilter filter) throws InterruptedException {
+        int count = 0;
+        long cursor = 0;
+        List<ParkedDeadLetter> page;
+        while (!(page = store.find(filter, cursor, PAGE_SIZE)).isEmpty()) {
+            for (ParkedDeadLetter deadLetter : page) {
+                bucket.acquire();
+                publish(deadLetter).join();
+                store.delete(deadLetter.id());
+                cursor = deadLetter.id();
+                redriven.increment();
+                count++;
+            }
+        }
+        return count;
+    }
+
+    public long redriven() {
+        return redriven.sum();
+    }
+
+    private CompletableFuture<Void> publish(ParkedDeadLetter deadLetter) {
+        CompletableFuture<Void> published = new CompletableFuture<>();
+        OutgoingRabbitMQMetadata.Builder metadata = OutgoingRabbitMQMetadata.builder()
+                .withHeader("x-redriven-reason", deadLetter.reason())
+                .withHeader(REDRIVE_COUNT_HEADER, deadLetter.redriveCount() + 1);
+        if (deadLetter.correlationId() != null) {
+            metadata.withCorrelationId(deadLetter.correlationId());
+        }
+        emitter.send(Message.of(deadLetter.payload(), Metadata.of(metadata.build()),
+                () -> {
+                    published.complete(null);
+                    return CompletableFuture.completedFuture(null);
+                },
+                failure -> {
+                    published.completeExceptionally(failure);
+                    return CompletableFuture.completedFuture(null);
+                }));
+        return published;
+    }
+
+    private void redriveSafely() {
+        try {
+            int count = redrive(configuredFilter());
+            if (count > 0) {
+                log.infof("DLQ 메시지 %d건을 재발행했습니다. 남은 보관 현황=%s", count, store.countByReason());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            log.warnf("DLQ 재처리 중 예외: %s", e.getMessage());
+        }
+    }
+
+    private RedriveFilter configuredFilter() {
+        return new RedriveFilter(
+                config.reasons().map(HashSet::new).orElse(null),
+                config.userId().orElse(null),
+                config.parkedAfter().map(Instant::parse).orElse(null),
+                config.parkedBefore().map(Instant::parse).orElse(null),
+                config.maxRedrives()
+        );
+    }
+}
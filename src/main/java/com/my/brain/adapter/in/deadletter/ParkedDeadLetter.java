@@ -0,0 +1,17 @@
+package com.my.brain.adapter.in.deadletter;
+
+import java.time.Instant;
+
+/**
+ * 왜: DLQ에서 꺼낸 메시지를 재발행에 필요한 최소 정보와 함께 보관하기 위함.
+ * `redriveCount`는 이 메시지가 지금까지 재발행된 횟수로, 재발행 상한을 넘긴 메시지를 보관소에 남기는 데 쓴다.
+ */
+public record ParkedDeadLetter(long id,
+                               String reason,
+                               String sourceQueue,
+                               String userId,
+                               String correlationId,
+                               String payload,
+                               int redriveCount,
+                               Instant parkedAt) {
+}
@@ -0,0 +1,15 @@
+package com.my.brain.adapter.in.deadletter;
+
+import java.time.Instant;
+import java.util.Set;
+
+/**
+ * 왜: 재처리 대상을 사망 사유/사용자/적재 시각으로 좁혀, 복구한 쿼터를 필요한 만큼만 쓰기 위함. null 조건은 전체를 뜻한다.
+ * `maxRedrives`가 있으면 이미 그만큼 재발행된 메시지는 대상에서 빠진다.
+ */
+public record RedriveFilter(Set<String> reasons, String userId, Instant parkedAfter, Instant parkedBefore, Integer maxRedrives) {
+
+    public static RedriveFilter all() {
+        return new RedriveFilter(null, null, null, null, null);
+    }
+}
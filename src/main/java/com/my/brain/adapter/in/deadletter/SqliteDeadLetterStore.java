@@ -0,0 +1,176 @@
+package com.my.brain.adapter.in.deadletter;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 왜: DLQ 메시지를 ack 후에도 잃지 않도록 로컬 SQLite에 사망 사유별로 보관해, 원인 해소 후 골라서 재처리하기 위함.
+ * idempotency와 같은 데이터소스를 쓰므로 별도 운영 구성 요소가 늘지 않는다.
+ */
+@ApplicationScoped
+public class SqliteDeadLetterStore {
+
+    private static final String TABLE_DDL = """
+            CREATE TABLE IF NOT EXISTS dead_letter (
+                id INTEGER PRIMARY KEY AUTOINCREMENT,
+                reason TEXT NOT NULL,
+                source_queue TEXT,
+                user_id TEXT,
+                correlation_id TEXT,
+                payload TEXT NOT NULL,
+                redrive_count INTEGER NOT NULL DEFAULT 0,
+                parked_at INTEGER NOT NULL
+            )
+            """;
+    // 재발행 횟수 열이 없던 기존 DB에 열을 추가한다.
+    private static final String REDRIVE_COUNT_COLUMN_DDL = "ALTER TABLE dead_letter ADD COLUMN redrive_count INTEGER NOT NULL DEFAULT 0";
+    private static final String COLUMNS_SQL = "PRAGMA table_info(dead_letter)";
+    private static final String REASON_INDEX_DDL = "CREATE INDEX IF NOT EXISTS idx_dead_letter_reason ON dead_letter(reason, id)";
+    private static final String PARKED_AT_INDEX_DDL = "CREATE INDEX IF NOT EXISTS idx_dead_letter_parked_at ON dead_letter(parked_at)";
+
+    private static final String INSERT_SQL = """
+            INSERT INTO dead_letter(reason, source_queue, user_id, correlation_id, payload, redrive_count, parked_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?)
+            """;
+    private static final String SELECT_SQL = "SELECT id, reason, source_queue, user_id, correlation_id, payload, redrive_count, parked_at FROM dead_letter WHERE id > ?";
+    private static final String DELETE_SQL = "DELETE FROM dead_letter WHERE id = ?";
+    private static final String COUNT_BY_REASON_SQL = "SELECT reason, COUNT(*) FROM dead_letter GROUP BY reason ORDER BY reason";
+
+    private final DataSource dataSource;
+
+    @Inject
+    public SqliteDeadLetterStore(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    @PostConstruct
+    void init() {
+        try (Connection conn = dataSource.getConnection(); Statement stmt = conn.createStatement()) {
+            stmt.execute(TABLE_DDL);
+            if (!hasColumn(stmt, "redrive_count")) {
+                stmt.execute(REDRIVE_COUNT_COLUMN_DDL);
+            }
+            stmt.execute(REASON_INDEX_DDL);
+            stmt.execute(PARKED_AT_INDEX_DDL);
+        } catch (SQLException e) {
+            throw new IllegalStateException("DLQ 보관 테이블 초기화 실패", e);
+        }
+    }
+
+    private static boolean hasColumn(Statement stmt, String column) throws SQLException {
+        try (ResultSet rs = stmt.executeQuery(COLUMNS_SQL)) {
+            while (rs.next()) {
+                if (column.equals(rs.getString("name"))) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    public void park(String reason, String sourceQueue, String userId, String correlationId, String payload, int redriveCount, Instant parkedAt) {
+        try (Connection conn = dataSource.getConnection(); PreparedStatement ps = conn.prepareStatement(INSERT_SQL)) {
+            ps.setString(1, reason);
+            ps.setString(2, sourceQueue);
+            ps.setString(3, userId);
+            ps.setString(4, correlationId);
+            ps.setString(5, payload);
+            ps.setInt(6, redriveCount);
+            ps.setLong(7, parkedAt.toEpochMilli());
+            ps.executeUpdate();
+        } catch (SQLException e) {
+            throw new IllegalStateException("DLQ 메시지 보관 실패", e);
+        }
+    }
+
+    /**
+     * 왜: id 커서로 페이지를 나눠 읽어, 재처리 중 새로 들어온 메시지와 섞여도 같은 항목을 두 번 읽지 않게 한다.
+     */
+    public List<ParkedDeadLetter> find(RedriveFilter filter, long afterId, int limit) {
+        StringBuilder sql = new StringBuilder(SELECT_SQL);
+        List<Object> params = new ArrayList<>();
+        params.add(afterId);
+        if (filter.reasons() != null && !filter.reasons().isEmpty()) {
+            sql.append(" AND reason IN (").append(String.join(", ", Collections.nCopies(filter.reasons().size(), "?"))).append(")");
+            params.addAll(filter.reasons());
+        }
+        if (filter.userId() != null) {
+            sql.append(" AND user_id = ?");
+            params.add(filter.userId());
+        }
+        if (filter.parkedAfter() != null) {
+            sql.append(" AND parked_at >= ?");
+            params.add(filter.parkedAfter().toEpochMilli());
+        }
+        if (filter.parkedBefore() != null) {
+            sql.append(" AND parked_at < ?");
+            params.add(filter.parkedBefore().toEpochMilli());
+        }
+        if (filter.maxRedrives() != null) {
+            sql.append(" AND redrive_count < ?");
+            params.add(filter.maxRedrives());
+        }
+        sql.append(" ORDER BY id LIMIT ?");
+        params.add(limit);
+        try (Connection conn = dataSource.getConnection(); PreparedStatement ps = conn.prepareStatement(sql.toString())) {
+            for (int i = 0; i < params.size(); i++) {
+                ps.setObject(i + 1, params.get(i));
+            }
+            List<ParkedDeadLetter> result = new ArrayList<>();
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    result.add(new ParkedDeadLetter(
+                            rs.getLong(1),
+                            rs.getString(2),
+                            rs.getString(3),
+                            rs.getString(4),
+                            rs.getString(5),
+                            rs.getString(6),
+                            rs.getInt(7),
+                            Instant.ofEpochMilli(rs.getLong(8))
+                    ));
+                }
+            }
+            return result;
+        } catch (SQLException e) {
+            throw new IllegalStateException("DLQ 보관 메시지 조회 실패", e);
+        }
+    }
+
+    public void delete(long id) {
+        try (Connection conn = dataSource.getConnection(); PreparedStatement ps = conn.prepareStatement(DELETE_SQL)) {
+            ps.setLong(1, id);
+            ps.executeUpdate();
+        } catch (SQLException e) {
+            throw new IllegalStateException("DLQ 보관 메시지 삭제 실패", e);
+        }
+    }
+
+    public Map<String, Long> countByReason() {
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement ps = conn.prepareStatement(COUNT_BY_REASON_SQL);
+             ResultSet rs = ps.executeQuery()) {
+            Map<String, Long> counts = new LinkedHashMap<>();
+            while (rs.next()) {
+                counts.put(rs.getString(1), rs.getLong(2));
+            }
+            return counts;
+        } catch (SQLException e) {
+            throw new IllegalStateException("DLQ 보관 현황 조회 실패", e);
+        }
+    }
+}
@@ -1,86 +1,344 @@
 package com.my.brain.adapter.in.idempotency;
 
 import com.my.brain.config.AppConfig;
-import io.quarkus.arc.properties.IfBuildProperty;
+import jakarta.annotation.PreDestroy;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.inject.Typed;
+import jakarta.inject.Inject;
+import org.jboss.logging.Logger;
 
+import java.io.BufferedReader;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardOpenOption;
 import java.time.Duration;
-import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
 import java.util.stream.Stream;
 
-@IfBuildProperty(name = "app.idempotency.backend", stringValue = "file")
+/**
+ * 왜: 파일 백엔드가 매 호출마다 로그 전체를 읽고 다시 쓰지 않도록 추가 전용 세그먼트 로그와 메모리 인덱스로 구성한다.
+ * 조회는 인덱스에서 O(1), 기록은 한 줄 추가, 만료는 TTL을 지난 세그먼트를 통째로 삭제하는 방식으로 처리한다.
+ * 로그에는 완료 기록만 남기고 처리 중 점유(lease)는 메모리에만 두어, 처리 도중 죽은 프로세스의 점유가 재시작 뒤 재전달을 막지 않게 한다.
+ * {@link #markProcessed(String)}는 fsync 전에 반환하고 fsync는 `fsync-interval-millis`마다 묶어서 하므로, 프로세스만 죽으면 OS 캐시에
+ * 남은 기록이 살지만 OS나 전원이 죽으면 마지막 주기 동안의 완료 기록을 잃고 해당 재전달을 다시 처리할 수 있다.
+ * 파일 쓰기 중 가상 스레드가 캐리어를 고정하지 않도록 임계 구역은 {@code synchronized} 대신 {@link ReentrantLock}으로 묶는다.
+ */
+@Typed(FileIdempotencyStore.class)
 @ApplicationScoped
 public class FileIdempotencyStore implements IdempotencyStore {
 
+    private static final Logger log = Logger.getLogger(FileIdempotencyStore.class);
+
+    // 이전 버전이 해제 시 기록하던 묘비 값. 재구성 시 0은 항상 만료로 간주되어 인덱스에서 제외된다.
+    private static final long TOMBSTONE = 0L;
+
     private final Path logPath;
-    private final Duration ttl;
+    private final long ttlMillis;
+    private final long leaseMillis;
+    private final long segmentMillis;
+    private final LongSupplier clock;
+    private final Map<String, Long> index = new ConcurrentHashMap<>();
+    private final Map<String, Long> leases = new HashMap<>();
+    private final Deque<Segment> segments = new ArrayDeque<>();
+    private final ScheduledExecutorService maintenance;
+    private final ReentrantLock lock = new ReentrantLock();
+    private FileChannel activeChannel;
+    private boolean dirty;
 
+    @Inject
     public FileIdempotencyStore(AppConfig appConfig) {
-        this.logPath = Path.of(appConfig.idempotency().path());
-        this.ttl = Duration.ofHours(appConfig.idempotency().ttlHours());
+        this(Path.of(appConfig.idempotency().path()),
+                Duration.ofHours(appConfig.idempotency().ttlHours()),
+                Duration.ofSeconds(appConfig.idempotency().leaseSeconds()),
+                Duration.ofMinutes(appConfig.idempotency().segmentMinutes()),
+                Duration.ofMillis(appConfig.idempotency().fsyncIntervalMillis()),
+                System::currentTimeMillis);
+    }
+
+    FileIdempotencyStore(Path logPath, Duration ttl, Duration lease, Duration segmentDuration, Duration fsyncInterval, LongSupplier clock) {
+        this.logPath = logPath;
+        this.ttlMillis = ttl.toMillis();
+        this.leaseMillis = lease.toMillis();
+        this.segmentMillis = segmentDuration.toMillis();
+        this.clock = clock;
         try {
-            Path parent = logPath.getParent();
+            Path parent = logPath.toAbsolutePath().getParent();
             if (parent != null) {
                 Files.createDirectories(parent);
             }
-            if (!Files.exists(logPath)) {
-                Files.createFile(logPath);
-            }
+            rebuildIndex();
         } catch (IOException e) {
             throw new IllegalStateException("Idempotency 로그 파일 초기화 실패", e);
         }
+        this.maintenance = Executors.newSingleThreadScheduledExecutor(Thread.ofVirtual().name("idempotency-file-", 0).factory());
+        long fsyncMillis = Math.max(1, fsyncInterval.toMillis());
+        maintenance.scheduleWithFixedDelay(this::maintainSafely, fsyncMillis, fsyncMillis, TimeUnit.MILLISECONDS);
     }
 
     @Override
     public boolean isProcessed(String eventId) {
-        cleanup();
-        try (Stream<String> lines = Files.lines(logPath)) {
-            return lines.anyMatch(line -> line.startsWith(eventId + "|"));
-        } catch (IOException e) {
-            throw new IllegalStateException("Idempotency 로그 조회 실패", e);
-        }
+        Long processedAt = index.get(eventId);
+        return processedAt != null && processedAt >= clock.getAsLong() - ttlMillis;
     }
 
     @Override
     public void markProcessed(String eventId) {
-        cleanup();
-        String entry = eventId + "|" + Instant.now().toEpochMilli() + System.lineSeparator();
+        lock.lock();
         try {
-            Files.writeString(logPath, entry, StandardOpenOption.APPEND);
-        } catch (IOException e) {
-            throw new IllegalStateException("Idempotency 로그 기록 실패", e);
+            long now = clock.getAsLong();
+            append(eventId, now);
+            index.put(eventId, now);
+            leases.remove(eventId);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean tryClaim(String eventId) {
+        lock.lock();
+        try {
+            if (isProcessed(eventId)) {
+                return false;
+            }
+            long now = clock.getAsLong();
+            Long claimedAt = leases.get(eventId);
+            if (claimedAt != null && claimedAt >= now - leaseMillis) {
+                return false;
+            }
+            leases.put(eventId, now);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void release(String eventId) {
+        lock.lock();
+        try {
+            leases.remove(eventId);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 왜: 배치 fsync 주기와 세그먼트 만료를 같은 백그라운드 작업에서 처리해 요청 경로에서 디스크 동기화를 제거하기 위함.
+     */
+    void maintain() throws IOException {
+        lock.lock();
+        try {
+            if (dirty && activeChannel != null) {
+                activeChannel.force(false);
+                dirty = false;
+            }
+            dropExpiredSegments(clock.getAsLong() - ttlMillis);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    int segmentCount() {
+        lock.lock();
+        try {
+            return segments.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @PreDestroy
+    void close() {
+        lock.lock();
+        try {
+            maintenance.shutdownNow();
+            if (activeChannel != null) {
+                try {
+                    activeChannel.force(false);
+                    activeChannel.close();
+                } catch (IOException e) {
+                    log.warnf("Idempotency 로그 종료 중 예외: %s", e.getMessage());
+                }
+                activeChannel = null;
+            }
+        } finally {
+            lock.unlock();
         }
     }
 
-    private void cleanup() {
-        Instant cutoff = Instant.now().minus(ttl);
+    private void append(String eventId, long timestamp) {
+        byte[] line = (eventId + "|" + timestamp + "\n").getBytes(StandardCharsets.UTF_8);
         try {
-            if (!Files.exists(logPath)) {
-                return;
+            FileChannel channel = activeChannel(clock.getAsLong());
+            ByteBuffer buffer = ByteBuffer.wrap(line);
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
             }
-            var retained = Files.readAllLines(logPath).stream()
-                    .filter(line -> isFresh(line, cutoff))
-                    .toList();
-            Files.write(logPath, retained);
+            segments.peekLast().touch(timestamp);
+            dirty = true;
         } catch (IOException e) {
-            throw new IllegalStateException("Idempotency 로그 정리 실패", e);
+            throw new IllegalStateException("Idempotency 로그 기록 실패", e);
         }
     }
 
-    private boolean isFresh(String line, Instant cutoff) {
-        int separatorIndex = line.indexOf('|');
-        if (separatorIndex < 0) {
-            return true;
+    private FileChannel activeChannel(long now) throws IOException {
+        Segment last = segments.peekLast();
+        if (activeChannel != null && now - last.startMillis() < segmentMillis) {
+            return activeChannel;
         }
+        if (activeChannel != null) {
+            activeChannel.force(false);
+            activeChannel.close();
+            dirty = false;
+        }
+        Segment segment = new Segment(segmentPath(now), now);
+        segment.touch(now);
+        segments.addLast(segment);
+        activeChannel = FileChannel.open(segment.path(), StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        return activeChannel;
+    }
+
+    private void dropExpiredSegments(long cutoff) throws IOException {
+        while (!segments.isEmpty() && segments.peekFirst().lastMillis() < cutoff) {
+            Segment expired = segments.pollFirst();
+            if (segments.isEmpty() && activeChannel != null) {
+                // 유휴 상태로 TTL을 넘긴 활성 세그먼트는 닫고 다음 기록 시 새 세그먼트를 연다.
+                activeChannel.close();
+                activeChannel = null;
+                dirty = false;
+            }
+            // 이후 세그먼트에서 갱신된 키는 남겨야 하므로 인덱스 값이 이 세그먼트의 기록과 같을 때만 제거한다.
+            forEachEntry(expired.path(), (eventId, timestamp) -> index.remove(eventId, timestamp));
+            Files.deleteIfExists(expired.path());
+        }
+    }
+
+    private void rebuildIndex() throws IOException {
+        List<Segment> found = new ArrayList<>();
+        if (Files.exists(logPath)) {
+            // 이전 단일 파일 형식의 로그는 가장 오래된 세그먼트로 취급해 만료 시 함께 삭제한다.
+            found.add(new Segment(logPath, 0L));
+        }
+        String prefix = logPath.getFileName().toString() + ".";
+        Path dir = logPath.toAbsolutePath().getParent();
+        try (Stream<Path> files = Files.list(dir)) {
+            files.map(path -> toSegment(path, prefix))
+                    .filter(segment -> segment != null)
+                    .forEach(found::add);
+        }
+        found.sort(Comparator.comparingLong(Segment::startMillis));
+        for (Segment segment : found) {
+            forEachEntry(segment.path(), (eventId, timestamp) -> {
+                segment.touch(timestamp);
+                if (timestamp == TOMBSTONE) {
+                    index.remove(eventId);
+                } else {
+                    index.put(eventId, timestamp);
+                }
+            });
+            segments.addLast(segment);
+        }
+        dropExpiredSegments(clock.getAsLong() - ttlMillis);
+        log.infof("Idempotency 로그 인덱스 재구성 완료: segments=%d, entries=%d", segments.size(), index.size());
+    }
+
+    private Segment toSegment(Path path, String prefix) {
+        String name = path.getFileName().toString();
+        if (!name.startsWith(prefix)) {
+            return null;
+        }
+        long start = parseSegmentStart(path, prefix.length());
+        return start < 0 ? null : new Segment(path, start);
+    }
+
+    private long parseSegmentStart(Path path, int prefixLength) {
         try {
-            long timestamp = Long.parseLong(line.substring(separatorIndex + 1).trim());
-            return Instant.ofEpochMilli(timestamp).isAfter(cutoff);
+            return Long.parseLong(path.getFileName().toString().substring(prefixLength));
         } catch (NumberFormatException e) {
-            return true;
+            return -1L;
+        }
+    }
+
+    private void forEachEntry(Path path, EntryConsumer consumer) throws IOException {
+        if (!Files.exists(path)) {
+            return;
+        }
+        try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                int separatorIndex = line.lastIndexOf('|');
+                if (separatorIndex <= 0) {
+                    continue;
+                }
+                try {
+                    long timestamp = Long.parseLong(line.substring(separatorIndex + 1).trim());
+                    consumer.accept(line.substring(0, separatorIndex), timestamp);
+                } catch (NumberFormatException e) {
+                    // 비정상 종료로 잘린 마지막 줄 등은 건너뛴다.
+                }
+            }
+        }
+    }
+
+    private Path segmentPath(long startMillis) {
+        return logPath.resolveSibling(logPath.getFileName() + "." + startMillis);
+    }
+
+    private void maintainSafely() {
+        try {
+            maintain();
+        } catch (Exception e) {
+            log.warnf("Idempotency 로그 유지 작업 중 예외: %s", e.getMessage());
+        }
+    }
+
+    @FunctionalInterface
+    private interface EntryConsumer {
+        void accept(String eventId, long timestamp);
+    }
+
+    private static final class Segment {
+        private final Path path;
+        private final long startMillis;
+        private long lastMillis;
+
+        private Segment(Path path, long startMillis) {
+            this.path = path;
+            this.startMillis = startMillis;
+            this.lastMillis = startMillis;
+        }
+
+        Path path() {
+            return path;
+        }
+
+        long startMillis() {
+            return startMillis;
+        }
+
+        long lastMillis() {
+            return lastMillis;
+        }
+
+        void touch(long timestamp) {
+            lastMillis = Math.max(lastMillis, timestamp);
         }
     }
 }
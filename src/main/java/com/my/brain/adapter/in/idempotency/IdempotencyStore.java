@@ -1,8 +1,51 @@
 package com.my.brain.adapter.in.idempotency;
 
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * 왜: 재전달된 메시지의 부수 효과가 두 번 일어나지 않게 하되, 처리 도중 프로세스가 죽어도 메시지를 잃지 않기 위함.
+ * 처리 시작은 만료 시각이 있는 점유(lease)로, 처리 완료는 TTL 동안 유지되는 완료 기록으로 구분한다.
+ * 재전달을 중복으로 건너뛰는 근거는 완료 기록뿐이다.
+ */
 public interface IdempotencyStore {
 
+    /**
+     * @return 처리가 완료되어 TTL 안에 있는 이벤트면 true. 점유(lease)만 된 이벤트는 false.
+     */
     boolean isProcessed(String eventId);
 
+    /**
+     * 처리 완료를 기록한다. 같은 이벤트의 점유가 있으면 완료 기록으로 바뀐다.
+     */
     void markProcessed(String eventId);
+
+    /**
+     * 왜: 조회와 점유를 한 번의 원자적 연산으로 묶어 소비 경로의 왕복 횟수를 줄이고 동시 중복 처리를 막기 위함.
+     * lease가 만료된 점유는 다시 점유할 수 있다.
+     *
+     * @return 점유했으면 true. 완료 기록이 있거나 다른 처리가 lease를 쥐고 있으면 false이며, 둘의 구분은 {@link #isProcessed(String)}로 한다.
+     */
+    boolean tryClaim(String eventId);
+
+    /**
+     * 왜: 배치 소비 시 저장소 왕복을 배치당 한 번으로 줄이기 위함. 기본 구현은 건별 점유를 반복한다.
+     *
+     * @return 이번 호출에서 처음 점유한 eventId 집합
+     */
+    default Set<String> tryClaimAll(Collection<String> eventIds) {
+        Set<String> claimed = new HashSet<>();
+        for (String eventId : eventIds) {
+            if (tryClaim(eventId)) {
+                claimed.add(eventId);
+            }
+        }
+        return claimed;
+    }
+
+    /**
+     * 왜: 처리 실패 시 점유를 되돌려 재전달된 메시지가 다시 처리될 수 있도록 하기 위함. 완료 기록은 지우지 않는다.
+     */
+    void release(String eventId);
 }
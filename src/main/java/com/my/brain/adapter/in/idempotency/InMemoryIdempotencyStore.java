@@ -1,39 +1,141 @@
 package com.my.brain.adapter.in.idempotency;
 
 import com.my.brain.config.AppConfig;
-import io.quarkus.arc.properties.IfBuildProperty;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.inject.Typed;
+import jakarta.inject.Inject;
 
 import java.time.Duration;
-import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
 
-@IfBuildProperty(name = "app.idempotency.backend", stringValue = "memory")
+/**
+ * 왜: TTL이 고정이므로 삽입 순서가 곧 만료 순서다. 맵 옆에 삽입 순서 큐를 두어 만료 시 실제로 만료된 항목만 건드리고,
+ * 최대 항목 수를 넘으면 가장 오래된 항목부터 축출해 버스트에서도 메모리를 제한하기 위함.
+ * 처리 중 점유(lease)는 완료 기록과 따로 두어, 완료된 이벤트만 TTL 동안 중복으로 판정한다.
+ */
+@Typed(InMemoryIdempotencyStore.class)
 @ApplicationScoped
 public class InMemoryIdempotencyStore implements IdempotencyStore {
 
-    private final Duration ttl;
-    private final Map<String, Instant> processed = new ConcurrentHashMap<>();
+    private final long ttlMillis;
+    private final long leaseMillis;
+    private final int maxEntries;
+    private final LongSupplier clock;
+    private final Map<String, Entry> processed = new ConcurrentHashMap<>();
+    private final Deque<Entry> expiryQueue = new ArrayDeque<>();
+    private final Map<String, Long> leases = new HashMap<>();
 
+    @Inject
     public InMemoryIdempotencyStore(AppConfig appConfig) {
-        this.ttl = Duration.ofHours(appConfig.idempotency().ttlHours());
+        this(Duration.ofHours(appConfig.idempotency().ttlHours()),
+                Duration.ofSeconds(appConfig.idempotency().leaseSeconds()),
+                appConfig.idempotency().maxEntries(),
+                System::currentTimeMillis);
+    }
+
+    InMemoryIdempotencyStore(Duration ttl, Duration lease, int maxEntries, LongSupplier clock) {
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("maxEntries는 1 이상이어야 합니다.");
+        }
+        this.ttlMillis = ttl.toMillis();
+        this.leaseMillis = lease.toMillis();
+        this.maxEntries = maxEntries;
+        this.clock = clock;
     }
 
     @Override
     public boolean isProcessed(String eventId) {
-        cleanup();
-        return processed.containsKey(eventId);
+        Entry entry = processed.get(eventId);
+        return entry != null && entry.processedAt() >= clock.getAsLong() - ttlMillis;
+    }
+
+    @Override
+    public synchronized void markProcessed(String eventId) {
+        long now = clock.getAsLong();
+        expire(now);
+        leases.remove(eventId);
+        record(eventId, now);
     }
 
     @Override
-    public void markProcessed(String eventId) {
-        cleanup();
-        processed.put(eventId, Instant.now());
+    public synchronized boolean tryClaim(String eventId) {
+        long now = clock.getAsLong();
+        expire(now);
+        if (processed.containsKey(eventId)) {
+            return false;
+        }
+        Long claimedAt = leases.get(eventId);
+        if (claimedAt != null && claimedAt >= now - leaseMillis) {
+            return false;
+        }
+        leases.put(eventId, now);
+        return true;
     }
 
-    private void cleanup() {
-        Instant cutoff = Instant.now().minus(ttl);
-        processed.entrySet().removeIf(entry -> entry.getValue().isBefore(cutoff));
+    @Override
+    public synchronized void release(String eventId) {
+        // 점유는 만료 큐에 들어가지 않으므로 점유/해제가 반복돼도 큐가 자라지 않는다.
+        leases.remove(eventId);
+    }
+
+    int size() {
+        return processed.size();
+    }
+
+    synchronized int queueSize() {
+        return expiryQueue.size();
+    }
+
+    private void record(String eventId, long now) {
+        // 이전 기록의 큐 항목은 찾아 지우지 않고(O(n)) 남겨 둔다. 맵이 가리키는 항목이 아니므로 꺼낼 때 아무것도 지우지 않는다.
+        Entry entry = new Entry(eventId, now);
+        processed.put(eventId, entry);
+        expiryQueue.addLast(entry);
+        while (processed.size() > maxEntries) {
+            evict(expiryQueue.pollFirst());
+        }
+        if (expiryQueue.size() > 2 * processed.size()) {
+            // 같은 키를 TTL 안에 반복 기록해 낡은 항목이 살아 있는 항목보다 많아지면 한 번에 걸러 낸다. 큐가 두 배로 자랄 때만 하므로 상각 O(1)이다.
+            expiryQueue.removeIf(queued -> processed.get(queued.eventId()) != queued);
+        }
+    }
+
+    private void expire(long now) {
+        long cutoff = now - ttlMillis;
+        Entry head;
+        while ((head = expiryQueue.peekFirst()) != null && head.processedAt() < cutoff) {
+            evict(expiryQueue.pollFirst());
+        }
+    }
+
+    private void evict(Entry entry) {
+        // 다시 기록된 키의 낡은 항목이면 같은 밀리초에 기록됐더라도 맵의 항목과 달라 최신 기록을 지우지 않는다.
+        processed.remove(entry.eventId(), entry);
+    }
+
+    /**
+     * 같은 키를 같은 밀리초에 다시 기록해도 낡은 큐 항목과 구분되도록 값이 아닌 객체 동일성으로 비교한다.
+     */
+    private static final class Entry {
+        private final String eventId;
+        private final long processedAt;
+
+        Entry(String eventId, long processedAt) {
+            this.eventId = eventId;
+            this.processedAt = processedAt;
+        }
+
+        String eventId() {
+            return eventId;
+        }
+
+        long processedAt() {
+            return processedAt;
+        }
     }
 }
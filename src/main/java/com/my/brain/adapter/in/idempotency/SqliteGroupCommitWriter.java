@@ -0,0 +1,180 @@
+package com.my.brain.adapter.in.idempotency;
+
+import org.jboss.logging.Logger;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 왜: 동시 소비자들의 쓰기를 단일 작성 스레드에서 모아 몇 ms 또는 N건마다 한 트랜잭션으로 커밋해,
+ * 커넥션 풀(최대 2)과 SQLite fsync에서 직렬화되는 비용을 배치 단위로 나누기 위함.
+ * 각 호출자는 자신이 속한 배치가 커밋된 뒤에만 완료되는 핸들을 받는다.
+ * 배치가 실패하면 문장별로 다시 실행하므로, 실패로 완료되는 핸들은 자기 문장이 실패한 호출자뿐이다.
+ */
+final class SqliteGroupCommitWriter implements AutoCloseable {
+
+    private static final Logger log = Logger.getLogger(SqliteGroupCommitWriter.class);
+    private static final long IDLE_POLL_MILLIS = 100;
+
+    private final DataSource dataSource;
+    private final int maxBatch;
+    private final long lingerNanos;
+    private final BlockingQueue<PendingWrite> queue = new LinkedBlockingQueue<>();
+    private final Thread writer;
+    private volatile boolean running = true;
+
+    SqliteGroupCommitWriter(DataSource dataSource, int maxBatch, Duration linger) {
+        if (maxBatch <= 0) {
+            throw new IllegalArgumentException("maxBatch는 1 이상이어야 합니다.");
+        }
+        this.dataSource = dataSource;
+        this.maxBatch = maxBatch;
+        this.lingerNanos = linger.toNanos();
+        this.writer = Thread.ofVirtual().name("idempotency-group-commit").start(this::run);
+    }
+
+    /**
+     * @return 배치 커밋 후 해당 문장의 변경 행 수로 완료되는 핸들
+     */
+    CompletableFuture<Integer> submit(String sql, StatementBinder binder) {
+        CompletableFuture<Integer> result = new CompletableFuture<>();
+        if (!running) {
+            result.completeExceptionally(new IllegalStateException("group commit writer가 종료되었습니다."));
+            return result;
+        }
+        PendingWrite write = new PendingWrite(sql, binder, result);
+        queue.add(write);
+        if (!running && queue.remove(write)) {
+            // 종료와 경합해 작성 스레드가 가져가지 못한 항목은 즉시 실패시킨다.
+            result.completeExceptionally(new IllegalStateException("group commit writer가 종료되었습니다."));
+        }
+        return result;
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        try {
+            writer.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        PendingWrite leftover;
+        while ((leftover = queue.poll()) != null) {
+            leftover.result().completeExceptionally(new IllegalStateException("group commit writer가 종료되었습니다."));
+        }
+    }
+
+    private void run() {
+        List<PendingWrite> batch = new ArrayList<>(maxBatch);
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingWrite first = queue.poll(IDLE_POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + lingerNanos;
+                while (batch.size() < maxBatch) {
+                    long remaining = deadline - System.nanoTime();
+                    PendingWrite next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : queue.poll();
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                commit(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                running = false;
+                fail(batch, e);
+            } catch (RuntimeException e) {
+                // 작성 스레드가 죽으면 이후 모든 핸들이 완료되지 않으므로, 이 배치만 실패시키고 다음 배치를 계속 받는다.
+                log.warnf(e, "Idempotency 배치 처리 중 예기치 않은 오류: size=%d", batch.size());
+                fail(batch, e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * 왜: 한 문장의 실패(제약 위반 등)로 같은 배치에 묶였을 뿐인 다른 호출자까지 실패하지 않도록,
+     * 배치 커밋이 실패하면 남은 문장을 건별 트랜잭션으로 다시 실행해 실패한 문장만 실패로 돌려준다.
+     */
+    private void commit(List<PendingWrite> batch) {
+        int[] counts;
+        try {
+            counts = execute(batch);
+        } catch (SQLException e) {
+            if (batch.size() == 1) {
+                log.warnf("Idempotency 커밋 실패: reason=%s", e.getMessage());
+                fail(batch, e);
+                return;
+            }
+            log.warnf("Idempotency 배치 커밋 실패, 건별로 다시 실행합니다: size=%d, reason=%s", batch.size(), e.getMessage());
+            for (PendingWrite write : batch) {
+                commit(List.of(write));
+            }
+            return;
+        }
+        for (int i = 0; i < batch.size(); i++) {
+            batch.get(i).result().complete(counts[i]);
+        }
+    }
+
+    private int[] execute(List<PendingWrite> batch) throws SQLException {
+        int[] counts = new int[batch.size()];
+        Map<String, PreparedStatement> statements = new HashMap<>();
+        try (Connection conn = dataSource.getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                for (int i = 0; i < batch.size(); i++) {
+                    PendingWrite write = batch.get(i);
+                    PreparedStatement ps = statements.get(write.sql());
+                    if (ps == null) {
+                        ps = conn.prepareStatement(write.sql());
+                        statements.put(write.sql(), ps);
+                    }
+                    write.binder().bind(ps);
+                    counts[i] = ps.executeUpdate();
+                }
+                conn.commit();
+            } catch (SQLException | RuntimeException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                for (PreparedStatement ps : statements.values()) {
+                    ps.close();
+                }
+                conn.setAutoCommit(true);
+            }
+        }
+        return counts;
+    }
+
+    private void fail(List<PendingWrite> batch, Exception cause) {
+        for (PendingWrite write : batch) {
+            write.result().completeExceptionally(cause);
+        }
+    }
+
+    @FunctionalInterface
+    interface StatementBinder {
+        void bind(PreparedStatement ps) throws SQLException;
+    }
+
+    private record PendingWrite(String sql, StatementBinder binder, CompletableFuture<Integer> result) {
+    }
+}
@@ -1,47 +1,108 @@
 package com.my.brain.adapter.in.idempotency;
 
 import com.my.brain.config.AppConfig;
-import io.quarkus.arc.properties.IfBuildProperty;
 import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.inject.Typed;
+import jakarta.inject.Inject;
+import org.jboss.logging.Logger;
 
 import javax.sql.DataSource;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
 /**
  * 왜: 로컬/단일 프로세스에서도 재시작 후 중복 처리를 방지하기 위해 파일 기반 SQLite를 사용한다.
+ * 만료 정리는 요청 경로가 아닌 백그라운드 스위퍼에서 수행해 메시지당 왕복을 한 번으로 유지하고,
+ * 쓰기는 선택적으로 그룹 커밋해 동시 소비자들이 fsync를 나눠 쓰게 한다.
+ * 점유는 `completed = 0`인 lease로 남기고 처리 완료 시에만 `completed = 1`로 바꾼다. 저장소가 프로세스 로컬이므로
+ * 기동 시 남은 lease는 죽은 이전 프로세스의 것으로 보고 지우며, 실행 중 멈춘 처리의 lease는 `lease-seconds` 뒤 다시 점유할 수 있다.
  */
-@IfBuildProperty(name = "app.idempotency.backend", stringValue = "sqlite")
+@Typed(SqliteIdempotencyStore.class)
 @ApplicationScoped
 public class SqliteIdempotencyStore implements IdempotencyStore {
 
+    private static final Logger log = Logger.getLogger(SqliteIdempotencyStore.class);
+
     private static final String TABLE_DDL = """
             CREATE TABLE IF NOT EXISTS idempotency_log (
                 event_id TEXT PRIMARY KEY,
-                processed_at INTEGER NOT NULL
+                processed_at INTEGER NOT NULL,
+                completed INTEGER NOT NULL DEFAULT 1
             )
             """;
+    private static final String INDEX_DDL = "CREATE INDEX IF NOT EXISTS idx_idempotency_processed_at ON idempotency_log(processed_at)";
+
+    // 이전 스키마(완료 기록만 있던 테이블)는 기존 행을 완료로 간주하도록 기본값 1로 열을 추가한다.
+    private static final String COMPLETED_COLUMN_DDL = "ALTER TABLE idempotency_log ADD COLUMN completed INTEGER NOT NULL DEFAULT 1";
+    private static final String COLUMNS_SQL = "PRAGMA table_info(idempotency_log)";
+    private static final String DROP_ORPHAN_LEASES_SQL = "DELETE FROM idempotency_log WHERE completed = 0";
 
-    private static final String INSERT_SQL = "INSERT OR IGNORE INTO idempotency_log(event_id, processed_at) VALUES (?, ?)";
-    private static final String SELECT_SQL = "SELECT 1 FROM idempotency_log WHERE event_id = ? AND processed_at >= ?";
+    private static final String INSERT_SQL = """
+            INSERT INTO idempotency_log(event_id, processed_at, completed) VALUES (?, ?, 1)
+            ON CONFLICT(event_id) DO UPDATE SET processed_at = excluded.processed_at, completed = 1
+            """;
+    private static final String SELECT_SQL = "SELECT 1 FROM idempotency_log WHERE event_id = ? AND completed = 1 AND processed_at >= ?";
+    // 신규 삽입, TTL이 지난 완료 행, lease가 끝난 점유 행일 때만 변경 행 수가 1이 되므로 한 문장으로 조회+점유를 대신한다.
+    private static final String CLAIM_SQL = """
+            INSERT INTO idempotency_log(event_id, processed_at, completed) VALUES (?, ?, 0)
+            ON CONFLICT(event_id) DO UPDATE SET processed_at = excluded.processed_at, completed = 0
+            WHERE idempotency_log.processed_at < CASE idempotency_log.completed WHEN 1 THEN ? ELSE ? END
+            """;
+    private static final String RELEASE_SQL = "DELETE FROM idempotency_log WHERE event_id = ? AND completed = 0";
     private static final String CLEANUP_SQL = "DELETE FROM idempotency_log WHERE processed_at < ?";
     private static final String ENABLE_WAL = "PRAGMA journal_mode=WAL";
 
     private final DataSource dataSource;
     private final Duration ttl;
+    private final Duration lease;
     private final Path sqlitePath;
+    private final int sweepIntervalMinutes;
+    private final ScheduledExecutorService sweeper;
+    private final AppConfig.GroupCommitConfig groupCommit;
+    private SqliteGroupCommitWriter groupCommitWriter;
 
+    @Inject
     public SqliteIdempotencyStore(DataSource dataSource, AppConfig appConfig) {
+        this(dataSource,
+                Path.of(appConfig.idempotency().sqlitePath()),
+                Duration.ofHours(appConfig.idempotency().ttlHours()),
+                Duration.ofSeconds(appConfig.idempotency().leaseSeconds()),
+                appConfig.idempotency().sweepIntervalMinutes(),
+                appConfig.idempotency().groupCommit());
+    }
+
+    SqliteIdempotencyStore(DataSource dataSource,
+                           Path sqlitePath,
+                           Duration ttl,
+                           Duration lease,
+                           int sweepIntervalMinutes,
+                           AppConfig.GroupCommitConfig groupCommit) {
         this.dataSource = dataSource;
-        this.ttl = Duration.ofHours(appConfig.idempotency().ttlHours());
-        this.sqlitePath = Path.of(appConfig.idempotency().sqlitePath());
+        this.ttl = ttl;
+        this.lease = lease;
+        this.sqlitePath = sqlitePath;
+        this.sweepIntervalMinutes = sweepIntervalMinutes;
+        this.sweeper = Executors.newSingleThreadScheduledExecutor(Thread.ofVirtual().name("idempotency-sweeper-", 0).factory());
+        this.groupCommit = groupCommit;
     }
 
     @PostConstruct
@@ -57,14 +118,44 @@ public class SqliteIdempotencyStore implements IdempotencyStore {
         try (Connection conn = dataSource.getConnection(); Statement stmt = conn.createStatement()) {
             stmt.execute(ENABLE_WAL);
             stmt.execute(TABLE_DDL);
+            if (!hasColumn(stmt, "completed")) {
+                stmt.execute(COMPLETED_COLUMN_DDL);
+            }
+            stmt.execute(INDEX_DDL);
+            int orphans = stmt.executeUpdate(DROP_ORPHAN_LEASES_SQL);
+            if (orphans > 0) {
+                log.infof("이전 프로세스가 처리 중에 남긴 lease %d건을 해제했습니다.", orphans);
+            }
         } catch (SQLException e) {
             throw new IllegalStateException("Idempotency 테이블 초기화 실패", e);
         }
+        sweeper.scheduleWithFixedDelay(this::sweepSafely, sweepIntervalMinutes, sweepIntervalMinutes, TimeUnit.MINUTES);
+        if (groupCommit.enabled()) {
+            groupCommitWriter = new SqliteGroupCommitWriter(dataSource, groupCommit.maxBatch(), Duration.ofMillis(groupCommit.lingerMillis()));
+        }
+    }
+
+    private static boolean hasColumn(Statement stmt, String column) throws SQLException {
+        try (ResultSet rs = stmt.executeQuery(COLUMNS_SQL)) {
+            while (rs.next()) {
+                if (column.equals(rs.getString("name"))) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    @PreDestroy
+    void stop() {
+        sweeper.shutdownNow();
+        if (groupCommitWriter != null) {
+            groupCommitWriter.close();
+        }
     }
 
     @Override
     public boolean isProcessed(String eventId) {
-        cleanup();
         Instant cutoff = Instant.now().minus(ttl);
         try (Connection conn = dataSource.getConnection(); PreparedStatement ps = conn.prepareStatement(SELECT_SQL)) {
             ps.setString(1, eventId);
@@ -77,24 +168,119 @@ public class SqliteIdempotencyStore implements IdempotencyStore {
 
     @Override
     public void markProcessed(String eventId) {
-        cleanup();
-        long now = Instant.now().toEpochMilli();
-        try (Connection conn = dataSource.getConnection(); PreparedStatement ps = conn.prepareStatement(INSERT_SQL)) {
-            ps.setString(1, eventId);
-            ps.setLong(2, now);
-            ps.executeUpdate();
+        executeUpdate(INSERT_SQL, markBinder(eventId), "Idempotency 기록 실패");
+    }
+
+    @Override
+    public boolean tryClaim(String eventId) {
+        return executeUpdate(CLAIM_SQL, claimBinder(eventId, Instant.now()), "Idempotency 점유 실패") > 0;
+    }
+
+    /**
+     * 왜: 배치의 점유를 한 트랜잭션(그룹 커밋 시 한 배치)으로 처리해 메시지 수만큼의 커밋을 피한다.
+     */
+    @Override
+    public Set<String> tryClaimAll(Collection<String> eventIds) {
+        Instant now = Instant.now();
+        List<String> ids = List.copyOf(eventIds);
+        Set<String> claimed = new HashSet<>();
+        if (groupCommitWriter != null) {
+            List<CompletableFuture<Integer>> results = new ArrayList<>(ids.size());
+            for (String eventId : ids) {
+                results.add(groupCommitWriter.submit(CLAIM_SQL, claimBinder(eventId, now)));
+            }
+            try {
+                for (int i = 0; i < ids.size(); i++) {
+                    if (results.get(i).join() > 0) {
+                        claimed.add(ids.get(i));
+                    }
+                }
+            } catch (CompletionException e) {
+                throw new IllegalStateException("Idempotency 점유 실패", e.getCause());
+            }
+            return claimed;
+        }
+        try (Connection conn = dataSource.getConnection(); PreparedStatement ps = conn.prepareStatement(CLAIM_SQL)) {
+            conn.setAutoCommit(false);
+            try {
+                for (String eventId : ids) {
+                    claimBinder(eventId, now).bind(ps);
+                    if (ps.executeUpdate() > 0) {
+                        claimed.add(eventId);
+                    }
+                }
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
         } catch (SQLException e) {
-            throw new IllegalStateException("Idempotency 기록 실패", e);
+            throw new IllegalStateException("Idempotency 점유 실패", e);
         }
+        return claimed;
     }
 
-    private void cleanup() {
+    @Override
+    public void release(String eventId) {
+        executeUpdate(RELEASE_SQL, ps -> ps.setString(1, eventId), "Idempotency 점유 해제 실패");
+    }
+
+    int sweepExpired() {
         Instant cutoff = Instant.now().minus(ttl);
         try (Connection conn = dataSource.getConnection(); PreparedStatement ps = conn.prepareStatement(CLEANUP_SQL)) {
             ps.setLong(1, cutoff.toEpochMilli());
-            ps.executeUpdate();
+            return ps.executeUpdate();
         } catch (SQLException e) {
             throw new IllegalStateException("Idempotency 정리 실패", e);
         }
     }
+
+    private SqliteGroupCommitWriter.StatementBinder claimBinder(String eventId, Instant now) {
+        return ps -> {
+            ps.setString(1, eventId);
+            ps.setLong(2, now.toEpochMilli());
+            ps.setLong(3, now.minus(ttl).toEpochMilli());
+            ps.setLong(4, now.minus(lease).toEpochMilli());
+        };
+    }
+
+    private SqliteGroupCommitWriter.StatementBinder markBinder(String eventId) {
+        long now = Instant.now().toEpochMilli();
+        return ps -> {
+            ps.setString(1, eventId);
+            ps.setLong(2, now);
+        };
+    }
+
+    /**
+     * 왜: 그룹 커밋이 켜져 있으면 동시 호출을 한 트랜잭션으로 묶고, 꺼져 있으면 기존처럼 호출마다 커밋한다.
+     */
+    private int executeUpdate(String sql, SqliteGroupCommitWriter.StatementBinder binder, String failureMessage) {
+        if (groupCommitWriter != null) {
+            try {
+                return groupCommitWriter.submit(sql, binder).join();
+            } catch (CompletionException e) {
+                throw new IllegalStateException(failureMessage, e.getCause());
+            }
+        }
+        try (Connection conn = dataSource.getConnection(); PreparedStatement ps = conn.prepareStatement(sql)) {
+            binder.bind(ps);
+            return ps.executeUpdate();
+        } catch (SQLException e) {
+            throw new IllegalStateException(failureMessage, e);
+        }
+    }
+
+    private void sweepSafely() {
+        try {
+            int removed = sweepExpired();
+            if (removed > 0) {
+                log.debugf("만료된 idempotency 항목 %d건을 정리했습니다.", removed);
+            }
+        } catch (Exception e) {
+            log.warnf("Idempotency 스위퍼 실행 중 예외: %s", e.getMessage());
+        }
+    }
 }
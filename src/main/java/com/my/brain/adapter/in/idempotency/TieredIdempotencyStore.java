@@ -0,0 +1,128 @@
+package com.my.brain.adapter.in.idempotency;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * 왜: 재전달 중복은 대부분 수 초 안에 다시 도착하므로 영속 저장소 앞에 작은 LRU 계층을 두어 긍정 응답을
+ * 저장소 왕복 없이 처리하기 위함. 적중/미스 카운터로 크기 조정 근거를 남긴다.
+ * 점유는 다른 인스턴스와 경합하는 원자적 기록이라 부정 응답을 앞단에서 줄 수 없으므로, 이 프로세스가 완료로
+ * 기록한 LRU 적중만 거절하고 나머지는 저장소의 원자적 점유를 그대로 거친다. LRU에는 완료 시각을 그대로 두어 TTL을 늘리지 않는다.
+ */
+public class TieredIdempotencyStore implements IdempotencyStore {
+
+    private final IdempotencyStore delegate;
+    private final long ttlMillis;
+    private final LongSupplier clock;
+    private final Map<String, Long> recent;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public TieredIdempotencyStore(IdempotencyStore delegate,
+                                  Duration ttl,
+                                  int cacheSize) {
+        this(delegate, ttl, cacheSize, System::currentTimeMillis);
+    }
+
+    TieredIdempotencyStore(IdempotencyStore delegate,
+                           Duration ttl,
+                           int cacheSize,
+                           LongSupplier clock) {
+        if (cacheSize <= 0) {
+            throw new IllegalArgumentException("cacheSize는 1 이상이어야 합니다.");
+        }
+        this.delegate = delegate;
+        this.ttlMillis = ttl.toMillis();
+        this.clock = clock;
+        this.recent = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Long> eldest) {
+                return size() > cacheSize;
+            }
+        };
+    }
+
+    @Override
+    public boolean isProcessed(String eventId) {
+        long now = clock.getAsLong();
+        if (cachedFresh(eventId, now)) {
+            hits.increment();
+            return true;
+        }
+        misses.increment();
+        // 저장소 적중은 원래 완료 시각을 모르므로 LRU에 넣지 않는다. 지금 시각으로 넣으면 만료가 늦춰진다.
+        return delegate.isProcessed(eventId);
+    }
+
+    @Override
+    public void markProcessed(String eventId) {
+        delegate.markProcessed(eventId);
+        cacheCompleted(eventId);
+    }
+
+    @Override
+    public boolean tryClaim(String eventId) {
+        long now = clock.getAsLong();
+        if (cachedFresh(eventId, now)) {
+            hits.increment();
+            return false;
+        }
+        misses.increment();
+        return delegate.tryClaim(eventId);
+    }
+
+    @Override
+    public Set<String> tryClaimAll(Collection<String> eventIds) {
+        long now = clock.getAsLong();
+        List<String> candidates = new ArrayList<>();
+        for (String eventId : eventIds) {
+            if (cachedFresh(eventId, now)) {
+                hits.increment();
+                continue;
+            }
+            misses.increment();
+            candidates.add(eventId);
+        }
+        // 캐시 적중분을 뺀 나머지만 저장소의 배치 점유로 한 번에 넘긴다.
+        return candidates.isEmpty() ? new HashSet<>() : delegate.tryClaimAll(candidates);
+    }
+
+    @Override
+    public void release(String eventId) {
+        synchronized (recent) {
+            recent.remove(eventId);
+        }
+        delegate.release(eventId);
+    }
+
+    public long hits() {
+        return hits.sum();
+    }
+
+    public long misses() {
+        return misses.sum();
+    }
+
+    private boolean cachedFresh(String eventId, long now) {
+        Long processedAt;
+        synchronized (recent) {
+            processedAt = recent.get(eventId);
+        }
+        return processedAt != null && processedAt >= now - ttlMillis;
+    }
+
+    private void cacheCompleted(String eventId) {
+        long now = clock.getAsLong();
+        synchronized (recent) {
+            recent.put(eventId, now);
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.my.brain.adapter.in.rabbitmq;
+
+import com.my.brain.config.AppConfig;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 왜: OpenAI 등 하류가 느려질 때 처리 중 작업이 끝없이 쌓이지 않도록 동시 처리 수와 대기 예산을 제한하기 위함.
+ * 예산 안에 자리를 얻지 못한 요청은 거절되며, 호출자가 DLQ 또는 "바쁨" 응답으로 흘려보낸다.
+ * 대기 예산은 수신 시각부터 센다. 사용자 레인 큐에서 기다린 시간도 대기이므로, 레인에서 이미 예산을 다 쓴 요청은 자리를 기다리지 않고 거절한다.
+ * 레인이 적으면 평범한 순차 적체도 예산을 쓰므로 기본은 꺼 두며(`app.admission.enabled`), 꺼져 있으면 모든 요청을 들인다.
+ */
+@ApplicationScoped
+public class AdmissionController {
+
+    private final boolean enabled;
+    private final int maxInFlight;
+    private final long queueWaitNanos;
+    private final Semaphore permits;
+    private final AtomicInteger waiting = new AtomicInteger();
+    private final LongAdder rejected = new LongAdder();
+    private Timer queueWait;
+
+    @Inject
+    public AdmissionController(AppConfig appConfig, MeterRegistry meterRegistry) {
+        this(appConfig.admission().enabled(), appConfig.admission().maxInFlight(),
+                Duration.ofMillis(appConfig.admission().queueWaitMillis()));
+        Gauge.builder("brain.admission.in.flight", this, AdmissionController::inFlight).register(meterRegistry);
+        Gauge.builder("brain.admission.waiting", this, AdmissionController::waiting).register(meterRegistry);
+        Gauge.builder("brain.admission.limit", this, controller -> controller.maxInFlight).register(meterRegistry);
+        FunctionCounter.builder("brain.admission.rejected", this, AdmissionController::rejected).register(meterRegistry);
+        this.queueWait = Timer.builder("brain.admission.queue.wait").register(meterRegistry);
+    }
+
+    AdmissionController(int maxInFlight, Duration queueWaitBudget) {
+        this(true, maxInFlight, queueWaitBudget);
+    }
+
+    AdmissionController(boolean enabled, int maxInFlight, Duration queueWaitBudget) {
+        if (maxInFlight <= 0) {
+            throw new IllegalArgumentException("maxInFlight는 1 이상이어야 합니다.");
+        }
+        this.enabled = enabled;
+        this.maxInFlight = maxInFlight;
+        this.queueWaitNanos = queueWaitBudget.toNanos();
+        this.permits = new Semaphore(maxInFlight, true);
+    }
+
+    /**
+     * @return 대기 예산 안에 처리 자리를 얻었으면 true(반드시 {@link #release()}로 반납), 아니면 false
+     */
+    public boolean tryAdmit() {
+        return tryAdmit(System.nanoTime());
+    }
+
+    /**
+     * @param receivedAtNanos 요청을 받은 시각({@link System#nanoTime()} 기준). 그때부터 흐른 시간을 대기 예산에서 뺀다.
+     * @return 남은 대기 예산 안에 처리 자리를 얻었으면 true(반드시 {@link #release()}로 반납), 아니면 false
+     */
+    public boolean tryAdmit(long receivedAtNanos) {
+        if (!enabled) {
+            return true;
+        }
+        long remaining = queueWaitNanos - (System.nanoTime() - receivedAtNanos);
+        boolean admitted = false;
+        if (remaining > 0) {
+            waiting.incrementAndGet();
+            try {
+                admitted = permits.tryAcquire(remaining, TimeUnit.NANOSECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                waiting.decrementAndGet();
+            }
+        }
+        if (queueWait != null) {
+            queueWait.record(System.nanoTime() - receivedAtNanos, TimeUnit.NANOSECONDS);
+        }
+        if (!admitted) {
+            rejected.increment();
+        }
+        return admitted;
+    }
+
+    public void release() {
+        if (enabled) {
+            permits.release();
+        }
+    }
+
+    public int inFlight() {
+        return maxInFlight - permits.availablePermits();
+    }
+
+    public int waiting() {
+        return waiting.get();
+    }
+
+    public long rejected() {
+        return rejected.sum();
+    }
+}
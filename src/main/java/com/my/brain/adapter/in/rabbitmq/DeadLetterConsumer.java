@@ -1,23 +1,44 @@
 package com.my.brain.adapter.in.rabbitmq;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.my.brain.adapter.in.deadletter.DeadLetterRedriver;
+import com.my.brain.adapter.in.deadletter.SqliteDeadLetterStore;
+import com.my.brain.config.AppConfig;
 import io.smallrye.reactive.messaging.annotations.Blocking;
 import io.smallrye.reactive.messaging.rabbitmq.IncomingRabbitMQMetadata;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
 import org.eclipse.microprofile.reactive.messaging.Incoming;
 import org.eclipse.microprofile.reactive.messaging.Message;
 import org.jboss.logging.Logger;
 import io.quarkus.arc.profile.IfBuildProfile;
 
+import java.time.Instant;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * 왜: DLQ 적체를 가시화하고 재처리 훅을 제공하기 위해 별도 소비자를 둔다.
+ * `app.dlq.mode=park`이면 사망 사유별로 로컬에 보관해 {@link com.my.brain.adapter.in.deadletter.DeadLetterRedriver}가 재발행할 수 있게 한다.
  */
 @IfBuildProfile("prod")
 @ApplicationScoped
 public class DeadLetterConsumer {
 
     private static final Logger log = Logger.getLogger(DeadLetterConsumer.class);
+    private static final String MODE_PARK = "park";
+
+    private final SqliteDeadLetterStore deadLetterStore;
+    private final ObjectMapper objectMapper;
+    private final boolean park;
+
+    @Inject
+    public DeadLetterConsumer(SqliteDeadLetterStore deadLetterStore, ObjectMapper objectMapper, AppConfig appConfig) {
+        this.deadLetterStore = deadLetterStore;
+        this.objectMapper = objectMapper;
+        this.park = MODE_PARK.equals(appConfig.dlq().mode());
+    }
 
     @Incoming("brain-requests-dlq")
     @Blocking
@@ -33,6 +54,26 @@ public class DeadLetterConsumer {
                 .map(headers -> String.valueOf(headers.getOrDefault("x-first-death-queue", "unknown")))
                 .orElse("unknown");
         log.warnf("DLQ 소비: reason=%s, queue=%s, payload=%s", deathReason, firstQueue, payload);
+        if (park) {
+            try {
+                String correlationId = Optional.ofNullable(metadata).flatMap(IncomingRabbitMQMetadata::getCorrelationId).orElse(null);
+                int redriveCount = DeadLetterRedriver.redriveCount(metadata == null ? null : metadata.getHeaders());
+                deadLetterStore.park(deathReason, firstQueue, extractUserId(payload), correlationId, payload, redriveCount, Instant.now());
+            } catch (RuntimeException e) {
+                // 보관에 실패하면 ack하지 않아 메시지가 DLQ에 남고, 채널 재연결 시 다시 전달되게 한다.
+                log.warnf("DLQ 메시지 보관 실패: %s", e.getMessage());
+                return CompletableFuture.failedFuture(e);
+            }
+        }
         return message.ack();
     }
+
+    private String extractUserId(String payload) {
+        try {
+            JsonNode userId = objectMapper.readTree(payload).get("userId");
+            return userId == null || userId.isNull() ? null : userId.asText();
+        } catch (Exception e) {
+            return null;
+        }
+    }
 }
@@ -0,0 +1,105 @@
+package com.my.brain.adapter.in.rabbitmq;
+
+import org.jboss.logging.Logger;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+/**
+ * 왜: 수신 스레드를 막지 않고 메시지를 모아 N건 또는 linger 시간 단위로 넘겨, 조회/ack 같은 건당 왕복을 배치당 한 번으로 줄이기 위함.
+ * 배치는 단일 스레드에서 순서대로 전달되므로 수신 순서가 배치 경계를 넘어서도 유지된다.
+ * 처리기가 예외를 던지거나 종료로 넘기지 못한 항목은 실패 처리기로 넘겨, 호출자가 nack 등으로 정리하게 한다.
+ */
+final class MessageBatcher<T> implements AutoCloseable {
+
+    private static final Logger log = Logger.getLogger(MessageBatcher.class);
+    private static final long IDLE_POLL_MILLIS = 100;
+
+    private final int maxBatch;
+    private final long lingerNanos;
+    private final Consumer<List<T>> handler;
+    private final BiConsumer<List<T>, Throwable> failureHandler;
+    private final BlockingQueue<T> queue = new LinkedBlockingQueue<>();
+    private final Thread flusher;
+    private volatile boolean running = true;
+
+    MessageBatcher(String name, int maxBatch, Duration linger, Consumer<List<T>> handler, BiConsumer<List<T>, Throwable> failureHandler) {
+        if (maxBatch <= 0) {
+            throw new IllegalArgumentException("maxBatch는 1 이상이어야 합니다.");
+        }
+        this.maxBatch = maxBatch;
+        this.lingerNanos = linger.toNanos();
+        this.handler = handler;
+        this.failureHandler = failureHandler;
+        this.flusher = Thread.ofVirtual().name(name).start(this::run);
+    }
+
+    void add(T item) {
+        queue.add(item);
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        try {
+            // 종료 직전까지 쌓인 항목도 마지막 배치로 넘긴다.
+            flusher.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        List<T> leftover = new ArrayList<>();
+        queue.drainTo(leftover);
+        if (!leftover.isEmpty()) {
+            fail(leftover, new IllegalStateException("배처가 종료되어 처리하지 못했습니다."));
+        }
+    }
+
+    private void run() {
+        List<T> batch = new ArrayList<>(maxBatch);
+        while (running || !queue.isEmpty()) {
+            try {
+                T first = queue.poll(IDLE_POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + lingerNanos;
+                while (batch.size() < maxBatch) {
+                    long remaining = deadline - System.nanoTime();
+                    T next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : queue.poll();
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                handler.accept(List.copyOf(batch));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                running = false;
+                fail(batch, e);
+            } catch (RuntimeException e) {
+                log.warnf("배치 처리 중 예외: size=%d, reason=%s", batch.size(), e.getMessage());
+                fail(batch, e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void fail(List<T> items, Throwable cause) {
+        if (items.isEmpty()) {
+            return;
+        }
+        try {
+            failureHandler.accept(List.copyOf(items), cause);
+        } catch (RuntimeException e) {
+            log.warnf("배치 실패 처리 중 예외: size=%d, reason=%s", items.size(), e.getMessage());
+        }
+    }
+}
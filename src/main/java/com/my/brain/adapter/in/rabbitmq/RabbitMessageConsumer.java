@@ -2,78 +2,274 @@ package com.my.brain.adapter.in.rabbitmq;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.my.brain.adapter.in.idempotency.IdempotencyStore;
+import com.my.brain.adapter.in.deadletter.DeadLetterRedriver;
+import com.my.brain.adapter.out.rabbitmq.OverloadDeadLetterProducer;
+import com.my.brain.config.AppConfig;
 import com.my.brain.domain.exception.InvalidRequestException;
 import com.my.brain.domain.model.BrainRequest;
+import com.my.brain.domain.model.ReplyMessage;
 import com.my.brain.domain.port.in.ProcessMessageUseCase;
+import com.my.brain.domain.port.out.ReplyPort;
 import io.smallrye.mutiny.Uni;
-import io.smallrye.reactive.messaging.annotations.Blocking;
 import io.smallrye.reactive.messaging.rabbitmq.IncomingRabbitMQMetadata;
+import jakarta.annotation.PreDestroy;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
+import org.eclipse.microprofile.reactive.messaging.Acknowledgment;
 import org.eclipse.microprofile.reactive.messaging.Incoming;
 import org.eclipse.microprofile.reactive.messaging.Message;
 import org.jboss.logging.Logger;
 import org.jboss.logging.MDC;
 
 import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
 
 /**
  * 왜: RabbitMQ 소비자를 통해 도메인 유스케이스로 진입시키는 단일 경로를 제공하기 위함.
+ * 처리는 userId 레인(`app.consumer.lanes`)에서 수행하고, ack는 레인 작업이 끝난 뒤에만 보낸다.
+ * 배치 모드(`app.consumer.batch.enabled`)에서는 중복 확인과 ack를 배치 단위로 묶는다.
+ * 처리 직전에 {@link AdmissionController}로 동시 처리 수를 제한하고, 넘치면 DLQ 또는 바쁨 응답으로 흘려보낸다.
+ * 대기 예산은 수신 시각부터 세므로 레인 큐에서 오래 기다린 요청도 거절 대상이 된다.
+ * 응답은 이 소비자가 보내고 확인 핸들을 받아, 레인은 곧바로 다음 요청으로 넘기고 ack만 응답 확인 뒤로 미룬다.
+ * 처리 시작 시 잡은 점유(lease)는 부수 효과가 끝난 뒤에야 완료 기록으로 바뀌므로, 처리 도중 프로세스가 죽어도 재전달이 중복으로 버려지지 않는다.
+ * 남의 lease가 살아 있는 재전달은 ack하지 않고 들고 있다가, 완료 기록이 생기거나 lease가 풀려 점유할 수 있을 때까지 다시 시도한다.
+ * 응답 발행 확인이 실패하면 {@link ReplyPort} 구현이 발행만 다시 시도하므로, 부수 효과를 되풀이하지 않도록 완료 기록은 응답 전에 남긴다.
  */
 @ApplicationScoped
 public class RabbitMessageConsumer {
 
     private static final Logger log = Logger.getLogger(RabbitMessageConsumer.class);
+    private static final String REJECT_TO_DLQ = "dlq";
+    private static final String REJECT_WITH_BUSY_REPLY = "busy-reply";
+    private static final String BUSY_REPLY = "⏳ 지금 요청이 많아 처리하지 못했습니다. 잠시 후 다시 보내주세요.";
+    private static final Duration LEASE_RETRY_DELAY = Duration.ofSeconds(1);
 
     private final ProcessMessageUseCase processMessageUseCase;
     private final IdempotencyStore idempotencyStore;
     private final ObjectMapper objectMapper;
+    private final UserLaneDispatcher lanes;
+    private final MessageBatcher<PendingRequest> batcher;
+    private final AdmissionController admission;
+    private final OverloadDeadLetterProducer overloadDeadLetterProducer;
+    private final ReplyPort replyPort;
+    private final String onReject;
+    private final Duration leaseRetryDelay;
 
     @Inject
     public RabbitMessageConsumer(ProcessMessageUseCase processMessageUseCase,
                                  IdempotencyStore idempotencyStore,
-                                 ObjectMapper objectMapper) {
+                                 ObjectMapper objectMapper,
+                                 AppConfig appConfig,
+                                 AdmissionController admission,
+                                 OverloadDeadLetterProducer overloadDeadLetterProducer,
+                                 ReplyPort replyPort) {
+        this(processMessageUseCase, idempotencyStore, objectMapper, appConfig, admission, overloadDeadLetterProducer, replyPort, LEASE_RETRY_DELAY);
+    }
+
+    RabbitMessageConsumer(ProcessMessageUseCase processMessageUseCase,
+                          IdempotencyStore idempotencyStore,
+                          ObjectMapper objectMapper,
+                          AppConfig appConfig,
+                          AdmissionController admission,
+                          OverloadDeadLetterProducer overloadDeadLetterProducer,
+                          ReplyPort replyPort,
+                          Duration leaseRetryDelay) {
         this.processMessageUseCase = processMessageUseCase;
         this.idempotencyStore = idempotencyStore;
         this.objectMapper = objectMapper;
+        this.admission = admission;
+        this.overloadDeadLetterProducer = overloadDeadLetterProducer;
+        this.replyPort = replyPort;
+        this.leaseRetryDelay = leaseRetryDelay;
+        this.onReject = appConfig.admission().onReject();
+        if (!REJECT_TO_DLQ.equals(onReject) && !REJECT_WITH_BUSY_REPLY.equals(onReject)) {
+            throw new IllegalStateException("지원하지 않는 admission on-reject 값입니다: " + onReject);
+        }
+        this.lanes = new UserLaneDispatcher(appConfig.consumer().lanes());
+        AppConfig.BatchConfig batch = appConfig.consumer().batch();
+        this.batcher = batch.enabled()
+                ? new MessageBatcher<>("brain-batcher", batch.size(), Duration.ofMillis(batch.lingerMillis()), this::dispatchBatch, this::nackBatch)
+                : null;
+    }
+
+    @PreDestroy
+    void stop() {
+        if (batcher != null) {
+            batcher.close();
+        }
+        lanes.close();
     }
 
+    /**
+     * 왜: 파싱만 수신 스레드에서 하고 곧바로 반환해 다음 메시지를 받을 수 있게 한다.
+     * 동시 처리량의 상한은 브로커 prefetch(`max-outstanding-messages`)가 정한다.
+     */
     @Incoming("brain-requests")
-    @Blocking
+    @Acknowledgment(Acknowledgment.Strategy.MANUAL)
     public Uni<Void> consume(Message<String> message) {
-        return Uni.createFrom().item(() -> {
-            String payload = message.getPayload();
-            BrainRequest request;
-            try {
-                IncomingRequest incoming = objectMapper.readValue(payload, IncomingRequest.class);
-                request = incoming.toBrainRequest();
-            } catch (IOException | InvalidRequestException e) {
-                log.warnf("요청 파싱 실패로 처리 중단: %s", e.getMessage());
-                return null;
+        long receivedAt = System.nanoTime();
+        BrainRequest request;
+        try {
+            IncomingRequest incoming = objectMapper.readValue(message.getPayload(), IncomingRequest.class);
+            request = incoming.toBrainRequest();
+        } catch (IOException | InvalidRequestException e) {
+            log.warnf("요청 파싱 실패로 처리 중단: %s", e.getMessage());
+            return Uni.createFrom().completionStage(message.ack());
+        }
+        String correlationId = resolveCorrelationId(message).orElse(request.eventId());
+        if (batcher != null) {
+            batcher.add(new PendingRequest(message, request, correlationId, receivedAt));
+            return Uni.createFrom().voidItem();
+        }
+        lanes.submitAsync(request.userId(), () -> handle(message, request, correlationId, receivedAt, () -> idempotencyStore.tryClaim(request.eventId())))
+                .whenComplete((ignored, failure) -> settle(message, failure));
+        return Uni.createFrom().voidItem();
+    }
+
+    /**
+     * 왜: 배치 전체의 중복 확인을 저장소 호출 한 번으로 끝내고, 처리는 건별로 레인에 맡긴 뒤
+     * 모든 건이 끝난 시점에 배치의 ack/nack를 한 번에 보낸다.
+     */
+    private void dispatchBatch(List<PendingRequest> batch) {
+        Set<String> claimed;
+        try {
+            claimed = new HashSet<>(idempotencyStore.tryClaimAll(batch.stream().map(p -> p.request().eventId()).toList()));
+        } catch (RuntimeException e) {
+            log.warnf("배치 중복 확인 실패: size=%d, reason=%s", batch.size(), e.getMessage());
+            batch.forEach(pending -> pending.message().nack(e));
+            return;
+        }
+        List<CompletableFuture<Void>> results = new ArrayList<>(batch.size());
+        for (PendingRequest pending : batch) {
+            BrainRequest request = pending.request();
+            // 같은 배치 안의 중복도 한 번만 처리되도록 점유 집합에서 꺼내며 사용한다.
+            // 점유하지 못한 건은 같은 사용자 레인에서 앞선 처리가 끝난 뒤 다시 점유를 시도해 완료 여부를 확인한다.
+            boolean owned = claimed.remove(request.eventId());
+            BooleanSupplier claim = owned ? () -> true : () -> idempotencyStore.tryClaim(request.eventId());
+            results.add(lanes.submitAsync(request.userId(), () -> handle(pending.message(), request, pending.correlationId(), pending.receivedAt(), claim)));
+        }
+        CompletableFuture.allOf(results.toArray(CompletableFuture[]::new)).whenComplete((ignored, failure) -> {
+            for (int i = 0; i < batch.size(); i++) {
+                CompletableFuture<Void> result = results.get(i);
+                settle(batch.get(i).message(), result.isCompletedExceptionally() ? result.exceptionNow() : null);
             }
-            String correlationId = resolveCorrelationId(message).orElse(request.eventId());
-            MDC.put("correlationId", correlationId);
-            MDC.put("eventId", request.eventId());
+        });
+    }
+
+    /**
+     * 왜: 배치 처리기가 중간에 실패하면 어떤 건도 ack/nack되지 않은 채 prefetch 자리만 차지하므로, 배치 전체를 nack해 DLQ 정책에 맡긴다.
+     */
+    private void nackBatch(List<PendingRequest> batch, Throwable failure) {
+        batch.forEach(pending -> pending.message().nack(failure));
+    }
+
+    private void settle(Message<String> message, Throwable failure) {
+        if (failure == null) {
+            message.ack();
+        } else {
+            // 실패한 요청은 nack로 돌려 DLQ 정책(failure-strategy)에 맡긴다.
+            message.nack(failure instanceof CompletionException && failure.getCause() != null ? failure.getCause() : failure);
+        }
+    }
+
+    /**
+     * @return 보낸 응답이 확인되면 완료되는 핸들
+     */
+    private CompletableFuture<Void> handle(Message<String> message, BrainRequest request, String correlationId, long receivedAt, BooleanSupplier claim) {
+        MDC.put("correlationId", correlationId);
+        MDC.put("eventId", request.eventId());
+        try {
+            if (!claim.getAsBoolean()) {
+                return skipUnclaimed(message, request, correlationId);
+            }
+            return process(message, request, correlationId, receivedAt);
+        } finally {
+            MDC.remove("correlationId");
+            MDC.remove("eventId");
+        }
+    }
+
+    /**
+     * 왜: 재전달을 중복으로 버려도 되는 근거는 완료 기록뿐이다. lease만 남아 있으면 앞선 처리가 아직 진행 중이거나 멈춘 것이므로
+     * 실패로 돌려 DLQ(로그 후 ack)로 잃지 않고, 잠시 뒤 같은 레인에서 다시 확인한다. 이때 남의 lease는 해제하지 않는다.
+     */
+    private CompletableFuture<Void> skipUnclaimed(Message<String> message, BrainRequest request, String correlationId) {
+        if (idempotencyStore.isProcessed(request.eventId())) {
+            log.infof("중복 요청을 건너뜁니다: %s", request.eventId());
+            return CompletableFuture.completedFuture(null);
+        }
+        log.infof("처리 중인 lease가 남아 있어 %dms 뒤 다시 확인합니다: %s", leaseRetryDelay.toMillis(), request.eventId());
+        return retryAfterLease(message, request, correlationId);
+    }
+
+    /**
+     * 왜: 앞선 처리가 끝나면 완료 기록으로 건너뛰고, 멈춘 처리라면 lease 만료 뒤 점유해 처리하므로 재시도는 lease 기간 안에 끝난다.
+     * 기다리는 동안 레인을 잡지 않도록 지연은 레인 밖에서 두고, 다시 확인할 때만 같은 사용자 레인에 넣는다.
+     * 수신 시각은 다시 넣는 시점으로 바꿔 lease를 기다린 시간이 admission 대기 예산을 소진하지 않게 한다.
+     */
+    private CompletableFuture<Void> retryAfterLease(Message<String> message, BrainRequest request, String correlationId) {
+        return CompletableFuture.runAsync(() -> { }, CompletableFuture.delayedExecutor(leaseRetryDelay.toMillis(), TimeUnit.MILLISECONDS))
+                .thenCompose(ignored -> lanes.submitAsync(request.userId(),
+                        () -> handle(message, request, correlationId, System.nanoTime(), () -> idempotencyStore.tryClaim(request.eventId()))));
+    }
+
+    private CompletableFuture<Void> process(Message<String> message, BrainRequest request, String correlationId, long receivedAt) {
+        try {
+            if (!admission.tryAdmit(receivedAt)) {
+                // 거절한 요청은 나중에 다시 들어올 수 있어야 하므로 점유를 먼저 해제한다.
+                idempotencyStore.release(request.eventId());
+                return shed(message, request, correlationId);
+            }
+            ReplyMessage reply;
             try {
-                if (idempotencyStore.isProcessed(request.eventId())) {
-                    log.infof("중복 요청을 건너뜁니다: %s", request.eventId());
-                    return null;
-                }
-                processMessageUseCase.process(request);
-                idempotencyStore.markProcessed(request.eventId());
-            } catch (InvalidRequestException e) {
-                log.warnf("요청 검증 실패로 처리 중단: %s", e.getMessage());
+                reply = processMessageUseCase.process(request);
             } finally {
-                MDC.remove("correlationId");
-                MDC.remove("eventId");
+                admission.release();
             }
-            return null;
-        }).replaceWithVoid();
+            // 부수 효과가 끝났으므로 lease를 완료 기록으로 바꾼다. 응답 확인이 재시도 끝에 실패해도 재전달은 부수 효과를 되풀이하지 않는다.
+            idempotencyStore.markProcessed(request.eventId());
+            return replyPort.send(reply);
+        } catch (InvalidRequestException e) {
+            idempotencyStore.release(request.eventId());
+            log.warnf("요청 검증 실패로 처리 중단: %s", e.getMessage());
+            return CompletableFuture.completedFuture(null);
+        } catch (RuntimeException e) {
+            // 실패한 요청은 재전달 시 다시 처리될 수 있어야 하므로 점유를 해제한 뒤 DLQ 정책에 맡긴다.
+            idempotencyStore.release(request.eventId());
+            throw e;
+        }
+    }
+
+    /**
+     * 왜: 과부하 거절을 브로커 reject와 구분되는 사유(`overloaded`)로 DLQ에 남기거나, 사용자에게 즉시 바쁨을 알린다.
+     */
+    private CompletableFuture<Void> shed(Message<String> message, BrainRequest request, String correlationId) {
+        if (REJECT_WITH_BUSY_REPLY.equals(onReject)) {
+            log.warnf("과부하로 요청을 거절하고 바쁨 응답을 보냅니다: %s", request.eventId());
+            return replyPort.send(new ReplyMessage(request.userId(), BUSY_REPLY));
+        }
+        log.warnf("과부하로 요청을 DLQ로 보냅니다: %s", request.eventId());
+        int redriveCount = DeadLetterRedriver.redriveCount(message.getMetadata(IncomingRabbitMQMetadata.class)
+                .map(IncomingRabbitMQMetadata::getHeaders)
+                .orElse(null));
+        overloadDeadLetterProducer.publish(message.getPayload(), correlationId, redriveCount).toCompletableFuture().join();
+        return CompletableFuture.completedFuture(null);
     }
 
     private Optional<String> resolveCorrelationId(Message<String> message) {
         return message.getMetadata(IncomingRabbitMQMetadata.class)
                 .flatMap(IncomingRabbitMQMetadata::getCorrelationId);
     }
+
+    private record PendingRequest(Message<String> message, BrainRequest request, String correlationId, long receivedAt) {
+    }
 }
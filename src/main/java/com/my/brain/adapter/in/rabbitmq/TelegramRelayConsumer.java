@@ -5,13 +5,15 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.my.brain.domain.model.TelegramOutgoingMessage;
 import com.my.brain.domain.port.in.RelayTelegramMessageUseCase;
 import io.smallrye.mutiny.Uni;
-import io.smallrye.reactive.messaging.annotations.Blocking;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
+import org.eclipse.microprofile.reactive.messaging.Acknowledgment;
 import org.eclipse.microprofile.reactive.messaging.Incoming;
 import org.eclipse.microprofile.reactive.messaging.Message;
 import org.jboss.logging.Logger;
 
+import java.util.concurrent.CompletionException;
+
 /**
  * 왜: 타 서비스가 RabbitMQ로 전달한 메시지를 텔레그램으로 중계하는 진입 어댑터가 필요하기 때문.
  */
@@ -29,19 +31,31 @@ public class TelegramRelayConsumer {
         this.objectMapper = objectMapper;
     }
 
+    /**
+     * 왜: 전송을 기다리지 않고 곧바로 반환해 여러 전송을 동시에 띄우고, ack는 전송이 끝난 뒤에 보낸다.
+     * 동시에 떠 있는 메시지 수의 상한은 브로커 prefetch(`max-outstanding-messages`)가 정한다.
+     * 일시 실패는 발신 스케줄러가 한도 안에서 다시 보내고, 그래도 전송하지 못한 메시지는 ack하지 않고 nack해 실패 정책에 맡긴다.
+     */
     @Incoming("telegram-outgoing")
-    @Blocking
+    @Acknowledgment(Acknowledgment.Strategy.MANUAL)
     public Uni<Void> consume(Message<String> message) {
-        return Uni.createFrom().item(() -> {
-            String payload = message.getPayload();
-            try {
-                OutgoingTelegramPayload outgoing = objectMapper.readValue(payload, OutgoingTelegramPayload.class);
-                relayTelegramMessageUseCase.relay(outgoing.toDomain());
-            } catch (Exception e) {
-                log.warnf("텔레그램 전송 요청 파싱/처리 실패: %s", e.getMessage());
-            }
-            return null;
-        }).replaceWithVoid();
+        OutgoingTelegramPayload outgoing;
+        try {
+            outgoing = objectMapper.readValue(message.getPayload(), OutgoingTelegramPayload.class);
+            relayTelegramMessageUseCase.relayAsync(outgoing.toDomain())
+                    .whenComplete((ignored, failure) -> {
+                        if (failure == null) {
+                            message.ack();
+                            return;
+                        }
+                        log.warnf("텔레그램 전송 요청 처리 실패: %s", failure.getMessage());
+                        message.nack(failure instanceof CompletionException && failure.getCause() != null ? failure.getCause() : failure);
+                    });
+        } catch (Exception e) {
+            log.warnf("텔레그램 전송 요청 파싱/처리 실패: %s", e.getMessage());
+            return Uni.createFrom().completionStage(message.ack());
+        }
+        return Uni.createFrom().voidItem();
     }
 
     @JsonIgnoreProperties(ignoreUnknown = true)
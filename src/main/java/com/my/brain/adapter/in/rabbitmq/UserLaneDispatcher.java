@@ -0,0 +1,67 @@
+package com.my.brain.adapter.in.rabbitmq;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * 왜: 한 사용자의 느린 LLM 호출이 다른 사용자까지 막지 않도록 userId 해시로 고정된 가상 스레드 레인에 작업을 나눈다.
+ * 같은 키는 항상 같은 단일 스레드 레인으로 가므로 사용자별 처리 순서는 유지된다.
+ */
+final class UserLaneDispatcher implements AutoCloseable {
+
+    private final ExecutorService[] lanes;
+
+    UserLaneDispatcher(int laneCount) {
+        if (laneCount <= 0) {
+            throw new IllegalArgumentException("laneCount는 1 이상이어야 합니다.");
+        }
+        this.lanes = new ExecutorService[laneCount];
+        for (int i = 0; i < laneCount; i++) {
+            lanes[i] = Executors.newSingleThreadExecutor(Thread.ofVirtual().name("brain-lane-" + i).factory());
+        }
+    }
+
+    /**
+     * @return 해당 레인에서 작업이 끝나면 완료되는 핸들(작업 예외는 그대로 전파)
+     */
+    CompletableFuture<Void> submit(String key, Runnable task) {
+        return CompletableFuture.runAsync(task, lanes[laneOf(key)]);
+    }
+
+    /**
+     * 왜: 레인 작업이 끝난 뒤에도 발행 확인처럼 비동기로 남은 일이 있으면, 레인은 다음 작업으로 넘기고 그 완료까지 기다리는 핸들을 돌려주기 위함.
+     *
+     * @return 작업과 작업이 돌려준 핸들이 모두 끝나면 완료되는 핸들
+     */
+    CompletableFuture<Void> submitAsync(String key, Supplier<CompletableFuture<Void>> task) {
+        return CompletableFuture.supplyAsync(task, lanes[laneOf(key)]).thenCompose(Function.identity());
+    }
+
+    int laneOf(String key) {
+        return Math.floorMod(key.hashCode(), lanes.length);
+    }
+
+    @Override
+    public void close() {
+        for (ExecutorService lane : lanes) {
+            lane.shutdown();
+        }
+        try {
+            for (ExecutorService lane : lanes) {
+                // 진행 중인 작업이 끝나야 ack/nack가 나가므로 잠시 기다린 뒤 강제 종료한다.
+                if (!lane.awaitTermination(10, TimeUnit.SECONDS)) {
+                    lane.shutdownNow();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            for (ExecutorService lane : lanes) {
+                lane.shutdownNow();
+            }
+        }
+    }
+}
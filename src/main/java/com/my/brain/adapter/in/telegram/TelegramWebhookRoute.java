@@ -0,0 +1,125 @@
+package com.my.brain.adapter.in.telegram;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.my.brain.adapter.in.idempotency.IdempotencyStore;
+import com.my.brain.adapter.out.telegram.TelegramBotClient;
+import com.my.brain.adapter.out.telegram.TelegramUpdateParser;
+import com.my.brain.config.AppConfig;
+import com.my.brain.domain.model.TelegramIncomingMessage;
+import com.my.brain.domain.service.TelegramUpdateService;
+import io.vertx.ext.web.Router;
+import io.vertx.ext.web.RoutingContext;
+import io.vertx.ext.web.handler.BodyHandler;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import org.jboss.logging.Logger;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.Optional;
+
+/**
+ * 왜: 폴링은 연결 하나를 상시 점유하고 응답 주기만큼 지연을 더하므로, 텔레그램이 업데이트를 곧바로 밀어 넣는 웹훅 수신 경로를 제공하기 위함.
+ * 비밀 토큰 헤더로 발신자를 검증하고, 텔레그램의 재전송은 `update_id` 단위 idempotency 점유로 걸러 한 번만 발행한다.
+ * `app.telegram.ingress=webhook`일 때만 라우트를 등록한다.
+ * 점유 기록은 brain 요청과 같은 idempotency 저장소를 `telegram-update:` 접두어로 나눠 쓴다. 요청 eventId와 겹치지 않고,
+ * lease/보존 기간(`app.idempotency.*`)과 캐시 용량을 함께 쓰므로 웹훅 트래픽만큼 저장소 크기를 잡아야 한다.
+ */
+@ApplicationScoped
+public class TelegramWebhookRoute {
+
+    static final String SECRET_HEADER = "X-Telegram-Bot-Api-Secret-Token";
+    // brain 요청의 eventId와 같은 저장소를 쓰므로 키 공간을 접두어로 나눈다.
+    private static final String UPDATE_KEY_PREFIX = "telegram-update:";
+    private static final long BODY_LIMIT_BYTES = 1024 * 1024;
+
+    private static final Logger log = Logger.getLogger(TelegramWebhookRoute.class);
+
+    private final TelegramUpdateService telegramUpdateService;
+    private final IdempotencyStore idempotencyStore;
+    private final TelegramUpdateParser updateParser;
+    private final TelegramBotClient telegramBotClient;
+    private final AppConfig.TelegramConfig telegramConfig;
+    private final byte[] secretToken;
+
+    @Inject
+    public TelegramWebhookRoute(TelegramUpdateService telegramUpdateService,
+                                IdempotencyStore idempotencyStore,
+                                ObjectMapper objectMapper,
+                                TelegramBotClient telegramBotClient,
+                                AppConfig appConfig) {
+        this(telegramUpdateService, idempotencyStore, new TelegramUpdateParser(objectMapper), telegramBotClient, appConfig.telegram());
+    }
+
+    TelegramWebhookRoute(TelegramUpdateService telegramUpdateService,
+                         IdempotencyStore idempotencyStore,
+                         TelegramUpdateParser updateParser,
+                         TelegramBotClient telegramBotClient,
+                         AppConfig.TelegramConfig telegramConfig) {
+        this.telegramUpdateService = telegramUpdateService;
+        this.idempotencyStore = idempotencyStore;
+        this.updateParser = updateParser;
+        this.telegramBotClient = telegramBotClient;
+        this.telegramConfig = telegramConfig;
+        this.secretToken = telegramConfig.webhook().secretToken()
+                .filter(token -> !token.isBlank())
+                .map(token -> token.getBytes(StandardCharsets.UTF_8))
+                .orElse(null);
+    }
+
+    void register(@Observes Router router) {
+        if (!"webhook".equals(telegramConfig.ingress())) {
+            return;
+        }
+        if (secretToken == null) {
+            throw new IllegalStateException("웹훅 수신 모드에는 app.telegram.webhook.secret-token이 필요합니다.");
+        }
+        String path = telegramConfig.webhook().path();
+        router.post(path)
+                .handler(BodyHandler.create().setBodyLimit(BODY_LIMIT_BYTES))
+                .blockingHandler(this::onRequest);
+        telegramConfig.webhook().publicUrl().ifPresent(url -> telegramBotClient.setWebhook(url, new String(secretToken, StandardCharsets.UTF_8)));
+        log.infof("텔레그램 웹훅 수신 경로를 등록했습니다: %s", path);
+    }
+
+    private void onRequest(RoutingContext context) {
+        byte[] body = context.body().buffer() == null ? new byte[0] : context.body().buffer().getBytes();
+        int status = handle(context.request().getHeader(SECRET_HEADER), body);
+        context.response().setStatusCode(status).end();
+    }
+
+    /**
+     * @return 텔레그램에 돌려줄 HTTP 상태 코드. 2xx가 아니면 텔레그램이 같은 업데이트를 다시 보낸다.
+     */
+    int handle(String secretHeader, byte[] body) {
+        if (secretHeader == null || !MessageDigest.isEqual(secretToken, secretHeader.getBytes(StandardCharsets.UTF_8))) {
+            return 401;
+        }
+        Optional<TelegramIncomingMessage> update;
+        try {
+            update = updateParser.parseUpdate(body);
+        } catch (IOException e) {
+            log.warnf("텔레그램 웹훅 본문 파싱 실패: %s", e.getMessage());
+            return 400;
+        }
+        if (update.isEmpty()) {
+            return 200;
+        }
+        String key = UPDATE_KEY_PREFIX + update.get().updateId();
+        if (!idempotencyStore.tryClaim(key)) {
+            // 발행이 끝난 업데이트만 200으로 흘려보내고, 아직 처리 중이면 텔레그램이 다시 보내게 한다.
+            return idempotencyStore.isProcessed(key) ? 200 : 503;
+        }
+        try {
+            telegramUpdateService.publish(update.get());
+            idempotencyStore.markProcessed(key);
+            return 200;
+        } catch (RuntimeException e) {
+            idempotencyStore.release(key);
+            log.warnf("텔레그램 웹훅 업데이트 발행 실패: updateId=%d, reason=%s", update.get().updateId(), e.getMessage());
+            return 500;
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.my.brain.adapter.out.filesystem;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 왜: 같은 데일리 노트로 몰리는 퀵 로그마다 파일 전체를 읽고 다시 쓰지 않도록, 노트 경로별로 짧은 창 동안 줄을 모아
+ * 한 번의 읽기/쓰기/fsync로 반영하기 위함. 각 호출자는 자기 줄이 디스크에 반영된 뒤에 완료되는 핸들을 받는다.
+ * 호출자는 창만큼 기다리므로, 같은 노트로 동시에 쓰는 요청이 있을 때(여러 레인)만 켠다. 창이 0이면 예약 스레드를 만들지 않고
+ * 경로별 잠금만 제공한다.
+ */
+final class DailyNoteWriteCoalescer implements AutoCloseable {
+
+    private final long windowMillis;
+    private final ScheduledExecutorService flusher;
+    private final ConcurrentHashMap<Path, List<PendingAppend>> pending = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Path, ReentrantLock> locks = new ConcurrentHashMap<>();
+
+    DailyNoteWriteCoalescer(Duration window) {
+        this.windowMillis = window.toMillis();
+        // 단일 스레드에서 예약 순서대로 반영하므로 같은 노트에 대한 줄 순서가 유지된다.
+        this.flusher = windowMillis > 0
+                ? Executors.newSingleThreadScheduledExecutor(Thread.ofVirtual().name("daily-note-writer-", 0).factory())
+                : null;
+    }
+
+    boolean enabled() {
+        return flusher != null;
+    }
+
+    /**
+     * @return 반영 후 노트 전체 내용으로 완료되는 핸들
+     */
+    CompletableFuture<String> append(Path notePath, String block) {
+        if (flusher == null) {
+            throw new IllegalStateException("note-coalesce-window-millis가 0이면 묶음 반영을 쓰지 않습니다.");
+        }
+        CompletableFuture<String> result = new CompletableFuture<>();
+        pending.compute(notePath, (path, appends) -> {
+            if (appends == null) {
+                appends = new ArrayList<>();
+                flusher.schedule(() -> flush(path), windowMillis, TimeUnit.MILLISECONDS);
+            }
+            appends.add(new PendingAppend(block, result));
+            return appends;
+        });
+        return result;
+    }
+
+    /**
+     * 왜: 묶음 반영과 다른 읽기-수정-쓰기(미팅 링크 삽입 등)가 서로의 변경을 덮어쓰지 않도록 노트 경로별 잠금을 공유한다.
+     */
+    ReentrantLock lockFor(Path notePath) {
+        return locks.computeIfAbsent(notePath, path -> new ReentrantLock());
+    }
+
+    @Override
+    public void close() {
+        if (flusher == null) {
+            return;
+        }
+        flusher.shutdown();
+        try {
+            if (!flusher.awaitTermination(5, TimeUnit.SECONDS)) {
+                flusher.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            flusher.shutdownNow();
+        }
+    }
+
+    private void flush(Path notePath) {
+        List<PendingAppend> appends = pending.remove(notePath);
+        if (appends == null) {
+            return;
+        }
+        ReentrantLock lock = lockFor(notePath);
+        lock.lock();
+        try {
+            StringBuilder updated = new StringBuilder(Files.readString(notePath, StandardCharsets.UTF_8));
+            if (!updated.toString().endsWith("\n")) {
+                updated.append("\n");
+            }
+            for (PendingAppend append : appends) {
+                updated.append(append.block());
+            }
+            String content = updated.toString();
+            writeDurably(notePath, content);
+            appends.forEach(append -> append.result().complete(content));
+        } catch (IOException | RuntimeException e) {
+            appends.forEach(append -> append.result().completeExceptionally(e));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void writeDurably(Path notePath, String content) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(content.getBytes(StandardCharsets.UTF_8));
+        try (FileChannel channel = FileChannel.open(notePath, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(false);
+        }
+    }
+
+    private record PendingAppend(String block, CompletableFuture<String> result) {
+    }
+}
@@ -4,6 +4,7 @@ import com.my.brain.config.AppConfig;
 import com.my.brain.domain.model.BrainRequest;
 import com.my.brain.domain.model.Note;
 import com.my.brain.domain.port.out.FilePort;
+import jakarta.annotation.PreDestroy;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 
@@ -11,13 +12,17 @@ import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
 import java.util.Objects;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * 왜: Obsidian vault 파일 생성/갱신을 중앙집중식으로 처리하여 링크 일관성과 템플릿 적용을 보장하기 위함.
+ * 데일리 노트의 퀵 로그는 `app.paths.note-coalesce-window-millis`가 0보다 크면 경로별로 모아 한 번에 반영하고, 0(기본)이면 바로 쓴다.
  */
 @ApplicationScoped
 public class FileSystemAdapter implements FilePort {
@@ -26,11 +31,18 @@ public class FileSystemAdapter implements FilePort {
 
     private final Path vaultRoot;
     private final Path templateRoot;
+    private final DailyNoteWriteCoalescer coalescer;
 
     @Inject
     public FileSystemAdapter(AppConfig appConfig) {
         this.vaultRoot = Path.of(appConfig.paths().vaultPath());
         this.templateRoot = Path.of(appConfig.paths().templatePath());
+        this.coalescer = new DailyNoteWriteCoalescer(Duration.ofMillis(appConfig.paths().noteCoalesceWindowMillis()));
+    }
+
+    @PreDestroy
+    void stop() {
+        coalescer.close();
     }
 
     @Override
@@ -38,6 +50,8 @@ public class FileSystemAdapter implements FilePort {
         LocalDate date = request.timestamp().atZoneSameInstant(ZoneId.of("Asia/Seoul")).toLocalDate();
         String filename = DATE.format(date) + ".md";
         Path dailyPath = vaultRoot.resolve(filename);
+        ReentrantLock lock = coalescer.lockFor(dailyPath);
+        lock.lock();
         try {
             if (!Files.exists(dailyPath)) {
                 String template = loadTemplate("daily.md");
@@ -48,6 +62,8 @@ public class FileSystemAdapter implements FilePort {
             return new Note(relativize(dailyPath), filename, Files.readString(dailyPath));
         } catch (IOException e) {
             throw new RuntimeException("데일리 노트 생성/로딩 실패", e);
+        } finally {
+            lock.unlock();
         }
     }
 
@@ -55,16 +71,34 @@ public class FileSystemAdapter implements FilePort {
     public Note appendQuickLog(Note dailyNote, String logLine) {
         Objects.requireNonNull(dailyNote);
         Path path = vaultRoot.resolve(dailyNote.path());
+        String block = "## Logs\n- " + logLine + "\n";
+        if (!coalescer.enabled()) {
+            return appendNow(dailyNote, path, block);
+        }
+        try {
+            // 같은 노트로 향하는 동시 요청들의 줄을 모아 한 번에 쓰고, 내 줄이 반영된 뒤에만 반환한다.
+            String updated = coalescer.append(path, block).join();
+            return new Note(dailyNote.path(), dailyNote.title(), updated);
+        } catch (CompletionException e) {
+            throw new RuntimeException("퀵 로그 추가 실패", e.getCause());
+        }
+    }
+
+    private Note appendNow(Note dailyNote, Path path, String block) {
+        ReentrantLock lock = coalescer.lockFor(path);
+        lock.lock();
         try {
             StringBuilder updated = new StringBuilder(Files.readString(path));
             if (!updated.toString().endsWith("\n")) {
                 updated.append("\n");
             }
-            updated.append("## Logs\n").append("- ").append(logLine).append("\n");
+            updated.append(block);
             Files.writeString(path, updated.toString(), StandardCharsets.UTF_8);
             return new Note(dailyNote.path(), dailyNote.title(), updated.toString());
         } catch (IOException e) {
             throw new RuntimeException("퀵 로그 추가 실패", e);
+        } finally {
+            lock.unlock();
         }
     }
 
@@ -86,6 +120,8 @@ public class FileSystemAdapter implements FilePort {
     @Override
     public void linkMeetingNote(Note dailyNote, Note meetingNote) {
         Path dailyPath = vaultRoot.resolve(dailyNote.path());
+        ReentrantLock lock = coalescer.lockFor(dailyPath);
+        lock.lock();
         try {
             String content = Files.readString(dailyPath);
             String link = "[[" + meetingNote.path() + "]]";
@@ -95,6 +131,8 @@ public class FileSystemAdapter implements FilePort {
             }
         } catch (IOException e) {
             throw new RuntimeException("미팅 노트 링크 삽입 실패", e);
+        } finally {
+            lock.unlock();
         }
     }
 
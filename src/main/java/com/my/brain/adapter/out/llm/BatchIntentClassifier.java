@@ -0,0 +1,19 @@
+package com.my.brain.adapter.out.llm;
+
+import com.my.brain.domain.model.BrainRequest;
+import com.my.brain.domain.model.LlmIntentResult;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 왜: 적체된 요청 여러 건을 한 번의 구조화 호출로 분류해 시스템 프롬프트 토큰과 왕복 지연을 배치당 한 번만 치르기 위함.
+ */
+@FunctionalInterface
+interface BatchIntentClassifier {
+
+    /**
+     * @return eventId별 결과. 모델이 빠뜨리거나 해석할 수 없던 요청은 들어 있지 않다.
+     */
+    Map<String, LlmIntentResult> parseIntents(List<BrainRequest> requests);
+}
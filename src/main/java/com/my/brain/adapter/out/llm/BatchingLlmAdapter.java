@@ -0,0 +1,183 @@
+package com.my.brain.adapter.out.llm;
+
+import com.my.brain.config.AppConfig;
+import com.my.brain.domain.model.BrainRequest;
+import com.my.brain.domain.model.LlmIntentResult;
+import com.my.brain.domain.port.out.LlmPort;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.inject.Typed;
+import jakarta.inject.Inject;
+import org.jboss.logging.Logger;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 왜: 적체된 인박스를 따라잡을 때 요청마다 OpenAI를 부르면 같은 시스템 프롬프트 토큰과 왕복 지연을 건마다 치르므로,
+ * 레인 스레드들의 요청을 `linger` 동안 최대 `max-size`건까지 모아 한 번의 구조화 호출로 분류하기 위함.
+ * 배치 호출이 실패하거나 결과에서 빠진 요청은 호출한 스레드가 각자 건별 호출로 다시 처리하므로 결과가 유실되지 않는다.
+ * 모은 요청이 한 건뿐이면 배치 프롬프트 없이 바로 건별 호출한다.
+ */
+@Typed(BatchingLlmAdapter.class)
+@ApplicationScoped
+public class BatchingLlmAdapter implements LlmPort {
+
+    private static final Logger log = Logger.getLogger(BatchingLlmAdapter.class);
+    private static final long IDLE_POLL_MILLIS = 100;
+
+    private final LlmPort single;
+    private final BatchIntentClassifier batch;
+    private final boolean enabled;
+    private final int maxBatch;
+    private final long lingerNanos;
+    private final BlockingQueue<Pending> queue = new LinkedBlockingQueue<>();
+    private final ExecutorService executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("llm-intent-batch-", 0).factory());
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder batched = new LongAdder();
+    private final LongAdder fallbacks = new LongAdder();
+    private Thread collector;
+    private volatile boolean running;
+
+    @Inject
+    public BatchingLlmAdapter(OpenAiLlmAdapter delegate, AppConfig appConfig, MeterRegistry meterRegistry) {
+        this(delegate, delegate,
+                appConfig.llm().batch().enabled(),
+                appConfig.llm().batch().maxSize(),
+                Duration.ofMillis(appConfig.llm().batch().lingerMillis()));
+        FunctionCounter.builder("llm.intent.batch.calls", this, BatchingLlmAdapter::batches).register(meterRegistry);
+        FunctionCounter.builder("llm.intent.batch.requests", this, BatchingLlmAdapter::batched).register(meterRegistry);
+        FunctionCounter.builder("llm.intent.batch.fallbacks", this, BatchingLlmAdapter::fallbacks).register(meterRegistry);
+    }
+
+    BatchingLlmAdapter(LlmPort single, BatchIntentClassifier batch, boolean enabled, int maxBatch, Duration linger) {
+        if (maxBatch <= 0) {
+            throw new IllegalArgumentException("maxBatch는 1 이상이어야 합니다.");
+        }
+        this.single = single;
+        this.batch = batch;
+        this.enabled = enabled;
+        this.maxBatch = maxBatch;
+        this.lingerNanos = linger.toNanos();
+    }
+
+    @PostConstruct
+    void start() {
+        if (!enabled || maxBatch == 1) {
+            return;
+        }
+        running = true;
+        collector = Thread.ofVirtual().name("llm-intent-batcher").start(this::collect);
+    }
+
+    @PreDestroy
+    void stop() {
+        running = false;
+        if (collector != null) {
+            collector.interrupt();
+        }
+        executor.shutdown();
+        // 모으던 요청은 호출자가 건별로 처리하게 돌려준다.
+        Pending pending;
+        while ((pending = queue.poll()) != null) {
+            pending.result().complete(null);
+        }
+    }
+
+    @Override
+    public LlmIntentResult parseIntent(BrainRequest request) {
+        if (!running) {
+            return single.parseIntent(request);
+        }
+        Pending pending = new Pending(request, new CompletableFuture<>());
+        queue.add(pending);
+        if (!running && queue.remove(pending)) {
+            // 종료와 겹쳐 아무도 꺼내 가지 않을 요청이다.
+            return single.parseIntent(request);
+        }
+        LlmIntentResult result = pending.result().join();
+        return result != null ? result : single.parseIntent(request);
+    }
+
+    private void collect() {
+        while (running) {
+            List<Pending> pendings = new ArrayList<>(maxBatch);
+            try {
+                Pending first = queue.poll(IDLE_POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                pendings.add(first);
+                long deadline = System.nanoTime() + lingerNanos;
+                while (pendings.size() < maxBatch) {
+                    long remaining = deadline - System.nanoTime();
+                    Pending next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : queue.poll();
+                    if (next == null) {
+                        break;
+                    }
+                    pendings.add(next);
+                }
+                // 배치 호출은 별도 가상 스레드에서 돌려, 응답을 기다리는 동안에도 다음 배치를 모은다.
+                executor.execute(() -> classify(pendings));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                pendings.forEach(pending -> pending.result().complete(null));
+                return;
+            } catch (RuntimeException e) {
+                // 종료 중 실행기가 거절하는 경우 등: 호출자가 건별로 처리한다.
+                pendings.forEach(pending -> pending.result().complete(null));
+            }
+        }
+    }
+
+    private void classify(List<Pending> pendings) {
+        if (pendings.size() == 1) {
+            pendings.getFirst().result().complete(null);
+            return;
+        }
+        Map<String, LlmIntentResult> results;
+        try {
+            results = batch.parseIntents(pendings.stream().map(Pending::request).toList());
+            batches.increment();
+            batched.add(pendings.size());
+        } catch (RuntimeException e) {
+            log.warnf("LLM 배치 분류 실패, 건별 호출로 전환합니다: size=%d, reason=%s", pendings.size(), e.getMessage());
+            results = Map.of();
+        }
+        for (Pending pending : pendings) {
+            LlmIntentResult result = results.get(pending.request().eventId());
+            if (result == null) {
+                fallbacks.increment();
+            }
+            // 빠진 결과는 null로 완료해 호출 스레드가 건별 호출로 채운다.
+            pending.result().complete(result);
+        }
+    }
+
+    long batches() {
+        return batches.sum();
+    }
+
+    long batched() {
+        return batched.sum();
+    }
+
+    long fallbacks() {
+        return fallbacks.sum();
+    }
+
+    private record Pending(BrainRequest request, CompletableFuture<LlmIntentResult> result) {
+    }
+}
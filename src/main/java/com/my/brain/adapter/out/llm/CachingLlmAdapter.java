@@ -0,0 +1,245 @@
+package com.my.brain.adapter.out.llm;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.my.brain.config.AppConfig;
+import com.my.brain.domain.model.BrainRequest;
+import com.my.brain.domain.model.IntentType;
+import com.my.brain.domain.model.LlmIntentResult;
+import com.my.brain.domain.port.out.LlmPort;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.jboss.logging.Logger;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.text.Normalizer;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import java.util.regex.Pattern;
+
+/**
+ * 왜: "동기화해줘", "오늘 할 일 정리"처럼 거의 같은 명령이 반복될 때마다 OpenAI 왕복 비용을 치르지 않기 위함.
+ * 키는 정규화한 본문과 요청의 현지 날짜라서 "내일" 같은 상대 날짜가 다른 날로 새지 않고,
+ * 일정/할 일 결과는 {@link IntentTemplate}로 보관했다가 새 요청 시각에 다시 고정한다.
+ * 항목 수 상한과 TTL로 메모리를 묶고, `persistence-path`가 있으면 새 항목이 `snapshot-every-entries`건 쌓일 때마다와
+ * 종료 시 저장해 비정상 종료 뒤에도 대부분을 이어 쓴다.
+ * UNKNOWN 결과는 일시적인 LLM 오류나 모호한 응답일 수 있어 캐시하지 않는다. 한 번 실패한 분류가 TTL 내내 되풀이되지 않게 하기 위함이다.
+ */
+@ApplicationScoped
+public class CachingLlmAdapter implements LlmPort {
+
+    private static final Logger log = Logger.getLogger(CachingLlmAdapter.class);
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Pattern TRAILING_PUNCTUATION = Pattern.compile("[\\s.!?~。！？]+$");
+
+    private final LlmPort delegate;
+    private final boolean enabled;
+    private final int maxEntries;
+    private final long ttlMillis;
+    private final Optional<Path> persistencePath;
+    private final int snapshotEveryEntries;
+    private final ExecutorService snapshotter;
+    private final AtomicInteger unsaved = new AtomicInteger();
+    private final ObjectMapper objectMapper;
+    private final LongSupplier clock;
+    private final LinkedHashMap<String, Entry> entries;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    @Inject
+    public CachingLlmAdapter(BatchingLlmAdapter delegate, AppConfig appConfig, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this(delegate,
+                appConfig.llm().cache().enabled(),
+                appConfig.llm().cache().maxEntries(),
+                Duration.ofMinutes(appConfig.llm().cache().ttlMinutes()),
+                appConfig.llm().cache().persistencePath().filter(path -> !path.isBlank()).map(Path::of),
+                appConfig.llm().cache().snapshotEveryEntries(),
+                objectMapper,
+                System::currentTimeMillis);
+        FunctionCounter.builder("llm.intent.cache.hits", this, CachingLlmAdapter::hits).register(meterRegistry);
+        FunctionCounter.builder("llm.intent.cache.misses", this, CachingLlmAdapter::misses).register(meterRegistry);
+        Gauge.builder("llm.intent.cache.size", this, CachingLlmAdapter::size).register(meterRegistry);
+    }
+
+    CachingLlmAdapter(LlmPort delegate,
+                      boolean enabled,
+                      int maxEntries,
+                      Duration ttl,
+                      Optional<Path> persistencePath,
+                      int snapshotEveryEntries,
+                      ObjectMapper objectMapper,
+                      LongSupplier clock) {
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("maxEntries는 1 이상이어야 합니다.");
+        }
+        this.delegate = delegate;
+        this.enabled = enabled;
+        this.maxEntries = maxEntries;
+        this.ttlMillis = ttl.toMillis();
+        this.persistencePath = persistencePath;
+        this.snapshotEveryEntries = snapshotEveryEntries;
+        // 스냅숏 쓰기가 응답 경로에 끼지 않도록 한 스레드에서 차례로 저장한다.
+        this.snapshotter = enabled && persistencePath.isPresent() && snapshotEveryEntries > 0
+                ? Executors.newSingleThreadExecutor(Thread.ofVirtual().name("llm-cache-snapshot-", 0).factory())
+                : null;
+        this.objectMapper = objectMapper;
+        this.clock = clock;
+        // 접근 순서로 두어 상한을 넘으면 가장 오래 쓰이지 않은 항목부터 밀어낸다.
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > CachingLlmAdapter.this.maxEntries;
+            }
+        };
+    }
+
+    @PostConstruct
+    void load() {
+        if (!enabled || persistencePath.isEmpty() || !Files.exists(persistencePath.get())) {
+            return;
+        }
+        try {
+            List<PersistedEntry> persisted = objectMapper.readValue(persistencePath.get().toFile(), new TypeReference<List<PersistedEntry>>() {
+            });
+            long now = clock.getAsLong();
+            synchronized (entries) {
+                for (PersistedEntry entry : persisted) {
+                    if (entry.expiresAtMillis() > now) {
+                        entries.put(entry.key(), new Entry(
+                                new IntentTemplate(entry.result(), OffsetDateTime.parse(entry.anchor()), entry.elapsed()),
+                                entry.expiresAtMillis()));
+                    }
+                }
+            }
+            log.infof("LLM 의도 캐시 %d건을 불러왔습니다.", size());
+        } catch (IOException | RuntimeException e) {
+            log.warnf("LLM 의도 캐시를 불러오지 못해 비어 있는 상태로 시작합니다: %s", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    void stop() {
+        if (snapshotter != null) {
+            snapshotter.close();
+        }
+        save();
+    }
+
+    /**
+     * 주기 스냅숏과 종료 시 저장이 같은 임시 파일을 쓰므로 한 번에 하나만 저장한다.
+     */
+    synchronized void save() {
+        if (!enabled || persistencePath.isEmpty()) {
+            return;
+        }
+        unsaved.set(0);
+        Path path = persistencePath.get();
+        List<PersistedEntry> snapshot = new ArrayList<>();
+        long now = clock.getAsLong();
+        synchronized (entries) {
+            entries.forEach((key, entry) -> {
+                if (entry.expiresAtMillis() > now) {
+                    IntentTemplate template = entry.template();
+                    snapshot.add(new PersistedEntry(key, entry.expiresAtMillis(), template.anchor().toString(), template.elapsed(), template.result()));
+                }
+            });
+        }
+        try {
+            Path parent = path.getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            // 임시 파일에 쓰고 교체해, 저장 중 종료돼도 이전 스냅숏이 깨지지 않게 한다.
+            Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+            objectMapper.writeValue(temp.toFile(), snapshot);
+            Files.move(temp, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            log.warnf("LLM 의도 캐시 저장 실패: %s", e.getMessage());
+        }
+    }
+
+    @Override
+    public LlmIntentResult parseIntent(BrainRequest request) {
+        if (!enabled) {
+            return delegate.parseIntent(request);
+        }
+        String key = key(request);
+        long now = clock.getAsLong();
+        Entry cached;
+        synchronized (entries) {
+            cached = entries.get(key);
+            if (cached != null && cached.expiresAtMillis() <= now) {
+                entries.remove(key);
+                cached = null;
+            }
+        }
+        if (cached != null) {
+            hits.incrementAndGet();
+            return cached.template().anchorTo(request.timestamp());
+        }
+        misses.incrementAndGet();
+        // 같은 키가 동시에 들어오면 둘 다 호출될 수 있지만, 드문 경우라 호출 중 잠금을 잡지 않는 편을 택한다.
+        LlmIntentResult result = delegate.parseIntent(request);
+        if (result != null && result.intentType() != IntentType.UNKNOWN) {
+            synchronized (entries) {
+                entries.put(key, new Entry(IntentTemplate.capture(request, result), now + ttlMillis));
+            }
+            scheduleSnapshot();
+        }
+        return result;
+    }
+
+    private void scheduleSnapshot() {
+        // 정확히 상한에 닿은 호출 하나만 예약하고, 저장이 시작되면 세기를 다시 시작한다.
+        if (snapshotter != null && unsaved.incrementAndGet() == snapshotEveryEntries) {
+            snapshotter.execute(this::save);
+        }
+    }
+
+    static String key(BrainRequest request) {
+        String content = Normalizer.normalize(request.content(), Normalizer.Form.NFKC);
+        content = WHITESPACE.matcher(content.strip()).replaceAll(" ").toLowerCase(Locale.ROOT);
+        content = TRAILING_PUNCTUATION.matcher(content).replaceAll("");
+        return request.type() + "|" + request.timestamp().toLocalDate() + "|" + content;
+    }
+
+    long hits() {
+        return hits.get();
+    }
+
+    long misses() {
+        return misses.get();
+    }
+
+    int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    private record Entry(IntentTemplate template, long expiresAtMillis) {
+    }
+
+    /** 오프셋이 보존되도록 기준 시각은 ISO 문자열로 저장한다. */
+    record PersistedEntry(String key, long expiresAtMillis, String anchor, boolean elapsed, LlmIntentResult result) {
+    }
+}
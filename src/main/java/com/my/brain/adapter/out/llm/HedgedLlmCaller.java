@@ -0,0 +1,270 @@
+package com.my.brain.adapter.out.llm;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.jboss.logging.Logger;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * 왜: OpenAI 요청이 멈추면 고정 지연 재시도만으로는 워커가 무한정 묶이고, 느린 꼬리 지연이 그대로 사용자 응답 지연이 되기 때문.
+ * 요청마다 전체 기한(`deadline`)을 두고 남은 시간을 남은 시도 수로 나눠 시도별 타임아웃을 정하며,
+ * 한 시도가 최근 성공 지연의 p95를 넘기면 같은 요청을 한 번 더 보내(헤지) 먼저 온 응답을 쓰고 나머지는 취소한다.
+ * 표본이 적을 때는 `hedge-initial-delay`를, 너무 이른 헤지로 호출이 두 배가 되지 않게 `hedge-min-delay`를 하한으로 쓴다.
+ */
+final class HedgedLlmCaller implements AutoCloseable {
+
+    private static final Logger log = Logger.getLogger(HedgedLlmCaller.class);
+    private static final int WINDOW = 512;
+    private static final int MIN_SAMPLES = 20;
+    private static final double HEDGE_PERCENTILE = 0.95;
+
+    private final String model;
+    private final long deadlineNanos;
+    private final int maxAttempts;
+    private final long retryDelayNanos;
+    private final boolean hedgeEnabled;
+    private final long initialHedgeDelayNanos;
+    private final long minHedgeDelayNanos;
+    private final ExecutorService executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("llm-call-", 0).factory());
+    // 최근 성공 지연의 고리 버퍼. 호출 수에 비해 갱신이 드물어 단순 잠금으로 충분하다.
+    private final long[] latencies = new long[WINDOW];
+    private int recorded;
+    private final LongAdder hedges = new LongAdder();
+    private final LongAdder hedgeWins = new LongAdder();
+    private final LongAdder attemptTimeouts = new LongAdder();
+    private volatile Timer successLatency;
+    private volatile Timer failureLatency;
+    private volatile Timer batchLatency;
+
+    HedgedLlmCaller(String model,
+                    Duration deadline,
+                    int maxAttempts,
+                    Duration retryDelay,
+                    boolean hedgeEnabled,
+                    Duration initialHedgeDelay,
+                    Duration minHedgeDelay) {
+        if (maxAttempts <= 0 || deadline.isNegative() || deadline.isZero()) {
+            throw new IllegalArgumentException("maxAttempts와 deadline은 0보다 커야 합니다.");
+        }
+        this.model = model;
+        this.deadlineNanos = deadline.toNanos();
+        this.maxAttempts = maxAttempts;
+        this.retryDelayNanos = retryDelay.toNanos();
+        this.hedgeEnabled = hedgeEnabled;
+        this.initialHedgeDelayNanos = initialHedgeDelay.toNanos();
+        this.minHedgeDelayNanos = minHedgeDelay.toNanos();
+    }
+
+    /**
+     * 왜: 모델별 지연 분포(히스토그램)와 헤지 효과를 `/q/metrics`에서 보고 기한/헤지 지연을 조정하기 위함.
+     */
+    HedgedLlmCaller registerMetrics(MeterRegistry meterRegistry) {
+        this.successLatency = latencyTimer(meterRegistry, "single", "success");
+        this.failureLatency = latencyTimer(meterRegistry, "single", "failure");
+        this.batchLatency = latencyTimer(meterRegistry, "batch", "completed");
+        FunctionCounter.builder("llm.request.hedges", this, HedgedLlmCaller::hedges)
+                .tag("model", model)
+                .register(meterRegistry);
+        FunctionCounter.builder("llm.request.hedge.wins", this, HedgedLlmCaller::hedgeWins)
+                .tag("model", model)
+                .register(meterRegistry);
+        FunctionCounter.builder("llm.request.attempt.timeouts", this, HedgedLlmCaller::attemptTimeouts)
+                .tag("model", model)
+                .register(meterRegistry);
+        return this;
+    }
+
+    private Timer latencyTimer(MeterRegistry meterRegistry, String call, String outcome) {
+        return Timer.builder("llm.request.latency")
+                .tag("model", model)
+                .tag("call", call)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    /**
+     * 기한 안에서 시도별 타임아웃·헤지·재시도를 적용해 호출한다.
+     *
+     * @throws IllegalStateException 기한 안에 성공한 시도가 없을 때(마지막 실패 원인 포함)
+     */
+    <T> T call(Supplier<T> request) {
+        long deadline = System.nanoTime() + deadlineNanos;
+        RuntimeException lastFailure = null;
+        for (int attempt = 0; attempt < maxAttempts; attempt++) {
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                break;
+            }
+            try {
+                // 먼저 실패한 시도가 남긴 시간은 뒤 시도가 나눠 쓴다.
+                return attempt(request, remaining / (maxAttempts - attempt));
+            } catch (RuntimeException e) {
+                lastFailure = e;
+                log.debugf("LLM 호출 시도 실패: model=%s, attempt=%d, reason=%s", model, attempt + 1, e.getMessage());
+            }
+            long pause = Math.min(retryDelayNanos, deadline - System.nanoTime());
+            if (attempt + 1 < maxAttempts && pause > 0) {
+                sleep(pause);
+            }
+        }
+        throw new IllegalStateException("LLM 호출이 기한(" + TimeUnit.NANOSECONDS.toMillis(deadlineNanos) + "ms) 안에 성공하지 못했습니다: model=" + model, lastFailure);
+    }
+
+    /**
+     * 배치 호출처럼 실패 시 다른 경로로 대체할 수 있는 요청은 기한만 두고 한 번만 보낸다.
+     * 배치 지연은 건별 지연 분포와 다르므로 헤지 기준에 넣지 않는다.
+     */
+    <T> T callOnce(Supplier<T> request) {
+        long startedAt = System.nanoTime();
+        Future<T> future = executor.submit(request::get);
+        try {
+            return future.get(deadlineNanos, TimeUnit.NANOSECONDS);
+        } catch (java.util.concurrent.TimeoutException e) {
+            throw new IllegalStateException("LLM 배치 호출이 기한 안에 끝나지 않았습니다: model=" + model, e);
+        } catch (ExecutionException e) {
+            throw unwrap(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("LLM 배치 호출 대기 중 인터럽트되었습니다.", e);
+        } finally {
+            future.cancel(true);
+            record(batchLatency, System.nanoTime() - startedAt);
+        }
+    }
+
+    private <T> T attempt(Supplier<T> request, long timeoutNanos) {
+        long startedAt = System.nanoTime();
+        long attemptDeadline = startedAt + timeoutNanos;
+        long hedgeAt = hedgeEnabled ? startedAt + hedgeDelayNanos() : Long.MAX_VALUE;
+        CompletionService<T> completion = new ExecutorCompletionService<>(executor);
+        List<Future<T>> launched = new ArrayList<>(2);
+        launched.add(completion.submit(() -> timed(request)));
+        int running = 1;
+        RuntimeException failure = null;
+        try {
+            while (running > 0) {
+                long now = System.nanoTime();
+                if (now >= attemptDeadline) {
+                    attemptTimeouts.increment();
+                    throw new IllegalStateException("LLM 호출 시도가 " + TimeUnit.NANOSECONDS.toMillis(timeoutNanos) + "ms 안에 끝나지 않았습니다.");
+                }
+                boolean canHedge = launched.size() == 1;
+                Future<T> done = completion.poll(Math.min(attemptDeadline, canHedge ? hedgeAt : attemptDeadline) - now, TimeUnit.NANOSECONDS);
+                if (done == null) {
+                    if (canHedge && System.nanoTime() >= hedgeAt) {
+                        hedges.increment();
+                        launched.add(completion.submit(() -> timed(request)));
+                        running++;
+                    }
+                    continue;
+                }
+                running--;
+                try {
+                    T result = done.get();
+                    if (done != launched.getFirst()) {
+                        hedgeWins.increment();
+                    }
+                    return result;
+                } catch (ExecutionException e) {
+                    // 다른 요청이 아직 진행 중이면 그 응답을 기다린다.
+                    failure = unwrap(e);
+                }
+            }
+            throw failure;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("LLM 응답 대기 중 인터럽트되었습니다.", e);
+        } finally {
+            // 진 쪽 요청은 응답을 기다리지 않도록 끊는다.
+            launched.forEach(future -> future.cancel(true));
+        }
+    }
+
+    private <T> T timed(Supplier<T> request) {
+        long startedAt = System.nanoTime();
+        try {
+            T result = request.get();
+            long elapsed = System.nanoTime() - startedAt;
+            observe(elapsed);
+            record(successLatency, elapsed);
+            return result;
+        } catch (RuntimeException e) {
+            record(failureLatency, System.nanoTime() - startedAt);
+            throw e;
+        }
+    }
+
+    /** 최근 성공 지연의 p95. 표본이 적으면 초기값, 하한은 `min-hedge-delay`. */
+    long hedgeDelayNanos() {
+        long[] snapshot;
+        synchronized (latencies) {
+            if (recorded < MIN_SAMPLES) {
+                return Math.max(initialHedgeDelayNanos, minHedgeDelayNanos);
+            }
+            snapshot = Arrays.copyOf(latencies, Math.min(recorded, WINDOW));
+        }
+        Arrays.sort(snapshot);
+        int index = (int) Math.ceil(HEDGE_PERCENTILE * snapshot.length) - 1;
+        return Math.max(snapshot[index], minHedgeDelayNanos);
+    }
+
+    private void observe(long elapsedNanos) {
+        synchronized (latencies) {
+            latencies[recorded % WINDOW] = elapsedNanos;
+            recorded = recorded + 1 == Integer.MAX_VALUE ? WINDOW : recorded + 1;
+        }
+    }
+
+    private static void record(Timer timer, long elapsedNanos) {
+        if (timer != null) {
+            timer.record(elapsedNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private static RuntimeException unwrap(ExecutionException e) {
+        return e.getCause() instanceof RuntimeException runtime
+                ? runtime
+                : new IllegalStateException("LLM 호출 실패", e.getCause());
+    }
+
+    private static void sleep(long nanos) {
+        try {
+            TimeUnit.NANOSECONDS.sleep(nanos);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("LLM 재시도 대기 중 인터럽트되었습니다.", e);
+        }
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    long hedges() {
+        return hedges.sum();
+    }
+
+    long hedgeWins() {
+        return hedgeWins.sum();
+    }
+
+    long attemptTimeouts() {
+        return attemptTimeouts.sum();
+    }
+}
@@ -0,0 +1,71 @@
+package com.my.brain.adapter.out.llm;
+
+import com.my.brain.domain.model.BrainRequest;
+import com.my.brain.domain.model.CalendarEvent;
+import com.my.brain.domain.model.LlmIntentResult;
+import com.my.brain.domain.model.TimeRange;
+import com.my.brain.domain.model.TodoItem;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.regex.Pattern;
+
+/**
+ * 왜: "내일 오후 2시" 같은 결과를 그대로 재생하면 다른 시각의 요청에 틀린 시간을 돌려주므로,
+ * 시간 필드를 원래 요청 시각 기준의 상대값으로 보고 새 요청 시각에 다시 고정하기 위함.
+ * 기본은 달력 기준(며칠 뒤의 몇 시)이고, "30분 후"처럼 경과 시간 표현이면 경과 기준(요청 시각 + 간격)으로 옮긴다.
+ *
+ * @param anchor  결과를 만든 요청의 시각
+ * @param elapsed 경과 시간 표현이면 true
+ */
+record IntentTemplate(LlmIntentResult result, OffsetDateTime anchor, boolean elapsed) {
+
+    private static final Pattern ELAPSED_EXPRESSION = Pattern.compile(
+            "(\\d+|한|두|세|네|반)\\s*(분|시간)\\s*(후|뒤|있다가)|지금|방금"
+                    + "|\\bin\\s+\\d+\\s*(m|min|mins|minutes?|h|hours?)\\b|\\b\\d+\\s*(minutes?|hours?)\\s+later\\b|\\bnow\\b",
+            Pattern.CASE_INSENSITIVE);
+
+    static IntentTemplate capture(BrainRequest request, LlmIntentResult result) {
+        return new IntentTemplate(result, request.timestamp(), ELAPSED_EXPRESSION.matcher(request.content()).find());
+    }
+
+    /**
+     * @return 새 요청 시각 기준으로 시간 필드를 옮긴 결과. 시간에 의존하지 않는 의도는 그대로 돌려준다.
+     */
+    LlmIntentResult anchorTo(OffsetDateTime timestamp) {
+        return switch (result.intentType()) {
+            case CALENDAR -> {
+                CalendarEvent event = result.calendarEvent();
+                if (event == null) {
+                    yield result;
+                }
+                TimeRange range = new TimeRange(shift(event.timeRange().start(), timestamp), shift(event.timeRange().end(), timestamp));
+                yield new LlmIntentResult(result.intentType(),
+                        new CalendarEvent(event.summary(), range, event.location(), event.attendees(), event.description(), event.linkedNote()),
+                        result.todoItem(), result.note());
+            }
+            case TASK -> {
+                TodoItem todo = result.todoItem();
+                if (todo == null) {
+                    yield result;
+                }
+                yield new LlmIntentResult(result.intentType(), result.calendarEvent(),
+                        new TodoItem(todo.description(), shift(todo.dueDate(), timestamp)), result.note());
+            }
+            default -> result;
+        };
+    }
+
+    private OffsetDateTime shift(OffsetDateTime time, OffsetDateTime timestamp) {
+        if (time == null) {
+            return null;
+        }
+        if (elapsed) {
+            return timestamp.plus(Duration.between(anchor, time));
+        }
+        OffsetDateTime local = time.withOffsetSameInstant(anchor.getOffset());
+        long days = ChronoUnit.DAYS.between(anchor.toLocalDate(), local.toLocalDate());
+        return OffsetDateTime.of(timestamp.toLocalDate().plusDays(days), local.toLocalTime(), timestamp.getOffset());
+    }
+}
@@ -1,5 +1,7 @@
 package com.my.brain.adapter.out.llm;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.my.brain.config.AppConfig;
 import com.my.brain.domain.exception.IntentParseException;
 import com.my.brain.domain.model.BrainRequest;
@@ -12,47 +14,86 @@ import com.my.brain.domain.port.out.LlmPort;
 import dev.langchain4j.model.openai.OpenAiChatModel;
 import dev.langchain4j.service.AiServices;
 import dev.langchain4j.service.SystemMessage;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.inject.Typed;
 import jakarta.inject.Inject;
-import org.eclipse.microprofile.faulttolerance.Retry;
 
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
  * 왜: LLM 호출을 도메인 포트 계약에 맞게 감싸 의도 분류와 구조화 결과를 안정적으로 제공하기 위함.
+ * 도메인에는 캐시를 거치도록 {@link CachingLlmAdapter}가 포트를 제공하므로 여기서는 노출하지 않는다.
+ * 적체 시 {@link BatchingLlmAdapter}가 모은 요청은 한 번의 호출로 분류한다.
+ * 재시도·시도별 타임아웃·헤지는 {@link HedgedLlmCaller}가 요청당 기한 안에서 맡는다.
  */
+@Typed(OpenAiLlmAdapter.class)
 @ApplicationScoped
-public class OpenAiLlmAdapter implements LlmPort {
+public class OpenAiLlmAdapter implements LlmPort, BatchIntentClassifier {
 
     private final IntentParser intentParser;
+    private final BatchIntentParser batchIntentParser;
+    private final ObjectMapper objectMapper;
+    private final HedgedLlmCaller caller;
 
     @Inject
-    public OpenAiLlmAdapter(AppConfig appConfig) {
+    public OpenAiLlmAdapter(AppConfig appConfig, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
         String apiKey = appConfig.openai().apiKey().orElse("");
+        AppConfig.LlmCallConfig call = appConfig.llm().call();
+        Duration deadline = Duration.ofMillis(call.deadlineMillis());
         OpenAiChatModel model = OpenAiChatModel.builder()
                 .apiKey(apiKey)
                 .modelName(appConfig.openai().model())
                 .temperature(appConfig.openai().temperature())
+                // 취소된 요청도 소켓이 기한을 넘겨 남지 않게 하고, 재시도는 caller 한 곳에서만 한다.
+                .timeout(deadline)
+                .maxRetries(1)
                 .build();
         this.intentParser = AiServices.builder(IntentParser.class)
                 .chatLanguageModel(model)
                 .build();
+        this.batchIntentParser = AiServices.builder(BatchIntentParser.class)
+                .chatLanguageModel(model)
+                .build();
+        this.objectMapper = objectMapper;
+        this.caller = new HedgedLlmCaller(
+                appConfig.openai().model(),
+                deadline,
+                call.maxAttempts(),
+                Duration.ofMillis(call.retryDelayMillis()),
+                call.hedgeEnabled(),
+                Duration.ofMillis(call.hedgeInitialDelayMillis()),
+                Duration.ofMillis(call.hedgeMinDelayMillis())
+        ).registerMetrics(meterRegistry);
+    }
+
+    @PreDestroy
+    void stop() {
+        caller.close();
     }
 
     @Override
-    @Retry(maxRetries = 3, delay = 1000)
     public LlmIntentResult parseIntent(BrainRequest request) {
-        IntentResponse body = intentParser.parse(
-                request.content(),
-                Map.of(
-                        "eventId", request.eventId(),
-                        "userId", request.userId(),
-                        "timestamp", request.timestamp().toString()
-                )
-        );
-        if (body == null || body.intent() == null) {
-            throw new IntentParseException("LLM Intent 응답이 비어 있습니다.");
-        }
+        IntentResponse body = caller.call(() -> {
+            IntentResponse response = intentParser.parse(
+                    request.content(),
+                    Map.of(
+                            "eventId", request.eventId(),
+                            "userId", request.userId(),
+                            "timestamp", request.timestamp().toString()
+                    )
+            );
+            // 빈 응답도 실패한 시도로 보고 기한 안에서 다시 요청한다.
+            if (response == null || response.intent() == null) {
+                throw new IntentParseException("LLM Intent 응답이 비어 있습니다.");
+            }
+            return response;
+        });
         IntentType intentType = IntentType.valueOf(body.intent());
         return new LlmIntentResult(
                 intentType,
@@ -62,10 +103,67 @@ public class OpenAiLlmAdapter implements LlmPort {
         );
     }
 
+    /**
+     * 배치 호출은 기한만 두고 재시도·헤지하지 않는다. 실패하거나 빠진 요청은 {@link BatchingLlmAdapter}가 건별 호출(재시도 포함)로 다시 처리한다.
+     */
+    @Override
+    public Map<String, LlmIntentResult> parseIntents(List<BrainRequest> requests) {
+        String messages = messagesJson(requests);
+        BatchIntentResponse body = caller.callOnce(() -> batchIntentParser.parse(messages));
+        if (body == null || body.intents() == null) {
+            throw new IntentParseException("LLM 배치 Intent 응답이 비어 있습니다.");
+        }
+        Map<String, LlmIntentResult> results = new HashMap<>();
+        for (BatchIntentItem item : body.intents()) {
+            if (item == null || item.eventId() == null || item.intent() == null) {
+                continue;
+            }
+            try {
+                results.put(item.eventId(), new LlmIntentResult(
+                        IntentType.valueOf(item.intent()),
+                        item.calendarEvent(),
+                        item.todoItem(),
+                        item.note()
+                ));
+            } catch (IllegalArgumentException e) {
+                // 알 수 없는 intent는 그 요청만 건별 호출로 넘긴다.
+            }
+        }
+        return results;
+    }
+
+    private String messagesJson(List<BrainRequest> requests) {
+        List<Map<String, String>> messages = requests.stream()
+                .map(request -> {
+                    Map<String, String> message = new LinkedHashMap<>();
+                    message.put("eventId", request.eventId());
+                    message.put("timestamp", request.timestamp().toString());
+                    message.put("content", request.content());
+                    return message;
+                })
+                .toList();
+        try {
+            return objectMapper.writeValueAsString(messages);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("배치 Intent 요청 직렬화 실패", e);
+        }
+    }
+
     interface IntentParser {
         @SystemMessage("현재 시각: {{timestamp}}. 사용자의 명령을 CALENDAR, TASK, NOTE, SYNC, UNKNOWN 중 하나의 intent로 분류하고 필요한 필드를 JSON으로 반환하세요.")
         IntentResponse parse(String userMessage, Map<String, Object> context);
     }
 
+    interface BatchIntentParser {
+        @SystemMessage("입력은 eventId, timestamp(그 메시지의 현재 시각), content로 이루어진 사용자 메시지 JSON 배열입니다. "
+                + "각 메시지를 CALENDAR, TASK, NOTE, SYNC, UNKNOWN 중 하나의 intent로 분류하고, "
+                + "입력의 eventId마다 intents 배열에 {eventId, intent, calendarEvent, todoItem, note} 객체를 하나씩 JSON으로 반환하세요.")
+        BatchIntentResponse parse(String messages);
+    }
+
     public record IntentResponse(String intent, CalendarEvent calendarEvent, TodoItem todoItem, Note note) {}
+
+    public record BatchIntentResponse(List<BatchIntentItem> intents) {}
+
+    public record BatchIntentItem(String eventId, String intent, CalendarEvent calendarEvent, TodoItem todoItem, Note note) {}
 }
@@ -0,0 +1,179 @@
+package com.my.brain.adapter.out.rabbitmq;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.eclipse.microprofile.reactive.messaging.Emitter;
+import org.eclipse.microprofile.reactive.messaging.Message;
+import org.eclipse.microprofile.reactive.messaging.Metadata;
+import org.jboss.logging.Logger;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * 왜: `Emitter.send`만 호출하고 넘어가면 브로커 확인도, 버퍼가 넘쳤다는 사실도 알 수 없기 때문.
+ * 메시지마다 ack/nack 콜백을 달아 확인(`publish-confirms=true`면 브로커 publisher confirm) 시점에 완료되는 핸들을 돌려주고,
+ * 확인을 기다리는 메시지 수를 `max-unconfirmed`로 묶어 브로커가 밀리면 발행자가 기다리게 한다.
+ * 확인은 기다리지 않고 다음 발행을 이어서 보내므로(파이프라이닝) 처리량은 왕복 지연이 아니라 상한에 비례한다.
+ * 확인에 실패한 발행은 `max-retries`번까지 간격을 두 배씩 늘려 같은 페이로드로 다시 보낸다. 호출자가 발행 전의 작업을
+ * 되풀이하지 않고도 일시적인 nack·타임아웃을 넘기게 하려는 것으로, 확인만 늦게 유실된 경우 소비자는 같은 메시지를 두 번 받을 수 있다.
+ */
+public final class ConfirmedPublisher<T> {
+
+    private static final Logger log = Logger.getLogger(ConfirmedPublisher.class);
+
+    private final Emitter<T> emitter;
+    private final String channel;
+    private final int maxUnconfirmed;
+    private final Duration confirmTimeout;
+    private final int maxRetries;
+    private final Duration retryBackoff;
+    private final Semaphore permits;
+    // 재시도는 자리를 기다리며 막힐 수 있으므로 커넥터 스레드가 아닌 가상 스레드에서 보낸다.
+    private final Executor retrySender = task -> Thread.ofVirtual().name("publish-retry").start(task);
+    private final AtomicLong overflowed = new AtomicLong();
+    private final AtomicLong retried = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private volatile Timer confirmLatency;
+
+    public ConfirmedPublisher(Emitter<T> emitter, String channel, int maxUnconfirmed, Duration confirmTimeout) {
+        this(emitter, channel, maxUnconfirmed, confirmTimeout, 0, Duration.ZERO);
+    }
+
+    public ConfirmedPublisher(Emitter<T> emitter,
+                              String channel,
+                              int maxUnconfirmed,
+                              Duration confirmTimeout,
+                              int maxRetries,
+                              Duration retryBackoff) {
+        if (maxUnconfirmed <= 0) {
+            throw new IllegalArgumentException("maxUnconfirmed는 1 이상이어야 합니다.");
+        }
+        if (maxRetries < 0) {
+            throw new IllegalArgumentException("maxRetries는 0 이상이어야 합니다.");
+        }
+        this.emitter = emitter;
+        this.channel = channel;
+        this.maxUnconfirmed = maxUnconfirmed;
+        this.confirmTimeout = confirmTimeout;
+        this.maxRetries = maxRetries;
+        this.retryBackoff = retryBackoff;
+        this.permits = new Semaphore(maxUnconfirmed);
+    }
+
+    /**
+     * 왜: 채널별로 확인 대기 수, 버퍼 초과, 재시도, 실패, 확인 지연을 `/q/metrics`에서 보기 위함.
+     */
+    public ConfirmedPublisher<T> registerMetrics(MeterRegistry meterRegistry) {
+        Gauge.builder("messaging.publish.unconfirmed", this, ConfirmedPublisher::unconfirmed)
+                .tag("channel", channel)
+                .register(meterRegistry);
+        FunctionCounter.builder("messaging.publish.overflowed", this, ConfirmedPublisher::overflowed)
+                .tag("channel", channel)
+                .register(meterRegistry);
+        FunctionCounter.builder("messaging.publish.retried", this, ConfirmedPublisher::retried)
+                .tag("channel", channel)
+                .register(meterRegistry);
+        FunctionCounter.builder("messaging.publish.failed", this, ConfirmedPublisher::failed)
+                .tag("channel", channel)
+                .register(meterRegistry);
+        this.confirmLatency = Timer.builder("messaging.publish.confirm.latency")
+                .tag("channel", channel)
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        return this;
+    }
+
+    /**
+     * 확인 대기 수가 상한이면 자리가 날 때까지 호출 스레드를 막는다.
+     *
+     * @return 확인되면 완료되고, 재시도까지 모두 nack·버퍼 초과·`confirm-timeout` 초과로 끝나면 실패하는 핸들
+     */
+    public CompletableFuture<Void> send(T payload, Metadata metadata) {
+        return attempt(payload, metadata, 0);
+    }
+
+    private CompletableFuture<Void> attempt(T payload, Metadata metadata, int retry) {
+        return sendOnce(payload, metadata)
+                .handle((ignored, error) -> {
+                    if (error == null) {
+                        return CompletableFuture.<Void>completedFuture(null);
+                    }
+                    Throwable failure = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+                    if (retry >= maxRetries) {
+                        failed.incrementAndGet();
+                        log.warnf("발행 확인 실패: channel=%s, attempts=%d, reason=%s", channel, retry + 1, failure.getMessage());
+                        return CompletableFuture.<Void>failedFuture(failure);
+                    }
+                    retried.incrementAndGet();
+                    long delayMillis = retryBackoff.toMillis() << retry;
+                    log.infof("발행 확인 실패, %dms 뒤 다시 보냅니다: channel=%s, retry=%d, reason=%s",
+                            delayMillis, channel, retry + 1, failure.getMessage());
+                    return CompletableFuture.supplyAsync(() -> attempt(payload, metadata, retry + 1),
+                                    CompletableFuture.delayedExecutor(delayMillis, TimeUnit.MILLISECONDS, retrySender))
+                            .thenCompose(Function.identity());
+                })
+                .thenCompose(Function.identity());
+    }
+
+    private CompletableFuture<Void> sendOnce(T payload, Metadata metadata) {
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return CompletableFuture.failedFuture(new IllegalStateException("발행 확인 대기 중 인터럽트되었습니다: " + channel, e));
+        }
+        long startedAt = System.nanoTime();
+        CompletableFuture<Void> confirmed = new CompletableFuture<>();
+        // 타임아웃 뒤 늦게 온 ack가 자리를 두 번 돌려주지 않도록 핸들이 처음 완료될 때 한 번만 반납한다.
+        CompletableFuture<Void> result = confirmed.orTimeout(confirmTimeout.toMillis(), TimeUnit.MILLISECONDS)
+                .whenComplete((ignored, failure) -> {
+                    permits.release();
+                    Timer timer = confirmLatency;
+                    if (failure == null && timer != null) {
+                        timer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+                    }
+                });
+        Message<T> message = Message.of(payload, metadata == null ? Metadata.empty() : metadata,
+                () -> {
+                    confirmed.complete(null);
+                    return CompletableFuture.completedFuture(null);
+                },
+                failure -> {
+                    confirmed.completeExceptionally(failure);
+                    return CompletableFuture.completedFuture(null);
+                });
+        try {
+            emitter.send(message);
+        } catch (RuntimeException e) {
+            // 다운스트림 요청이 없어 emitter 버퍼가 찬 경우 등은 조용히 버려지지 않게 실패로 돌려준다.
+            overflowed.incrementAndGet();
+            confirmed.completeExceptionally(e);
+        }
+        return result;
+    }
+
+    int unconfirmed() {
+        return maxUnconfirmed - permits.availablePermits();
+    }
+
+    long overflowed() {
+        return overflowed.get();
+    }
+
+    long retried() {
+        return retried.get();
+    }
+
+    long failed() {
+        return failed.get();
+    }
+}
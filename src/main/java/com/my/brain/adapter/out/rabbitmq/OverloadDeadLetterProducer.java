@@ -0,0 +1,54 @@
+package com.my.brain.adapter.out.rabbitmq;
+
+import com.my.brain.adapter.in.deadletter.DeadLetterRedriver;
+import io.smallrye.reactive.messaging.rabbitmq.OutgoingRabbitMQMetadata;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.reactive.messaging.Channel;
+import org.eclipse.microprofile.reactive.messaging.Emitter;
+import org.eclipse.microprofile.reactive.messaging.Message;
+import org.eclipse.microprofile.reactive.messaging.Metadata;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * 왜: 과부하로 거절한 요청을 브로커 reject와 구분되는 사유로 DLQ에 넣어, 적체 원인 분석과 재처리 필터링을 가능하게 하기 위함.
+ * 브로커가 붙이는 `x-first-death-*` 헤더와 같은 이름을 직접 채워 DLQ 소비자가 동일하게 읽도록 한다.
+ * 브로커의 dead-letter와 달리 원래 헤더가 따라오지 않으므로 재발행 횟수는 직접 옮긴다.
+ */
+@ApplicationScoped
+public class OverloadDeadLetterProducer {
+
+    public static final String DEATH_REASON = "overloaded";
+
+    private final Emitter<String> emitter;
+
+    @Inject
+    public OverloadDeadLetterProducer(@Channel("brain-requests-overloaded") Emitter<String> emitter) {
+        this.emitter = emitter;
+    }
+
+    /**
+     * @return 브로커가 발행을 확인하면 완료되는 핸들
+     */
+    public CompletionStage<Void> publish(String payload, String correlationId, int redriveCount) {
+        CompletableFuture<Void> published = new CompletableFuture<>();
+        OutgoingRabbitMQMetadata metadata = OutgoingRabbitMQMetadata.builder()
+                .withHeader("x-first-death-reason", DEATH_REASON)
+                .withHeader("x-first-death-queue", "brain.inbox.q")
+                .withHeader(DeadLetterRedriver.REDRIVE_COUNT_HEADER, redriveCount)
+                .withCorrelationId(correlationId)
+                .build();
+        emitter.send(Message.of(payload, Metadata.of(metadata),
+                () -> {
+                    published.complete(null);
+                    return CompletableFuture.completedFuture(null);
+                },
+                failure -> {
+                    published.completeExceptionally(failure);
+                    return CompletableFuture.completedFuture(null);
+                }));
+        return published;
+    }
+}
@@ -1,14 +1,21 @@
 package com.my.brain.adapter.out.rabbitmq;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.my.brain.config.AppConfig;
 import com.my.brain.domain.model.TelegramIncomingMessage;
 import com.my.brain.domain.port.out.TelegramIncomingPublishPort;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import org.eclipse.microprofile.reactive.messaging.Channel;
 import org.eclipse.microprofile.reactive.messaging.Emitter;
 import org.jboss.logging.Logger;
 
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
+
 /**
  * 왜: 텔레그램 수신 메시지를 RabbitMQ로 전달하는 드리븐 어댑터를 분리해 전달 경로를 명확히 하기 위함.
  */
@@ -17,24 +24,50 @@ public class TelegramIncomingProducer implements TelegramIncomingPublishPort {
 
     private static final Logger log = Logger.getLogger(TelegramIncomingProducer.class);
 
-    private final Emitter<String> emitter;
+    static final String CHANNEL = "telegram-incoming";
+
+    private final ConfirmedPublisher<String> publisher;
     private final ObjectMapper objectMapper;
+    private final Timer ingestLatency;
 
     @Inject
-    public TelegramIncomingProducer(@Channel("telegram-incoming") Emitter<String> emitter,
-                                    ObjectMapper objectMapper) {
-        this.emitter = emitter;
+    public TelegramIncomingProducer(@Channel(CHANNEL) Emitter<String> emitter,
+                                    ObjectMapper objectMapper,
+                                    AppConfig appConfig,
+                                    MeterRegistry meterRegistry) {
+        this.publisher = new ConfirmedPublisher<>(emitter, CHANNEL, appConfig.publish().maxUnconfirmed(),
+                Duration.ofMillis(appConfig.publish().confirmTimeoutMillis()), appConfig.publish().maxRetries(),
+                Duration.ofMillis(appConfig.publish().retryBackoffMillis())).registerMetrics(meterRegistry);
         this.objectMapper = objectMapper;
+        // 사용자가 보낸 시각부터 발행까지의 지연으로 폴링/웹훅 수신 경로의 체감 지연을 측정한다.
+        this.ingestLatency = Timer.builder("telegram.ingest.latency")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
     }
 
     @Override
     public void publish(TelegramIncomingMessage message) {
+        publishAsync(message);
+    }
+
+    /**
+     * 왜: 커넥터가 메시지를 확인(prod는 브로커 publish confirm)한 시점에 완료되는 핸들을 돌려줘
+     * 폴러가 확인된 업데이트까지만 오프셋을 저장하게 한다.
+     */
+    @Override
+    public CompletableFuture<Void> publishAsync(TelegramIncomingMessage message) {
+        String payload;
         try {
-            String payload = objectMapper.writeValueAsString(new OutgoingPayload(message));
-            emitter.send(payload);
+            payload = objectMapper.writeValueAsString(new OutgoingPayload(message));
         } catch (Exception e) {
             log.warnf("텔레그램 수신 메시지 직렬화 실패: %s", e.getMessage());
+            return CompletableFuture.failedFuture(e);
         }
+        return publisher.send(payload, null).thenRun(() -> {
+            if (message.epochSeconds() > 0) {
+                ingestLatency.record(Duration.between(Instant.ofEpochSecond(message.epochSeconds()), Instant.now()));
+            }
+        });
     }
 
     private record OutgoingPayload(long updateId, long chatId, String from, String text, long epochSeconds) {
@@ -1,29 +1,53 @@
 package com.my.brain.adapter.out.reply;
 
+import com.my.brain.adapter.out.rabbitmq.ConfirmedPublisher;
+import com.my.brain.config.AppConfig;
 import com.my.brain.domain.model.ReplyMessage;
 import com.my.brain.domain.port.out.ReplyPort;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.smallrye.reactive.messaging.rabbitmq.OutgoingRabbitMQMetadata;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import org.eclipse.microprofile.reactive.messaging.Channel;
 import org.eclipse.microprofile.reactive.messaging.Emitter;
+import org.eclipse.microprofile.reactive.messaging.Metadata;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * 왜: 도메인 응답을 RabbitMQ로 전달하는 기술적 구현을 분리하여 포트 계약을 지키기 위함.
+ * 인코딩한 바이트를 그대로 보내 커넥터가 문자열을 다시 UTF-8로 변환하지 않게 하고,
+ * 바이트 페이로드는 기본이 octet-stream이므로 소비자가 계속 JSON으로 읽도록 content-type을 명시한다.
+ * 발행은 {@link ConfirmedPublisher}를 거쳐 확인 핸들을 돌려주므로, 요청 소비자는 응답이 확인된 뒤에만 ack한다.
  */
 @ApplicationScoped
 public class RabbitReplyProducer implements ReplyPort {
 
-    private final Emitter<String> replyEmitter;
+    static final String CHANNEL = "brain-replies";
+    static final String CONTENT_TYPE = "application/json";
+    private static final Metadata JSON_METADATA = Metadata.of(OutgoingRabbitMQMetadata.builder()
+            .withContentType(CONTENT_TYPE)
+            .build());
+
+    private final ConfirmedPublisher<byte[]> publisher;
+    private final ReplyMessageEncoder encoder = new ReplyMessageEncoder();
 
     @Inject
-    public RabbitReplyProducer(@Channel("brain-replies") Emitter<String> replyEmitter) {
-        this.replyEmitter = replyEmitter;
+    public RabbitReplyProducer(@Channel(CHANNEL) Emitter<byte[]> replyEmitter,
+                               AppConfig appConfig,
+                               MeterRegistry meterRegistry) {
+        this(new ConfirmedPublisher<>(replyEmitter, CHANNEL, appConfig.publish().maxUnconfirmed(),
+                Duration.ofMillis(appConfig.publish().confirmTimeoutMillis()), appConfig.publish().maxRetries(),
+                Duration.ofMillis(appConfig.publish().retryBackoffMillis())).registerMetrics(meterRegistry));
+    }
+
+    RabbitReplyProducer(ConfirmedPublisher<byte[]> publisher) {
+        this.publisher = publisher;
     }
 
     @Override
-    public void send(ReplyMessage replyMessage) {
-        // 단순 직렬화 (추후 ObjectMapper 주입 가능)
-        String payload = "{\"replyToUserId\":\"" + replyMessage.replyToUserId() + "\",\"content\":\"" + replyMessage.content() + "\"}";
-        replyEmitter.send(payload);
+    public CompletableFuture<Void> send(ReplyMessage replyMessage) {
+        return publisher.send(encoder.encode(replyMessage), JSON_METADATA);
     }
 }
@@ -0,0 +1,137 @@
+package com.my.brain.adapter.out.reply;
+
+import com.my.brain.domain.model.ReplyMessage;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 왜: 문자열 이어 붙이기는 응답마다 중간 문자열을 여러 개 만들고, 인증 응답처럼 따옴표나 줄바꿈이 든 content를
+ * 깨진 JSON으로 내보내기 때문. 두 필드뿐인 고정 스키마이므로 범용 직렬화기 대신 RFC 8259 규칙대로 이스케이프한
+ * UTF-8 바이트를 곧바로 쓴다. 먼저 인코딩 길이를 세어 딱 맞는 배열 하나만 할당하므로 중간 버퍼나 복사가 없다.
+ * null 필드는 JSON null로 쓴다.
+ */
+final class ReplyMessageEncoder {
+
+    private static final byte[] USER_PREFIX = "{\"replyToUserId\":".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] CONTENT_PREFIX = ",\"content\":".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] SUFFIX = "}".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] NULL = "null".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] HEX = "0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+
+    /**
+     * @return 전송에 그대로 넘길 수 있는, 호출자 소유의 JSON 바이트
+     */
+    byte[] encode(ReplyMessage replyMessage) {
+        String replyToUserId = replyMessage.replyToUserId();
+        String content = replyMessage.content();
+        byte[] payload = new byte[USER_PREFIX.length + CONTENT_PREFIX.length + SUFFIX.length
+                + stringLength(replyToUserId) + stringLength(content)];
+        int position = append(payload, 0, USER_PREFIX);
+        position = appendString(payload, position, replyToUserId);
+        position = append(payload, position, CONTENT_PREFIX);
+        position = appendString(payload, position, content);
+        append(payload, position, SUFFIX);
+        return payload;
+    }
+
+    private static int append(byte[] buffer, int position, byte[] bytes) {
+        System.arraycopy(bytes, 0, buffer, position, bytes.length);
+        return position + bytes.length;
+    }
+
+    /** {@link #appendString}가 쓸 바이트 수. 두 메서드의 분기는 같은 규칙을 따라야 한다. */
+    private static int stringLength(String value) {
+        if (value == null) {
+            return NULL.length;
+        }
+        int bytes = 2;
+        int length = value.length();
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                if (c >= 0x20 && c != '"' && c != '\\') {
+                    bytes += 1;
+                } else {
+                    bytes += switch (c) {
+                        case '"', '\\', '\n', '\r', '\t', '\b', '\f' -> 2;
+                        default -> 6;
+                    };
+                }
+            } else if (c < 0x800) {
+                bytes += 2;
+            } else if (Character.isSurrogate(c)) {
+                if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(value.charAt(i + 1))) {
+                    i++;
+                    bytes += 4;
+                } else {
+                    bytes += 1;
+                }
+            } else {
+                bytes += 3;
+            }
+        }
+        return bytes;
+    }
+
+    private static int appendString(byte[] buffer, int position, String value) {
+        if (value == null) {
+            return append(buffer, position, NULL);
+        }
+        buffer[position++] = '"';
+        position = appendEscaped(buffer, position, value);
+        buffer[position++] = '"';
+        return position;
+    }
+
+    private static int appendEscaped(byte[] buffer, int position, String value) {
+        int length = value.length();
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                if (c >= 0x20 && c != '"' && c != '\\') {
+                    buffer[position++] = (byte) c;
+                    continue;
+                }
+                buffer[position++] = '\\';
+                char escape = switch (c) {
+                    case '"' -> '"';
+                    case '\\' -> '\\';
+                    case '\n' -> 'n';
+                    case '\r' -> 'r';
+                    case '\t' -> 't';
+                    case '\b' -> 'b';
+                    case '\f' -> 'f';
+                    default -> 0;
+                };
+                if (escape != 0) {
+                    buffer[position++] = (byte) escape;
+                } else {
+                    buffer[position++] = 'u';
+                    buffer[position++] = '0';
+                    buffer[position++] = '0';
+                    buffer[position++] = HEX[c >> 4];
+                    buffer[position++] = HEX[c & 0xF];
+                }
+            } else if (c < 0x800) {
+                buffer[position++] = (byte) (0xC0 | (c >> 6));
+                buffer[position++] = (byte) (0x80 | (c & 0x3F));
+            } else if (Character.isSurrogate(c)) {
+                if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(value.charAt(i + 1))) {
+                    int codePoint = Character.toCodePoint(c, value.charAt(++i));
+                    buffer[position++] = (byte) (0xF0 | (codePoint >> 18));
+                    buffer[position++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+                    buffer[position++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+                    buffer[position++] = (byte) (0x80 | (codePoint & 0x3F));
+                } else {
+                    // 짝 없는 서로게이트는 String.getBytes(UTF_8)과 같이 '?'로 바꿔 잘못된 UTF-8을 내보내지 않는다.
+                    buffer[position++] = '?';
+                }
+            } else {
+                buffer[position++] = (byte) (0xE0 | (c >> 12));
+                buffer[position++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                buffer[position++] = (byte) (0x80 | (c & 0x3F));
+            }
+        }
+        return position;
+    }
+}
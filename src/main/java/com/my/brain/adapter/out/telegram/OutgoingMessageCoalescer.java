@@ -0,0 +1,59 @@
+package com.my.brain.adapter.out.telegram;
+
+import com.my.brain.domain.model.TelegramOutgoingMessage;
+
+import java.util.Objects;
+
+/**
+ * 왜: 같은 채팅에 몇 ms 간격으로 도착한 메시지를 한 번의 `sendMessage`로 묶어 HTTP 호출과 속도 제한 소모를 줄이기 위함.
+ * 파싱 모드가 다른 메시지는 서식이 섞이지 않도록 묶지 않고, 합친 본문이 한도를 넘기 전 메시지 경계에서 끊는다.
+ */
+final class OutgoingMessageCoalescer {
+
+    /** 텔레그램 `sendMessage` 본문 최대 길이. */
+    static final int MAX_TEXT_LENGTH = 4096;
+
+    private static final String SEPARATOR = "\n\n";
+
+    private OutgoingMessageCoalescer() {
+    }
+
+    /**
+     * @param pending 같은 채팅의 대기 메시지(앞에서부터 전송 순서)
+     * @return 앞에서부터 합칠 수 있는 만큼 합친 메시지와 소비한 원본 건수
+     */
+    static Merged merge(Iterable<TelegramOutgoingMessage> pending, int maxLength) {
+        TelegramOutgoingMessage first = null;
+        StringBuilder text = null;
+        int count = 0;
+        for (TelegramOutgoingMessage message : pending) {
+            if (first == null) {
+                first = message;
+                count = 1;
+                continue;
+            }
+            if (!Objects.equals(first.parseMode(), message.parseMode())) {
+                break;
+            }
+            int length = (text == null ? first.text().length() : text.length()) + SEPARATOR.length() + message.text().length();
+            if (length > maxLength) {
+                break;
+            }
+            if (text == null) {
+                text = new StringBuilder(Math.min(maxLength, length)).append(first.text());
+            }
+            text.append(SEPARATOR).append(message.text());
+            count++;
+        }
+        if (first == null) {
+            throw new IllegalArgumentException("합칠 메시지가 없습니다.");
+        }
+        if (text == null) {
+            return new Merged(first, 1);
+        }
+        return new Merged(new TelegramOutgoingMessage(first.chatId(), text.toString(), first.parseMode()), count);
+    }
+
+    record Merged(TelegramOutgoingMessage message, int count) {
+    }
+}
@@ -8,115 +8,240 @@ import com.my.brain.domain.model.TelegramIncomingMessage;
 import com.my.brain.domain.model.TelegramOutgoingMessage;
 import com.my.brain.domain.port.out.TelegramSendPort;
 import com.my.brain.domain.port.out.TelegramUpdatePort;
+import jakarta.annotation.PreDestroy;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.inject.Typed;
 import jakarta.inject.Inject;
 import org.jboss.logging.Logger;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.net.URI;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
-import java.util.Collections;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
 
 /**
  * 왜: 텔레그램 HTTP API 호출을 캡슐화해 도메인 포트 구현을 단순화하기 위함.
+ * 발신 포트는 속도 제한을 거치도록 {@link TelegramOutboundScheduler}가 제공하므로 여기서는 노출하지 않는다.
  */
+@Typed({TelegramBotClient.class, TelegramUpdatePort.class})
 @ApplicationScoped
 public class TelegramBotClient implements TelegramSendPort, TelegramUpdatePort {
 
     private static final Logger log = Logger.getLogger(TelegramBotClient.class);
 
+    /** 성공 응답 본문은 쓰지 않으므로 오류일 때만 문자열로 받아 할당을 줄인다. */
+    private static final HttpResponse.BodyHandler<String> ERROR_BODY_ONLY = info -> info.statusCode() < 400
+            ? HttpResponse.BodySubscribers.replacing(null)
+            : HttpResponse.BodySubscribers.ofString(StandardCharsets.UTF_8);
+
     private final HttpClient httpClient;
     private final ObjectMapper objectMapper;
     private final AppConfig.TelegramConfig telegramConfig;
     private final String apiBase;
+    private final URI sendMessageUri;
+    private final String getUpdatesPrefix;
+    private final TelegramUpdateParser updateParser;
 
     @Inject
     public TelegramBotClient(AppConfig appConfig, ObjectMapper objectMapper) {
         this.objectMapper = objectMapper;
         this.telegramConfig = appConfig.telegram();
+        // HTTP/2 한 연결 위에 독립 전송을 다중화하고, 응답 콜백은 가상 스레드에서 처리해 풀 스레드를 묶어 두지 않는다.
         this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
                 .connectTimeout(Duration.ofSeconds(5))
+                .executor(Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("telegram-http-", 0).factory()))
                 .build();
         this.apiBase = telegramConfig.botToken()
                 .map(token -> "https://api.telegram.org/bot" + token)
                 .orElse("");
+        this.sendMessageUri = apiBase.isBlank() ? null : URI.create(apiBase + "/sendMessage");
+        this.getUpdatesPrefix = apiBase + "/getUpdates?timeout=";
+        this.updateParser = new TelegramUpdateParser(objectMapper);
+    }
+
+    @PreDestroy
+    void stop() {
+        httpClient.shutdownNow();
     }
 
     @Override
     public void send(TelegramOutgoingMessage message) {
-        if (apiBase.isBlank()) {
+        deliver(message);
+    }
+
+    @Override
+    public CompletableFuture<Void> sendAsync(TelegramOutgoingMessage message) {
+        return deliverAsync(message).thenApply(outcome -> null);
+    }
+
+    /**
+     * 왜: 발신 스케줄러가 429의 `retry_after`를 존중해 재시도할 수 있도록 결과를 로그로 삼키지 않고 돌려준다.
+     */
+    public SendOutcome deliver(TelegramOutgoingMessage message) {
+        return deliverAsync(message).join();
+    }
+
+    /**
+     * 왜: 응답을 기다리는 동안 호출 스레드를 붙잡지 않아 스케줄러가 여러 채팅의 전송을 동시에 띄울 수 있게 한다.
+     * 반환 핸들은 예외로 끝나지 않고 항상 결과로 완료된다.
+     */
+    public CompletableFuture<SendOutcome> deliverAsync(TelegramOutgoingMessage message) {
+        if (sendMessageUri == null) {
             log.warn("텔레그램 봇 토큰이 설정되지 않아 전송을 건너뜁니다.");
+            return CompletableFuture.completedFuture(SendOutcome.FAILED);
+        }
+        HttpRequest request;
+        try {
+            byte[] body = objectMapper.writeValueAsBytes(new SendMessageRequest(message.chatId(), message.text(), message.parseMode()));
+            request = HttpRequest.newBuilder(sendMessageUri)
+                    .header("Content-Type", "application/json")
+                    .timeout(Duration.ofSeconds(10))
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(body))
+                    .build();
+        } catch (Exception e) {
+            log.warnf("텔레그램 전송 요청 직렬화 실패: %s", e.getMessage());
+            return CompletableFuture.completedFuture(SendOutcome.FAILED);
+        }
+        return httpClient.sendAsync(request, ERROR_BODY_ONLY)
+                .thenApply(response -> {
+                    if (response.statusCode() == 429) {
+                        return SendOutcome.retryAfter(retryAfter(response));
+                    }
+                    if (response.statusCode() >= 500) {
+                        log.warnf("텔레그램 서버 오류 status=%d body=%s", response.statusCode(), response.body());
+                        return SendOutcome.UNAVAILABLE;
+                    }
+                    if (response.statusCode() >= 400) {
+                        log.warnf("텔레그램 전송 실패 status=%d body=%s", response.statusCode(), response.body());
+                        return SendOutcome.FAILED;
+                    }
+                    return SendOutcome.DELIVERED;
+                })
+                .exceptionally(e -> {
+                    log.warnf("텔레그램 전송 중 예외: %s", e.getMessage());
+                    return SendOutcome.UNAVAILABLE;
+                });
+    }
+
+    private Duration retryAfter(HttpResponse<String> response) {
+        try {
+            TelegramErrorResponse error = objectMapper.readValue(response.body(), TelegramErrorResponse.class);
+            if (error.parameters() != null && error.parameters().retryAfter() != null) {
+                return Duration.ofSeconds(error.parameters().retryAfter());
+            }
+        } catch (Exception e) {
+            log.debugf("429 응답 본문 파싱 실패: %s", e.getMessage());
+        }
+        return response.headers().firstValueAsLong("Retry-After")
+                .stream()
+                .mapToObj(Duration::ofSeconds)
+                .findFirst()
+                .orElse(Duration.ofSeconds(1));
+    }
+
+    /**
+     * 왜: 웹훅 수신 모드에서 텔레그램이 업데이트를 밀어 넣을 주소와 검증용 비밀 토큰을 기동 시 등록하기 위함.
+     */
+    public void setWebhook(String url, String secretToken) {
+        if (apiBase.isBlank()) {
+            log.warn("텔레그램 봇 토큰이 설정되지 않아 웹훅 등록을 건너뜁니다.");
             return;
         }
         try {
-            String body = objectMapper.writeValueAsString(new SendMessageRequest(message.chatId(), message.text(), message.parseMode()));
-            HttpRequest request = HttpRequest.newBuilder()
-                    .uri(URI.create(apiBase + "/sendMessage"))
+            byte[] body = objectMapper.writeValueAsBytes(new SetWebhookRequest(url, secretToken));
+            HttpRequest request = HttpRequest.newBuilder(URI.create(apiBase + "/setWebhook"))
                     .header("Content-Type", "application/json")
                     .timeout(Duration.ofSeconds(10))
-                    .POST(HttpRequest.BodyPublishers.ofString(body))
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(body))
                     .build();
             HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
             if (response.statusCode() >= 400) {
-                log.warnf("텔레그램 전송 실패 status=%d body=%s", response.statusCode(), response.body());
+                throw new IllegalStateException("텔레그램 웹훅 등록 실패 status=" + response.statusCode() + " body=" + response.body());
             }
-        } catch (Exception e) {
-            log.warnf("텔레그램 전송 중 예외: %s", e.getMessage());
+        } catch (IOException e) {
+            throw new IllegalStateException("텔레그램 웹훅 등록 실패", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("텔레그램 웹훅 등록 중 인터럽트되었습니다.", e);
         }
     }
 
+    /**
+     * 왜: 폴링 모드에서 이전에 등록된 웹훅이 `getUpdates`를 막지 않도록 지운다. 대기 중인 업데이트는 폴링으로 받도록 남긴다.
+     */
     @Override
-    public List<TelegramIncomingMessage> fetchUpdates(long offset, int timeoutSeconds) {
+    public void deleteWebhook() {
         if (apiBase.isBlank()) {
-            return Collections.emptyList();
+            return;
         }
         try {
-            String url = apiBase + "/getUpdates?timeout=" + timeoutSeconds + (offset > 0 ? "&offset=" + offset : "");
-            HttpRequest request = HttpRequest.newBuilder()
-                    .uri(URI.create(url))
-                    .timeout(Duration.ofSeconds(timeoutSeconds + 5))
-                    .GET()
+            HttpRequest request = HttpRequest.newBuilder(URI.create(apiBase + "/deleteWebhook?drop_pending_updates=false"))
+                    .timeout(Duration.ofSeconds(10))
+                    .POST(HttpRequest.BodyPublishers.noBody())
                     .build();
             HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
             if (response.statusCode() >= 400) {
-                log.warnf("텔레그램 업데이트 조회 실패 status=%d body=%s", response.statusCode(), response.body());
-                return List.of();
-            }
-            TelegramApiResponse apiResponse = objectMapper.readValue(response.body(), TelegramApiResponse.class);
-            if (!apiResponse.ok()) {
-                log.warn("텔레그램 업데이트 응답이 ok=false 입니다.");
-                return List.of();
+                throw new IllegalStateException("텔레그램 웹훅 해제 실패 status=" + response.statusCode() + " body=" + response.body());
             }
-            return Optional.ofNullable(apiResponse.result())
-                    .orElse(List.of())
-                    .stream()
-                    .map(this::mapToDomain)
-                    .filter(Optional::isPresent)
-                    .map(Optional::get)
-                    .toList();
-        } catch (Exception e) {
-            log.warnf("텔레그램 업데이트 조회 중 예외: %s", e.getMessage());
-            return List.of();
+        } catch (IOException e) {
+            throw new IllegalStateException("텔레그램 웹훅 해제 실패", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("텔레그램 웹훅 해제 중 인터럽트되었습니다.", e);
         }
     }
 
-    private Optional<TelegramIncomingMessage> mapToDomain(TelegramUpdate update) {
-        if (update == null || update.message() == null || update.message().chat() == null) {
-            return Optional.empty();
+    @Override
+    public List<TelegramIncomingMessage> fetchUpdates(long offset, int timeoutSeconds) {
+        List<TelegramIncomingMessage> updates = new ArrayList<>();
+        fetchUpdates(offset, timeoutSeconds, updates::add);
+        return updates;
+    }
+
+    /**
+     * 왜: 폴러는 가상 스레드에서 돌므로 응답 스트림을 직접 읽어도 되고, 그러면 본문을 통째로 버퍼링하지 않고
+     * 파싱되는 업데이트를 곧바로 발행 쪽에 넘길 수 있다.
+     */
+    @Override
+    public long fetchUpdates(long offset, int timeoutSeconds, Consumer<TelegramIncomingMessage> sink) {
+        if (apiBase.isBlank()) {
+            return -1;
         }
-        TelegramMessage message = update.message();
-        if (message.text() == null) {
-            return Optional.empty();
+        try {
+            return streamUpdates(httpClient.send(getUpdatesRequest(offset, timeoutSeconds), HttpResponse.BodyHandlers.ofInputStream()), sink);
+        } catch (IOException e) {
+            throw new IllegalStateException("텔레그램 업데이트 조회 실패", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("텔레그램 업데이트 조회 중 인터럽트되었습니다.", e);
+        }
+    }
+
+    private HttpRequest getUpdatesRequest(long offset, int timeoutSeconds) {
+        return HttpRequest.newBuilder(URI.create(getUpdatesPrefix + timeoutSeconds + (offset > 0 ? "&offset=" + offset : "")))
+                .timeout(Duration.ofSeconds(timeoutSeconds + 5))
+                .GET()
+                .build();
+    }
+
+    private long streamUpdates(HttpResponse<InputStream> response, Consumer<TelegramIncomingMessage> sink) throws IOException {
+        try (InputStream body = response.body()) {
+            if (response.statusCode() >= 400) {
+                throw new IllegalStateException("텔레그램 업데이트 조회 실패 status=" + response.statusCode()
+                        + " body=" + new String(body.readAllBytes(), StandardCharsets.UTF_8));
+            }
+            return updateParser.streamUpdates(body, sink);
         }
-        String from = Optional.ofNullable(message.from())
-                .map(TelegramUser::username)
-                .orElse("unknown");
-        long epochSeconds = Optional.ofNullable(message.date()).orElse(0L);
-        return Optional.of(new TelegramIncomingMessage(update.updateId(), message.chat().id(), from, message.text(), epochSeconds));
     }
 
     @JsonIgnoreProperties(ignoreUnknown = true)
@@ -126,30 +251,35 @@ public class TelegramBotClient implements TelegramSendPort, TelegramUpdatePort {
     }
 
     @JsonIgnoreProperties(ignoreUnknown = true)
-    private record TelegramApiResponse(@JsonProperty("ok") boolean ok,
-                                       @JsonProperty("result") List<TelegramUpdate> result) {
+    private record SetWebhookRequest(@JsonProperty("url") String url,
+                                     @JsonProperty("secret_token") String secretToken) {
     }
 
-    @JsonIgnoreProperties(ignoreUnknown = true)
-    private record TelegramUpdate(@JsonProperty("update_id") long updateId,
-                                  @JsonProperty("message") TelegramMessage message) {
-    }
+    /**
+     * 왜: 전송 결과를 성공/재시도 대기(429)/일시 실패(네트워크 오류, 5xx)/영구 실패(4xx)로 구분해
+     * 호출자가 다시 보내도 되는 실패만 다시 예약할 수 있게 하기 위함.
+     */
+    public record SendOutcome(boolean delivered, Duration retryAfter, boolean retryable) {
 
-    @JsonIgnoreProperties(ignoreUnknown = true)
-    private record TelegramMessage(@JsonProperty("message_id") long messageId,
-                                   @JsonProperty("from") TelegramUser from,
-                                   @JsonProperty("chat") TelegramChat chat,
-                                   @JsonProperty("text") String text,
-                                   @JsonProperty("date") Long date) {
+        public static final SendOutcome DELIVERED = new SendOutcome(true, null, false);
+        public static final SendOutcome FAILED = new SendOutcome(false, null, false);
+        public static final SendOutcome UNAVAILABLE = new SendOutcome(false, null, true);
+
+        public static SendOutcome retryAfter(Duration retryAfter) {
+            return new SendOutcome(false, retryAfter, true);
+        }
+
+        public boolean throttled() {
+            return retryAfter != null;
+        }
     }
 
     @JsonIgnoreProperties(ignoreUnknown = true)
-    private record TelegramChat(@JsonProperty("id") long id,
-                                @JsonProperty("type") String type) {
+    private record TelegramErrorResponse(@JsonProperty("error_code") int errorCode,
+                                         @JsonProperty("parameters") ResponseParameters parameters) {
     }
 
     @JsonIgnoreProperties(ignoreUnknown = true)
-    private record TelegramUser(@JsonProperty("id") long id,
-                                @JsonProperty("username") String username) {
+    private record ResponseParameters(@JsonProperty("retry_after") Integer retryAfter) {
     }
 }
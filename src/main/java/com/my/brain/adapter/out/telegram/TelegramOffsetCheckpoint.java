@@ -0,0 +1,70 @@
+package com.my.brain.adapter.out.telegram;
+
+import org.jboss.logging.Logger;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * 왜: 재시작 후 0부터 폴링하면 텔레그램이 보관 중인 업데이트 전체를 다시 보내 중복 발행되므로,
+ * 발행이 확인된 다음 오프셋을 파일에 남겨 이어서 조회하기 위함.
+ * 임시 파일에 쓰고 fsync 후 원자적으로 교체해, 어느 시점에 죽어도 직전 또는 새 값 중 하나만 남는다.
+ */
+final class TelegramOffsetCheckpoint {
+
+    private static final Logger log = Logger.getLogger(TelegramOffsetCheckpoint.class);
+
+    private final Path path;
+    private final Path tempPath;
+    private long saved = -1;
+
+    TelegramOffsetCheckpoint(Path path) {
+        this.path = path;
+        this.tempPath = path.resolveSibling(path.getFileName() + ".tmp");
+    }
+
+    /**
+     * @return 저장된 오프셋, 없거나 읽을 수 없으면 0
+     */
+    long load() {
+        if (!Files.exists(path)) {
+            return 0L;
+        }
+        try {
+            saved = Long.parseLong(Files.readString(path, StandardCharsets.UTF_8).trim());
+            return saved;
+        } catch (IOException | NumberFormatException e) {
+            log.warnf("텔레그램 오프셋 체크포인트를 읽지 못해 0부터 조회합니다: %s", e.getMessage());
+            return 0L;
+        }
+    }
+
+    void save(long offset) {
+        if (offset == saved) {
+            return;
+        }
+        try {
+            Path parent = path.getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            try (FileChannel channel = FileChannel.open(tempPath, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                ByteBuffer buffer = ByteBuffer.wrap(Long.toString(offset).getBytes(StandardCharsets.UTF_8));
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                channel.force(true);
+            }
+            Files.move(tempPath, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            saved = offset;
+        } catch (IOException e) {
+            throw new IllegalStateException("텔레그램 오프셋 체크포인트 저장 실패", e);
+        }
+    }
+}
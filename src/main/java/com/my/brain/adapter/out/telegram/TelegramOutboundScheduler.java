@@ -0,0 +1,397 @@
+package com.my.brain.adapter.out.telegram;
+
+import com.my.brain.adapter.ratelimit.TokenBucket;
+import com.my.brain.config.AppConfig;
+import com.my.brain.domain.model.TelegramOutgoingMessage;
+import com.my.brain.domain.port.out.TelegramSendPort;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.jboss.logging.Logger;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * 왜: 텔레그램은 봇 전체(초당 약 30건)와 채팅별(초당 약 1건) 한도를 넘으면 429로 거절하므로,
+ * 채팅별 큐와 전역/채팅별 토큰 버킷 사이에서 라운드 로빈으로 꺼내 대량 알림도 허용 최대 속도로 모두에게 도달하게 한다.
+ * 429의 `retry_after` 동안 해당 채팅만 멈추고, 채팅마다 한 건만 전송 중이게 해 채팅 내 순서를 지킨다.
+ * 네트워크 오류나 5xx 같은 일시 실패도 `retry-backoff-millis`부터 두 배씩 늘어나는 간격으로 같은 `max-retries` 안에서 다시 보낸다.
+ * 전송은 비동기로 띄워 응답을 기다리지 않고, 동시에 떠 있는 요청 수는 `max-in-flight`로 제한한다.
+ * 병합 창이 켜져 있으면 채팅 큐 앞쪽의 같은 파싱 모드 메시지를 4096자 안에서 한 번에 보낸다.
+ * 병합한 본문이 4xx로 거절되면 묶였던 메시지를 한 건씩 다시 보내, 잘못된 메시지(깨진 마크다운 등)만 실패시킨다.
+ */
+@ApplicationScoped
+public class TelegramOutboundScheduler implements TelegramSendPort {
+
+    private static final Logger log = Logger.getLogger(TelegramOutboundScheduler.class);
+    private static final int MAX_BACKOFF_SHIFT = 5;
+
+    private final Function<TelegramOutgoingMessage, CompletableFuture<TelegramBotClient.SendOutcome>> delivery;
+    private final TokenBucket globalBucket;
+    private final double perChatPerSecond;
+    private final int perChatBurst;
+    private final long chatIdleNanos;
+    private final int maxRetries;
+    private final long retryBackoffNanos;
+    private final long coalesceWindowNanos;
+    private final Semaphore capacity;
+    private final Semaphore inFlight;
+    private final int maxQueued;
+    private final int maxInFlight;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition changed = lock.newCondition();
+    // 접근 순서로 유지해 가장 오래 조용했던 채팅부터 정리한다.
+    private final Map<Long, ChatQueue> chats = new LinkedHashMap<>(16, 0.75f, true);
+    private final Deque<ChatQueue> ready = new ArrayDeque<>();
+    private final LongAdder throttled = new LongAdder();
+    private final LongAdder retried = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    // 대기열이 가득 찼을 때 비동기 호출자 대신 자리를 기다리는 스레드. 호출자는 커넥터 이벤트 루프일 수 있다.
+    private final ExecutorService enqueueWaiters = Executors.newVirtualThreadPerTaskExecutor();
+    private Thread dispatcher;
+    private volatile boolean running;
+
+    @Inject
+    public TelegramOutboundScheduler(TelegramBotClient client, AppConfig appConfig, MeterRegistry meterRegistry) {
+        this(client::deliverAsync, appConfig.telegram().outbound());
+        Gauge.builder("telegram.outbound.queued", this, TelegramOutboundScheduler::queued).register(meterRegistry);
+        FunctionCounter.builder("telegram.outbound.throttled", this, TelegramOutboundScheduler::throttled).register(meterRegistry);
+        FunctionCounter.builder("telegram.outbound.retried", this, TelegramOutboundScheduler::retried).register(meterRegistry);
+        FunctionCounter.builder("telegram.outbound.dropped", this, TelegramOutboundScheduler::dropped).register(meterRegistry);
+        Gauge.builder("telegram.outbound.in.flight", this, TelegramOutboundScheduler::inFlight).register(meterRegistry);
+        FunctionCounter.builder("telegram.outbound.coalesced", this, TelegramOutboundScheduler::coalesced).register(meterRegistry);
+    }
+
+    TelegramOutboundScheduler(Function<TelegramOutgoingMessage, CompletableFuture<TelegramBotClient.SendOutcome>> delivery,
+                              AppConfig.TelegramOutboundConfig config) {
+        if (config.maxQueued() <= 0 || config.maxInFlight() <= 0) {
+            throw new IllegalArgumentException("maxQueued와 maxInFlight는 1 이상이어야 합니다.");
+        }
+        this.delivery = delivery;
+        this.globalBucket = new TokenBucket(config.globalPerSecond(), config.globalBurst());
+        this.perChatPerSecond = config.perChatPerSecond();
+        this.perChatBurst = config.perChatBurst();
+        this.chatIdleNanos = (long) (TimeUnit.SECONDS.toNanos(perChatBurst) / perChatPerSecond);
+        this.maxRetries = config.maxRetries();
+        this.retryBackoffNanos = TimeUnit.MILLISECONDS.toNanos(config.retryBackoffMillis());
+        this.coalesceWindowNanos = TimeUnit.MILLISECONDS.toNanos(config.coalesceWindowMillis());
+        this.maxQueued = config.maxQueued();
+        this.capacity = new Semaphore(config.maxQueued());
+        this.maxInFlight = config.maxInFlight();
+        this.inFlight = new Semaphore(config.maxInFlight());
+        // 설정 오류는 첫 메시지가 아닌 기동 시점에 드러나도록 채팅 버킷 인자도 미리 검증한다.
+        new TokenBucket(perChatPerSecond, perChatBurst);
+    }
+
+    @PostConstruct
+    void start() {
+        running = true;
+        dispatcher = Thread.ofVirtual().name("telegram-outbound-dispatcher").start(this::dispatch);
+    }
+
+    @PreDestroy
+    void stop() {
+        running = false;
+        if (dispatcher != null) {
+            dispatcher.interrupt();
+        }
+        enqueueWaiters.shutdownNow();
+        List<Pending> abandoned = new ArrayList<>();
+        lock.lock();
+        try {
+            for (ChatQueue chat : chats.values()) {
+                abandoned.addAll(chat.messages);
+                chat.messages.clear();
+            }
+        } finally {
+            lock.unlock();
+        }
+        if (!abandoned.isEmpty()) {
+            log.warnf("종료 시 전송하지 못한 텔레그램 메시지 %d건을 폐기합니다.", abandoned.size());
+            IllegalStateException cause = new IllegalStateException("텔레그램 발신 스케줄러가 종료되었습니다.");
+            abandoned.forEach(pending -> pending.result().completeExceptionally(cause));
+        }
+    }
+
+    /**
+     * 왜: 호출자는 채팅 큐에 넣기만 하고 돌아가 다른 채팅의 메시지를 계속 공급하게 한다.
+     * 대기 건수가 상한에 닿으면 자리가 날 때까지 블로킹해 메모리 대신 RabbitMQ에 적체되게 한다.
+     */
+    @Override
+    public void send(TelegramOutgoingMessage message) {
+        enqueue(message);
+    }
+
+    /**
+     * 왜: 중계 소비자가 실제 전송이 끝난 뒤에 ack 하도록, 큐에 넣은 메시지의 전송 결과를 돌려준다.
+     * 호출 스레드는 막지 않는다. 대기열이 가득 차면 가상 스레드가 자리를 기다렸다가 넣으므로,
+     * 그동안 ack되지 않은 메시지가 prefetch를 채워 적체가 RabbitMQ에 남는다.
+     *
+     * @return 전송되면 완료, 실패/재시도 한도 초과로 폐기되면 예외로 완료되는 핸들
+     */
+    @Override
+    public CompletableFuture<Void> sendAsync(TelegramOutgoingMessage message) {
+        if (capacity.tryAcquire()) {
+            return add(message);
+        }
+        try {
+            return CompletableFuture.supplyAsync(() -> enqueue(message), enqueueWaiters).thenCompose(Function.identity());
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private CompletableFuture<Void> enqueue(TelegramOutgoingMessage message) {
+        try {
+            capacity.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("텔레그램 발신 대기열 진입 중 인터럽트되었습니다.", e);
+        }
+        return add(message);
+    }
+
+    /**
+     * 대기열 자리(`capacity`)를 이미 얻은 메시지를 채팅 큐에 넣는다.
+     */
+    private CompletableFuture<Void> add(TelegramOutgoingMessage message) {
+        CompletableFuture<Void> result = new CompletableFuture<>();
+        lock.lock();
+        try {
+            evictIdle(System.nanoTime());
+            ChatQueue chat = chats.computeIfAbsent(message.chatId(), id -> new ChatQueue(new TokenBucket(perChatPerSecond, perChatBurst)));
+            chat.messages.add(new Pending(message, result));
+            if (!chat.scheduled) {
+                chat.scheduled = true;
+                if (coalesceWindowNanos > 0) {
+                    // 조용하던 채팅의 첫 메시지는 창만큼 묶어 두어 바로 뒤따르는 메시지와 한 번에 보낸다.
+                    long windowEnd = System.nanoTime() + coalesceWindowNanos;
+                    if (windowEnd - chat.blockedUntil > 0) {
+                        chat.blockedUntil = windowEnd;
+                    }
+                }
+                ready.add(chat);
+            }
+            changed.signal();
+        } finally {
+            lock.unlock();
+        }
+        return result;
+    }
+
+    public int queued() {
+        return maxQueued - capacity.availablePermits();
+    }
+
+    public int inFlight() {
+        return maxInFlight - inFlight.availablePermits();
+    }
+
+    public long throttled() {
+        return throttled.sum();
+    }
+
+    public long retried() {
+        return retried.sum();
+    }
+
+    public long dropped() {
+        return dropped.sum();
+    }
+
+    public long coalesced() {
+        return coalesced.sum();
+    }
+
+    private void dispatch() {
+        while (running) {
+            try {
+                ChatQueue chat = nextReady();
+                globalBucket.acquire();
+                inFlight.acquire();
+                deliver(chat);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                log.warnf("텔레그램 발신 스케줄링 중 예외: %s", e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * 왜: 준비된 채팅을 한 바퀴 돌며 채팅 버킷과 `retry_after`를 통과한 첫 채팅을 고르고,
+     * 아무도 통과하지 못하면 가장 먼저 풀리는 시각까지만 잔다.
+     */
+    private ChatQueue nextReady() throws InterruptedException {
+        lock.lock();
+        try {
+            while (true) {
+                long now = System.nanoTime();
+                long minWait = Long.MAX_VALUE;
+                for (int i = ready.size(); i > 0; i--) {
+                    ChatQueue chat = ready.poll();
+                    long wait = Math.max(chat.blockedUntil - now, 0);
+                    if (wait == 0 && chat.bucket.tryAcquire()) {
+                        return chat;
+                    }
+                    ready.add(chat);
+                    minWait = Math.min(minWait, Math.max(wait, chat.bucket.nanosUntilAvailable()));
+                }
+                if (minWait == Long.MAX_VALUE) {
+                    changed.await();
+                } else {
+                    changed.awaitNanos(minWait);
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 왜: 응답을 기다리지 않고 다음 채팅으로 넘어가 전송을 파이프라인처럼 겹치고, 결과는 완료 콜백에서 반영한다.
+     */
+    private void deliver(ChatQueue chat) {
+        OutgoingMessageCoalescer.Merged merged;
+        lock.lock();
+        try {
+            Iterable<TelegramOutgoingMessage> pending = () -> chat.messages.stream().map(Pending::message).iterator();
+            merged = coalesceWindowNanos > 0 && chat.sendAlone == 0
+                    ? OutgoingMessageCoalescer.merge(pending, OutgoingMessageCoalescer.MAX_TEXT_LENGTH)
+                    : new OutgoingMessageCoalescer.Merged(chat.messages.peek().message(), 1);
+        } finally {
+            lock.unlock();
+        }
+        CompletableFuture<TelegramBotClient.SendOutcome> outcome;
+        try {
+            outcome = delivery.apply(merged.message());
+        } catch (Exception e) {
+            outcome = CompletableFuture.failedFuture(e);
+        }
+        outcome.whenComplete((result, failure) -> {
+            inFlight.release();
+            if (failure != null) {
+                log.warnf("텔레그램 전송 중 예외: %s", failure.getMessage());
+                complete(chat, merged, TelegramBotClient.SendOutcome.UNAVAILABLE);
+            } else {
+                complete(chat, merged, result);
+            }
+        });
+    }
+
+    private void complete(ChatQueue chat, OutgoingMessageCoalescer.Merged merged, TelegramBotClient.SendOutcome outcome) {
+        long chatId = merged.message().chatId();
+        List<Pending> finished = new ArrayList<>(merged.count());
+        lock.lock();
+        try {
+            if (outcome.retryable() && chat.attempts < maxRetries) {
+                if (outcome.throttled()) {
+                    throttled.increment();
+                    chat.blockedUntil = System.nanoTime() + outcome.retryAfter().toNanos();
+                    log.debugf("텔레그램 429: chatId=%d, retryAfter=%s", chatId, outcome.retryAfter());
+                } else {
+                    retried.increment();
+                    long backoff = retryBackoffNanos << Math.min(chat.attempts, MAX_BACKOFF_SHIFT);
+                    chat.blockedUntil = System.nanoTime() + backoff;
+                    log.debugf("텔레그램 일시 실패 재시도: chatId=%d, backoff=%dms", chatId, TimeUnit.NANOSECONDS.toMillis(backoff));
+                }
+                chat.attempts++;
+            } else if (!outcome.delivered() && !outcome.retryable() && merged.count() > 1) {
+                chat.sendAlone = merged.count();
+                chat.attempts = 0;
+                log.debugf("병합 전송이 거절되어 %d건을 한 건씩 다시 보냅니다: chatId=%d", merged.count(), chatId);
+            } else {
+                if (chat.sendAlone > 0) {
+                    chat.sendAlone--;
+                }
+                if (!outcome.delivered()) {
+                    dropped.add(merged.count());
+                    if (outcome.retryable()) {
+                        log.warnf("텔레그램 재시도 한도 초과로 폐기: chatId=%d, throttled=%s", chatId, outcome.throttled());
+                    }
+                }
+                chat.attempts = 0;
+                for (int i = 0; i < merged.count() && !chat.messages.isEmpty(); i++) {
+                    finished.add(chat.messages.poll());
+                }
+                capacity.release(finished.size());
+                coalesced.add(merged.count() - 1);
+            }
+            chat.lastSentAt = System.nanoTime();
+            if (chat.messages.isEmpty()) {
+                chat.scheduled = false;
+            } else {
+                ready.add(chat);
+                changed.signal();
+            }
+        } finally {
+            lock.unlock();
+        }
+        // 호출자 콜백이 스케줄러 잠금 안에서 돌지 않도록 잠금 밖에서 완료시킨다.
+        for (Pending pending : finished) {
+            if (outcome.delivered()) {
+                pending.result().complete(null);
+            } else {
+                pending.result().completeExceptionally(new IllegalStateException("텔레그램 전송에 실패해 메시지를 폐기했습니다: chatId=" + chatId));
+            }
+        }
+    }
+
+    /**
+     * 왜: 버킷이 가득 찰 만큼 조용했던 채팅만 지워야 새 버킷으로 다시 만들어도 채팅별 한도를 넘지 않는다.
+     */
+    private void evictIdle(long now) {
+        Iterator<ChatQueue> it = chats.values().iterator();
+        while (it.hasNext()) {
+            ChatQueue chat = it.next();
+            if (chat.scheduled || now - chat.lastSentAt < chatIdleNanos || chat.blockedUntil - now > 0) {
+                return;
+            }
+            it.remove();
+        }
+    }
+
+    /**
+     * 왜: 채팅 하나의 대기 메시지와 속도 상태를 묶는다. `scheduled`는 준비 큐에 있거나 전송 중임을 뜻해
+     * 같은 채팅이 동시에 두 건 전송되지 않게 한다.
+     */
+    private static final class ChatQueue {
+        private final Deque<Pending> messages = new ArrayDeque<>();
+        private final TokenBucket bucket;
+        private boolean scheduled;
+        private long blockedUntil;
+        private long lastSentAt;
+        private int attempts;
+        // 병합 전송이 거절된 뒤 병합 없이 한 건씩 보내야 하는 남은 건수
+        private int sendAlone;
+
+        private ChatQueue(TokenBucket bucket) {
+            this.bucket = bucket;
+            this.blockedUntil = System.nanoTime();
+        }
+    }
+
+    private record Pending(TelegramOutgoingMessage message, CompletableFuture<Void> result) {
+    }
+}
@@ -0,0 +1,177 @@
+package com.my.brain.adapter.out.telegram;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.my.brain.domain.model.TelegramIncomingMessage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * 왜: `getUpdates` 응답과 웹훅 본문은 같은 Update 객체를 담으므로, 폴링과 웹훅 수신이 한 가지 매핑 규칙을 공유하게 하기 위함.
+ * 응답 전체를 문자열/중첩 레코드로 만들지 않고 스트리밍 파서로 한 건씩 읽어, 텍스트 메시지가 아닌 업데이트는
+ * 객체를 만들지 않고 건너뛰고 도메인 메시지는 만들어지는 즉시 소비자에게 넘긴다.
+ */
+public final class TelegramUpdateParser {
+
+    private final ObjectMapper objectMapper;
+
+    public TelegramUpdateParser(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * @param body `getUpdates` 응답 본문
+     * @return 텍스트 메시지 업데이트만 도메인 모델로 변환한 목록
+     */
+    public List<TelegramIncomingMessage> parseUpdates(byte[] body) throws IOException {
+        List<TelegramIncomingMessage> updates = new ArrayList<>();
+        try (JsonParser parser = objectMapper.getFactory().createParser(body)) {
+            streamUpdates(parser, updates::add);
+        }
+        return updates;
+    }
+
+    /**
+     * @param body `getUpdates` 응답 스트림
+     * @param sink 텍스트 메시지 업데이트를 하나씩 받는 소비자
+     * @return 응답에 포함된 가장 큰 `update_id`(텍스트가 아닌 업데이트 포함), 업데이트가 없으면 -1
+     */
+    public long streamUpdates(InputStream body, Consumer<TelegramIncomingMessage> sink) throws IOException {
+        try (JsonParser parser = objectMapper.getFactory().createParser(body)) {
+            return streamUpdates(parser, sink);
+        }
+    }
+
+    /**
+     * @param body 웹훅으로 받은 Update 하나
+     * @return 텍스트 메시지가 아니면 비어 있음
+     */
+    public Optional<TelegramIncomingMessage> parseUpdate(byte[] body) throws IOException {
+        TelegramIncomingMessage[] holder = new TelegramIncomingMessage[1];
+        try (JsonParser parser = objectMapper.getFactory().createParser(body)) {
+            expect(parser, parser.nextToken(), JsonToken.START_OBJECT);
+            readUpdate(parser, message -> holder[0] = message);
+        }
+        return Optional.ofNullable(holder[0]);
+    }
+
+    private long streamUpdates(JsonParser parser, Consumer<TelegramIncomingMessage> sink) throws IOException {
+        expect(parser, parser.nextToken(), JsonToken.START_OBJECT);
+        boolean ok = false;
+        long maxUpdateId = -1;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            if ("ok".equals(field)) {
+                ok = value == JsonToken.VALUE_TRUE;
+            } else if ("result".equals(field) && value == JsonToken.START_ARRAY) {
+                while (parser.nextToken() == JsonToken.START_OBJECT) {
+                    maxUpdateId = Math.max(maxUpdateId, readUpdate(parser, sink));
+                }
+            } else {
+                parser.skipChildren();
+            }
+        }
+        if (!ok) {
+            throw new IllegalStateException("텔레그램 업데이트 응답이 ok=false 입니다.");
+        }
+        return maxUpdateId;
+    }
+
+    /**
+     * 파서가 Update 객체의 START_OBJECT에 있을 때 호출되며, 끝나면 해당 END_OBJECT에 멈춘다.
+     *
+     * @return 업데이트의 `update_id`
+     */
+    private long readUpdate(JsonParser parser, Consumer<TelegramIncomingMessage> sink) throws IOException {
+        long updateId = -1;
+        MessageFields message = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            if ("update_id".equals(field)) {
+                updateId = parser.getLongValue();
+            } else if ("message".equals(field) && value == JsonToken.START_OBJECT) {
+                message = readMessage(parser);
+            } else {
+                // edited_message, callback_query 등 텍스트 메시지가 아닌 업데이트는 토큰만 넘긴다.
+                parser.skipChildren();
+            }
+        }
+        if (message != null && message.text != null && message.hasChat) {
+            sink.accept(new TelegramIncomingMessage(updateId, message.chatId,
+                    message.username == null ? "unknown" : message.username, message.text, message.date));
+        }
+        return updateId;
+    }
+
+    private MessageFields readMessage(JsonParser parser) throws IOException {
+        MessageFields message = new MessageFields();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            switch (field) {
+                case "text" -> message.text = value == JsonToken.VALUE_STRING ? parser.getText() : null;
+                case "date" -> message.date = value == JsonToken.VALUE_NUMBER_INT ? parser.getLongValue() : 0L;
+                case "chat" -> readChat(parser, value, message);
+                case "from" -> readFrom(parser, value, message);
+                default -> parser.skipChildren();
+            }
+        }
+        return message;
+    }
+
+    private void readChat(JsonParser parser, JsonToken value, MessageFields message) throws IOException {
+        if (value != JsonToken.START_OBJECT) {
+            parser.skipChildren();
+            return;
+        }
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            parser.nextToken();
+            if ("id".equals(field)) {
+                message.chatId = parser.getLongValue();
+                message.hasChat = true;
+            } else {
+                parser.skipChildren();
+            }
+        }
+    }
+
+    private void readFrom(JsonParser parser, JsonToken value, MessageFields message) throws IOException {
+        if (value != JsonToken.START_OBJECT) {
+            parser.skipChildren();
+            return;
+        }
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken fieldValue = parser.nextToken();
+            if ("username".equals(field) && fieldValue == JsonToken.VALUE_STRING) {
+                message.username = parser.getText();
+            } else {
+                parser.skipChildren();
+            }
+        }
+    }
+
+    private static void expect(JsonParser parser, JsonToken actual, JsonToken expected) throws IOException {
+        if (actual != expected) {
+            throw new IOException("텔레그램 업데이트 JSON 형식 오류: " + expected + " 위치에 " + actual + " (" + parser.currentLocation() + ")");
+        }
+    }
+
+    /** 메시지 하나를 읽는 동안만 쓰는 가변 버퍼. */
+    private static final class MessageFields {
+        private long chatId;
+        private boolean hasChat;
+        private String username;
+        private String text;
+        private long date;
+    }
+}
@@ -8,12 +8,18 @@ import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import org.jboss.logging.Logger;
 
+import java.nio.file.Path;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 
 /**
  * 왜: 텔레그램 업데이트를 주기적으로 폴링해 RabbitMQ로 재전달하기 위한 작업 스케줄러가 필요하기 때문.
+ * 기본(`continuous`) 모드는 응답이 오면 곧바로 다음 롱 폴링을 걸어 대화 중 메시지마다 폴링 간격만큼의 지연이 붙지 않게 하고,
+ * 오류나 빈 응답일 때만 지수적으로 물러난다. `fixed-delay` 모드는 기존처럼 `poll-interval-seconds` 간격으로 폴링한다.
+ * 다음 오프셋은 발행 확인 후 체크포인트 파일에 저장해 재시작 시 이어서 조회한다.
+ * `app.telegram.ingress=webhook`이면 웹훅이 수신을 맡으므로 폴링하지 않는다. 폴링 모드는 첫 조회 전에 남아 있는 웹훅 등록을 한 번 지우고,
+ * 실패하면 다음 폴링 때 다시 시도한다.
  */
 @ApplicationScoped
 public class TelegramUpdatePoller {
@@ -21,32 +27,113 @@ public class TelegramUpdatePoller {
     private static final Logger log = Logger.getLogger(TelegramUpdatePoller.class);
 
     private final TelegramUpdateService telegramUpdateService;
+    private final String ingress;
+    private final String pollMode;
     private final int pollIntervalSeconds;
     private final int pollTimeoutSeconds;
+    private final long backoffInitialMillis;
+    private final long backoffMaxMillis;
+    private final TelegramOffsetCheckpoint checkpoint;
     private final ScheduledExecutorService executor;
     private volatile long offset = 0L;
+    private boolean webhookCleared;
 
     @Inject
     public TelegramUpdatePoller(TelegramUpdateService telegramUpdateService, AppConfig appConfig) {
+        this(telegramUpdateService, appConfig.telegram());
+    }
+
+    TelegramUpdatePoller(TelegramUpdateService telegramUpdateService, AppConfig.TelegramConfig telegramConfig) {
         this.telegramUpdateService = telegramUpdateService;
-        this.pollIntervalSeconds = appConfig.telegram().pollIntervalSeconds();
-        this.pollTimeoutSeconds = appConfig.telegram().pollTimeoutSeconds();
+        this.ingress = telegramConfig.ingress();
+        this.pollMode = telegramConfig.pollMode();
+        this.pollIntervalSeconds = telegramConfig.pollIntervalSeconds();
+        this.pollTimeoutSeconds = telegramConfig.pollTimeoutSeconds();
+        this.backoffInitialMillis = telegramConfig.pollBackoffInitialMillis();
+        this.backoffMaxMillis = telegramConfig.pollBackoffMaxMillis();
+        if (!"continuous".equals(pollMode) && !"fixed-delay".equals(pollMode)) {
+            throw new IllegalStateException("지원하지 않는 텔레그램 poll-mode입니다: " + pollMode);
+        }
+        this.checkpoint = new TelegramOffsetCheckpoint(Path.of(telegramConfig.offsetCheckpointPath()));
         this.executor = Executors.newSingleThreadScheduledExecutor(Thread.ofVirtual().name("telegram-poller-", 0).factory());
     }
 
     @PostConstruct
     void start() {
-        executor.scheduleWithFixedDelay(this::pollSafely, 0, pollIntervalSeconds, TimeUnit.SECONDS);
+        if (!"poll".equals(ingress)) {
+            log.infof("텔레그램 수신 방식이 %s이므로 폴링을 시작하지 않습니다.", ingress);
+            return;
+        }
+        offset = checkpoint.load();
+        if ("continuous".equals(pollMode)) {
+            executor.execute(this::pollContinuously);
+        } else {
+            executor.scheduleWithFixedDelay(this::pollSafely, 0, pollIntervalSeconds, TimeUnit.SECONDS);
+        }
     }
 
     private void pollSafely() {
         try {
-            offset = telegramUpdateService.fetchAndPublish(offset, pollTimeoutSeconds);
+            clearWebhook();
+            advance(telegramUpdateService.fetchAndPublish(offset, pollTimeoutSeconds));
         } catch (Exception e) {
             log.warnf("텔레그램 폴링 중 예외: %s", e.getMessage());
         }
     }
 
+    private void pollContinuously() {
+        long backoffMillis = 0;
+        while (!Thread.currentThread().isInterrupted()) {
+            boolean received;
+            try {
+                clearWebhook();
+                long next = telegramUpdateService.fetchAndPublish(offset, pollTimeoutSeconds);
+                received = next != offset;
+                advance(next);
+            } catch (Exception e) {
+                log.warnf("텔레그램 폴링 중 예외: %s", e.getMessage());
+                received = false;
+            }
+            if (received) {
+                backoffMillis = 0;
+                continue;
+            }
+            backoffMillis = backoffMillis == 0 ? backoffInitialMillis : Math.min(backoffMillis * 2, backoffMaxMillis);
+            try {
+                Thread.sleep(backoffMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * 폴링 스레드에서만 부르므로 플래그에 동기화가 필요 없다.
+     */
+    private void clearWebhook() {
+        if (!webhookCleared) {
+            telegramUpdateService.prepareForPolling();
+            webhookCleared = true;
+        }
+    }
+
+    /**
+     * 왜: `fetchAndPublish`는 발행 확인 뒤에만 반환하므로 여기서 저장한 오프셋 이전 업데이트는 모두 브로커에 있다.
+     * 저장이 실패해도 메모리 오프셋은 넘겨 지금 같은 업데이트를 다시 발행하지 않고, 재시작 시의 재전달만 감수한다.
+     */
+    private void advance(long next) {
+        offset = next;
+        try {
+            checkpoint.save(next);
+        } catch (Exception e) {
+            log.warnf("텔레그램 오프셋 저장 실패: offset=%d, reason=%s", next, e.getMessage());
+        }
+    }
+
+    long offset() {
+        return offset;
+    }
+
     @PreDestroy
     void stop() {
         executor.shutdownNow();
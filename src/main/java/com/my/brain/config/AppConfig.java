@@ -5,6 +5,7 @@ import io.smallrye.config.ConfigMapping;
 import io.smallrye.config.WithDefault;
 import io.smallrye.config.WithName;
 
+import java.util.List;
 import java.util.Optional;
 
 @StaticInitSafe
@@ -23,6 +24,16 @@ public interface AppConfig {
 
     TelegramConfig telegram();
 
+    ConsumerConfig consumer();
+
+    AdmissionConfig admission();
+
+    DeadLetterConfig dlq();
+
+    PublishConfig publish();
+
+    LlmConfig llm();
+
     interface OpenAiConfig {
         @WithName("api-key")
         Optional<String> apiKey();
@@ -48,6 +59,10 @@ public interface AppConfig {
         @WithName("template-path")
         @WithDefault("src/main/resources/templates")
         String templatePath();
+
+        @WithName("note-coalesce-window-millis")
+        @WithDefault("0")
+        int noteCoalesceWindowMillis();
     }
 
     interface IdempotencyConfig {
@@ -66,6 +81,52 @@ public interface AppConfig {
         @WithName("ttl-hours")
         @WithDefault("24")
         int ttlHours();
+
+        @WithName("lease-seconds")
+        @WithDefault("300")
+        int leaseSeconds();
+
+        @WithName("sweep-interval-minutes")
+        @WithDefault("10")
+        int sweepIntervalMinutes();
+
+        @WithName("max-entries")
+        @WithDefault("100000")
+        int maxEntries();
+
+        @WithName("segment-minutes")
+        @WithDefault("60")
+        int segmentMinutes();
+
+        @WithName("fsync-interval-millis")
+        @WithDefault("200")
+        int fsyncIntervalMillis();
+
+        @WithName("cache")
+        IdempotencyCacheConfig cache();
+
+        @WithName("group-commit")
+        GroupCommitConfig groupCommit();
+    }
+
+    interface IdempotencyCacheConfig {
+        @WithName("max-entries")
+        @WithDefault("10000")
+        int maxEntries();
+    }
+
+    interface GroupCommitConfig {
+        @WithName("enabled")
+        @WithDefault("true")
+        boolean enabled();
+
+        @WithName("max-batch")
+        @WithDefault("64")
+        int maxBatch();
+
+        @WithName("linger-millis")
+        @WithDefault("5")
+        int lingerMillis();
     }
 
     interface DockerConfig {
@@ -109,5 +170,255 @@ public interface AppConfig {
         @WithName("poll-timeout-seconds")
         @WithDefault("30")
         int pollTimeoutSeconds();
+
+        @WithName("poll-mode")
+        @WithDefault("continuous")
+        String pollMode();
+
+        @WithName("poll-backoff-initial-millis")
+        @WithDefault("250")
+        long pollBackoffInitialMillis();
+
+        @WithName("poll-backoff-max-millis")
+        @WithDefault("5000")
+        long pollBackoffMaxMillis();
+
+        @WithName("outbound")
+        TelegramOutboundConfig outbound();
+
+        @WithName("ingress")
+        @WithDefault("poll")
+        String ingress();
+
+        @WithName("offset-checkpoint-path")
+        @WithDefault("./data/telegram-offset")
+        String offsetCheckpointPath();
+
+        @WithName("webhook")
+        TelegramWebhookConfig webhook();
+    }
+
+    interface TelegramWebhookConfig {
+        @WithName("path")
+        @WithDefault("/telegram/webhook")
+        String path();
+
+        @WithName("secret-token")
+        Optional<String> secretToken();
+
+        @WithName("public-url")
+        Optional<String> publicUrl();
+    }
+
+    interface TelegramOutboundConfig {
+        @WithName("global-per-second")
+        @WithDefault("25")
+        double globalPerSecond();
+
+        @WithName("global-burst")
+        @WithDefault("25")
+        int globalBurst();
+
+        @WithName("per-chat-per-second")
+        @WithDefault("1.0")
+        double perChatPerSecond();
+
+        @WithName("per-chat-burst")
+        @WithDefault("1")
+        int perChatBurst();
+
+        @WithName("max-retries")
+        @WithDefault("5")
+        int maxRetries();
+
+        @WithName("retry-backoff-millis")
+        @WithDefault("1000")
+        long retryBackoffMillis();
+
+        @WithName("max-queued")
+        @WithDefault("10000")
+        int maxQueued();
+
+        @WithName("max-in-flight")
+        @WithDefault("16")
+        int maxInFlight();
+
+        @WithName("coalesce-window-millis")
+        @WithDefault("0")
+        int coalesceWindowMillis();
+    }
+
+    interface ConsumerConfig {
+        @WithName("lanes")
+        @WithDefault("1")
+        int lanes();
+
+        @WithName("batch")
+        BatchConfig batch();
+    }
+
+    interface BatchConfig {
+        @WithName("enabled")
+        @WithDefault("false")
+        boolean enabled();
+
+        @WithName("size")
+        @WithDefault("32")
+        int size();
+
+        @WithName("linger-millis")
+        @WithDefault("20")
+        int lingerMillis();
+    }
+
+    interface AdmissionConfig {
+        @WithName("enabled")
+        @WithDefault("false")
+        boolean enabled();
+
+        @WithName("max-in-flight")
+        @WithDefault("8")
+        int maxInFlight();
+
+        @WithName("queue-wait-millis")
+        @WithDefault("2000")
+        int queueWaitMillis();
+
+        @WithName("on-reject")
+        @WithDefault("busy-reply")
+        String onReject();
+    }
+
+    interface LlmConfig {
+        @WithName("cache")
+        LlmCacheConfig cache();
+
+        @WithName("batch")
+        LlmBatchConfig batch();
+
+        @WithName("call")
+        LlmCallConfig call();
+    }
+
+    interface LlmCallConfig {
+        @WithName("deadline-millis")
+        @WithDefault("60000")
+        long deadlineMillis();
+
+        @WithName("max-attempts")
+        @WithDefault("3")
+        int maxAttempts();
+
+        @WithName("retry-delay-millis")
+        @WithDefault("1000")
+        long retryDelayMillis();
+
+        @WithName("hedge-enabled")
+        @WithDefault("true")
+        boolean hedgeEnabled();
+
+        @WithName("hedge-initial-delay-millis")
+        @WithDefault("8000")
+        long hedgeInitialDelayMillis();
+
+        @WithName("hedge-min-delay-millis")
+        @WithDefault("1000")
+        long hedgeMinDelayMillis();
+    }
+
+    interface LlmBatchConfig {
+        @WithName("enabled")
+        @WithDefault("false")
+        boolean enabled();
+
+        @WithName("max-size")
+        @WithDefault("8")
+        int maxSize();
+
+        @WithName("linger-millis")
+        @WithDefault("20")
+        long lingerMillis();
+    }
+
+    interface LlmCacheConfig {
+        @WithName("enabled")
+        @WithDefault("true")
+        boolean enabled();
+
+        @WithName("max-entries")
+        @WithDefault("1000")
+        int maxEntries();
+
+        @WithName("ttl-minutes")
+        @WithDefault("360")
+        int ttlMinutes();
+
+        @WithName("persistence-path")
+        Optional<String> persistencePath();
+
+        @WithName("snapshot-every-entries")
+        @WithDefault("50")
+        int snapshotEveryEntries();
+    }
+
+    interface PublishConfig {
+        @WithName("max-unconfirmed")
+        @WithDefault("256")
+        int maxUnconfirmed();
+
+        @WithName("confirm-timeout-millis")
+        @WithDefault("10000")
+        long confirmTimeoutMillis();
+
+        @WithName("max-retries")
+        @WithDefault("3")
+        int maxRetries();
+
+        @WithName("retry-backoff-millis")
+        @WithDefault("500")
+        long retryBackoffMillis();
+    }
+
+    interface DeadLetterConfig {
+        @WithName("mode")
+        @WithDefault("log")
+        String mode();
+
+        @WithName("redrive")
+        RedriveConfig redrive();
+    }
+
+    interface RedriveConfig {
+        @WithName("enabled")
+        @WithDefault("false")
+        boolean enabled();
+
+        @WithName("rate-per-second")
+        @WithDefault("1.0")
+        double ratePerSecond();
+
+        @WithName("burst")
+        @WithDefault("5")
+        int burst();
+
+        @WithName("interval-seconds")
+        @WithDefault("60")
+        int intervalSeconds();
+
+        @WithName("max-redrives")
+        @WithDefault("3")
+        int maxRedrives();
+
+        @WithName("reasons")
+        Optional<List<String>> reasons();
+
+        @WithName("user-id")
+        Optional<String> userId();
+
+        @WithName("parked-after")
+        Optional<String> parkedAfter();
+
+        @WithName("parked-before")
+        Optional<String> parkedBefore();
     }
 }
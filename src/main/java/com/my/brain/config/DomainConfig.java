@@ -8,13 +8,20 @@ import com.my.brain.domain.port.out.DockerPort;
 import com.my.brain.domain.port.out.FilePort;
 import com.my.brain.domain.port.out.GooglePort;
 import com.my.brain.domain.port.out.LlmPort;
-import com.my.brain.domain.port.out.ReplyPort;
 import com.my.brain.domain.port.out.TelegramIncomingPublishPort;
 import com.my.brain.domain.port.out.TelegramSendPort;
 import com.my.brain.domain.port.out.TelegramUpdatePort;
+import com.my.brain.domain.service.CommandIntentClassifier;
+import com.my.brain.domain.service.IntentPreClassifier;
 import com.my.brain.domain.service.ProcessMessageService;
+import com.my.brain.domain.service.ScheduleIntentClassifier;
+import com.my.brain.domain.service.TemporalExpressionParser;
+import com.my.brain.domain.service.TemporalIntentReconciler;
 import com.my.brain.domain.service.TelegramRelayService;
 import com.my.brain.domain.service.TelegramUpdateService;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.enterprise.inject.Produces;
 
@@ -30,9 +37,43 @@ public class DomainConfig {
                                                        FilePort filePort,
                                                        GooglePort googlePort,
                                                        DockerPort dockerPort,
-                                                       ReplyPort replyPort,
-                                                       ClockPort clockPort) {
-        return new ProcessMessageService(llmPort, filePort, googlePort, dockerPort, replyPort, clockPort);
+                                                       ClockPort clockPort,
+                                                       IntentPreClassifier intentPreClassifier,
+                                                       TemporalExpressionParser temporalExpressionParser,
+                                                       MeterRegistry meterRegistry) {
+        TemporalIntentReconciler reconciler = new TemporalIntentReconciler(llmPort, temporalExpressionParser);
+        ProcessMessageService service = new ProcessMessageService(reconciler, filePort, googlePort, dockerPort, clockPort, intentPreClassifier);
+        // 빠른 경로 비율이 낮으면 규칙을 늘릴 여지가 있다는 신호이므로 경로별 건수와 비율을 함께 노출한다.
+        FunctionCounter.builder("llm.intent.classified", service, ProcessMessageService::fastPathCount)
+                .tag("path", "rules")
+                .register(meterRegistry);
+        FunctionCounter.builder("llm.intent.classified", service, ProcessMessageService::llmCount)
+                .tag("path", "llm")
+                .register(meterRegistry);
+        Gauge.builder("llm.intent.bypass.ratio", service, ProcessMessageService::bypassRatio).register(meterRegistry);
+        FunctionCounter.builder("llm.intent.time.adjusted", reconciler, TemporalIntentReconciler::filledCount)
+                .tag("action", "filled")
+                .register(meterRegistry);
+        FunctionCounter.builder("llm.intent.time.adjusted", reconciler, TemporalIntentReconciler::correctedCount)
+                .tag("action", "corrected")
+                .register(meterRegistry);
+        FunctionCounter.builder("llm.intent.time.mismatched", reconciler, TemporalIntentReconciler::mismatchedCount)
+                .register(meterRegistry);
+        return service;
+    }
+
+    @Produces
+    @ApplicationScoped
+    public TemporalExpressionParser temporalExpressionParser(ClockPort clockPort) {
+        return new TemporalExpressionParser(clockPort);
+    }
+
+    @Produces
+    @ApplicationScoped
+    public IntentPreClassifier intentPreClassifier(TemporalExpressionParser temporalExpressionParser) {
+        return IntentPreClassifier.firstOf(
+                new CommandIntentClassifier(temporalExpressionParser),
+                new ScheduleIntentClassifier(temporalExpressionParser));
     }
 
     @Produces
@@ -0,0 +1,61 @@
+package com.my.brain.config;
+
+import com.my.brain.adapter.in.idempotency.FileIdempotencyStore;
+import com.my.brain.adapter.in.idempotency.IdempotencyStore;
+import com.my.brain.adapter.in.idempotency.InMemoryIdempotencyStore;
+import com.my.brain.adapter.in.idempotency.SqliteIdempotencyStore;
+import com.my.brain.adapter.in.idempotency.TieredIdempotencyStore;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.inject.Instance;
+import jakarta.enterprise.inject.Produces;
+
+import java.time.Duration;
+
+/**
+ * 왜: `app.idempotency.backend` 값 하나로 영속 저장소와 앞단 캐시 계층 조합(memory/file/sqlite/tiered-file/tiered-sqlite)을
+ * 선택하도록 바인딩을 한 곳에 모으기 위함.
+ */
+@ApplicationScoped
+public class IdempotencyStoreConfig {
+
+    @Produces
+    @ApplicationScoped
+    public IdempotencyStore idempotencyStore(AppConfig appConfig,
+                                             Instance<InMemoryIdempotencyStore> memoryStore,
+                                             Instance<FileIdempotencyStore> fileStore,
+                                             Instance<SqliteIdempotencyStore> sqliteStore,
+                                             MeterRegistry meterRegistry) {
+        String backend = appConfig.idempotency().backend();
+        return switch (backend) {
+            case "memory" -> memoryStore.get();
+            case "file" -> fileStore.get();
+            case "sqlite" -> sqliteStore.get();
+            case "tiered-file" -> tiered(fileStore.get(), appConfig, backend, meterRegistry);
+            case "tiered-sqlite" -> tiered(sqliteStore.get(), appConfig, backend, meterRegistry);
+            default -> throw new IllegalStateException("지원하지 않는 idempotency backend입니다: " + backend);
+        };
+    }
+
+    private TieredIdempotencyStore tiered(IdempotencyStore delegate,
+                                          AppConfig appConfig,
+                                          String backend,
+                                          MeterRegistry meterRegistry) {
+        AppConfig.IdempotencyCacheConfig cache = appConfig.idempotency().cache();
+        TieredIdempotencyStore store = new TieredIdempotencyStore(
+                delegate,
+                Duration.ofHours(appConfig.idempotency().ttlHours()),
+                cache.maxEntries()
+        );
+        Tags tags = Tags.of("backend", backend);
+        FunctionCounter.builder("idempotency.cache.hits", store, TieredIdempotencyStore::hits)
+                .tags(tags)
+                .register(meterRegistry);
+        FunctionCounter.builder("idempotency.cache.misses", store, TieredIdempotencyStore::misses)
+                .tags(tags)
+                .register(meterRegistry);
+        return store;
+    }
+}
@@ -0,0 +1,24 @@
+package com.my.brain.domain.model;
+
+import java.time.OffsetDateTime;
+import java.util.Objects;
+
+/**
+ * 왜: 본문에서 읽어 낸 날짜/시각과, 그 표현을 걷어 낸 나머지 문장을 함께 넘겨 일정 제목 추출과 시간 검증을 한 번의 파싱으로 끝내기 위함.
+ *
+ * @param end           "2시부터 4시까지"처럼 끝 시각이 명시된 경우에만 값이 있음
+ * @param dateSpecified 날짜("내일", "3월 15일")나 경과 시간("30분 후")이 명시됐으면 true, 시각만 있으면 false
+ * @param timeSpecified 시각까지 명시됐으면 true, 날짜만 있으면 false(이때 start는 그날 0시)
+ * @param ambiguous     쓰지 않은 날짜/시각 표현이 더 남아 있으면 true("월요일 회의를 화요일 3시로")
+ * @param remainder     시간 표현을 뺀 나머지 본문
+ */
+public record TemporalExpression(OffsetDateTime start, OffsetDateTime end, boolean dateSpecified, boolean timeSpecified,
+                                 boolean ambiguous, String remainder) {
+    public TemporalExpression {
+        Objects.requireNonNull(start, "start");
+        Objects.requireNonNull(remainder, "remainder");
+        if (end != null && end.isBefore(start)) {
+            throw new IllegalArgumentException("종료 시간이 시작 시간보다 이를 수 없습니다.");
+        }
+    }
+}
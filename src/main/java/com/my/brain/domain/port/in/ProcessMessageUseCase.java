@@ -7,5 +7,9 @@ import com.my.brain.domain.model.ReplyMessage;
  * 왜: 외부 입력을 도메인 진입점 하나로 수렴시켜 의도 파악과 후속 작업을 일관되게 처리하기 위함.
  */
 public interface ProcessMessageUseCase {
+
+    /**
+     * @return 사용자에게 보낼 응답. 전송은 호출자가 맡는다.
+     */
     ReplyMessage process(BrainRequest request);
 }
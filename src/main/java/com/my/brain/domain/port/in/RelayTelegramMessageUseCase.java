@@ -2,9 +2,16 @@ package com.my.brain.domain.port.in;
 
 import com.my.brain.domain.model.TelegramOutgoingMessage;
 
+import java.util.concurrent.CompletableFuture;
+
 /**
  * 왜: 외부 발신 요청을 도메인 단일 진입점으로 수렴시켜 텔레그램 전송 정책을 통제하기 위함.
  */
 public interface RelayTelegramMessageUseCase {
     void relay(TelegramOutgoingMessage message);
+
+    /**
+     * @return 전송이 끝나면 완료되는 핸들. 호출자는 완료 시점에 입력 메시지를 확인(ack)한다.
+     */
+    CompletableFuture<Void> relayAsync(TelegramOutgoingMessage message);
 }
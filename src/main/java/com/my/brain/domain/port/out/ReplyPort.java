@@ -2,9 +2,17 @@ package com.my.brain.domain.port.out;
 
 import com.my.brain.domain.model.ReplyMessage;
 
+import java.util.concurrent.CompletableFuture;
+
 /**
  * 왜: 응답 채널(RabbitMQ 등) 세부 구현을 숨기고 도메인이 단일 계약으로 응답을 요청하도록 하기 위함.
  */
 public interface ReplyPort {
-    void send(ReplyMessage replyMessage);
+
+    /**
+     * 전달 확인을 기다리지 않고 반환한다.
+     *
+     * @return 응답 채널이 전달을 확인하면 완료되고, 확인에 실패하면 실패하는 핸들
+     */
+    CompletableFuture<Void> send(ReplyMessage replyMessage);
 }
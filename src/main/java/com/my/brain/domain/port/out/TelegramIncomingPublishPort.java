@@ -2,9 +2,26 @@ package com.my.brain.domain.port.out;
 
 import com.my.brain.domain.model.TelegramIncomingMessage;
 
+import java.util.concurrent.CompletableFuture;
+
 /**
  * 왜: 텔레그램 수신 메시지의 후속 전달 채널(RabbitMQ 등)을 추상화해 교체 가능성을 확보하기 위함.
  */
 public interface TelegramIncomingPublishPort {
     void publish(TelegramIncomingMessage message);
+
+    /**
+     * 왜: 호출자가 브로커 확인 이후에만 오프셋을 넘기는 등 발행 완료를 기준으로 진행하게 하기 위함.
+     * 기본 구현은 동기 발행을 감싼다.
+     *
+     * @return 전달 채널이 발행을 확인하면 완료되는 핸들
+     */
+    default CompletableFuture<Void> publishAsync(TelegramIncomingMessage message) {
+        try {
+            publish(message);
+            return CompletableFuture.completedFuture(null);
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
 }
@@ -2,9 +2,26 @@ package com.my.brain.domain.port.out;
 
 import com.my.brain.domain.model.TelegramOutgoingMessage;
 
+import java.util.concurrent.CompletableFuture;
+
 /**
  * 왜: 텔레그램 전송 구현을 도메인에서 분리해 환경/전송 방식 변경 시에도 계약을 유지하기 위함.
  */
 public interface TelegramSendPort {
     void send(TelegramOutgoingMessage message);
+
+    /**
+     * 왜: 전송 완료를 기다리는 동안 호출 스레드를 붙잡지 않아야 하는 호출자(중계 소비자)를 위한 비동기 계약.
+     * 기본 구현은 동기 전송을 감싼다.
+     *
+     * @return 전송이 끝나면 완료, 전송이 포기되면 예외로 완료되는 핸들
+     */
+    default CompletableFuture<Void> sendAsync(TelegramOutgoingMessage message) {
+        try {
+            send(message);
+            return CompletableFuture.completedFuture(null);
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
 }
@@ -3,10 +3,32 @@ package com.my.brain.domain.port.out;
 import com.my.brain.domain.model.TelegramIncomingMessage;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * 왜: 텔레그램 업데이트 조회 방법을 추상화해 폴링/웹훅 등 구현 교체 시 도메인 계약을 유지하기 위함.
  */
 public interface TelegramUpdatePort {
     List<TelegramIncomingMessage> fetchUpdates(long offset, int timeoutSeconds);
+
+    /**
+     * 왜: 웹훅이 등록된 봇은 `getUpdates`가 거절되므로, 폴링을 시작하기 전에 이전 웹훅 등록을 지우기 위함. 기본 구현은 아무것도 하지 않는다.
+     */
+    default void deleteWebhook() {
+    }
+
+    /**
+     * 왜: 조회 결과를 목록으로 모으지 않고 한 건씩 넘겨 폴링당 최대 할당을 줄이기 위함.
+     * 텍스트가 아닌 업데이트는 넘기지 않지만 그 `update_id`도 반환값에 반영해, 오프셋이 건너뛴 업데이트에 묶이지 않게 한다.
+     *
+     * @return 응답에 포함된 가장 큰 `update_id`, 업데이트가 없으면 -1
+     */
+    default long fetchUpdates(long offset, int timeoutSeconds, Consumer<TelegramIncomingMessage> sink) {
+        long lastUpdateId = -1;
+        for (TelegramIncomingMessage update : fetchUpdates(offset, timeoutSeconds)) {
+            sink.accept(update);
+            lastUpdateId = Math.max(lastUpdateId, update.updateId());
+        }
+        return lastUpdateId;
+    }
 }
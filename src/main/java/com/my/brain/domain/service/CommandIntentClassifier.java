@@ -0,0 +1,112 @@
+package com.my.brain.domain.service;
+
+import com.my.brain.domain.model.BrainRequest;
+import com.my.brain.domain.model.IntentType;
+import com.my.brain.domain.model.LlmIntentResult;
+import com.my.brain.domain.model.MessageType;
+import com.my.brain.domain.model.Note;
+import com.my.brain.domain.model.TemporalExpression;
+import com.my.brain.domain.model.TodoItem;
+
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 왜: `/sync`, `/note 본문`, "동기화해줘"처럼 형태만 봐도 의도가 분명한 입력을 LLM 호출 없이 마이크로초 단위로 끝내기 위함.
+ * 애매한 자연어(일정/시간 표현 등)는 건드리지 않고 LLM에 넘긴다.
+ */
+public class CommandIntentClassifier implements IntentPreClassifier {
+
+    /** `/명령@봇이름 인자` 형태. 텔레그램 그룹에서는 명령 뒤에 봇 이름이 붙는다. */
+    private static final Pattern SLASH_COMMAND = Pattern.compile("^/(\\p{L}[\\p{L}\\d_]*)(?:@\\S+)?(?:\\s+(.*))?$", Pattern.DOTALL);
+    /** "메모: 본문", "note - 본문"처럼 접두어로 기록을 지시하는 형태. */
+    private static final Pattern NOTE_PREFIX = Pattern.compile("^(?:메모|노트|기록|note|memo)\\s*[:：-]\\s*(\\S.*)$",
+            Pattern.CASE_INSENSITIVE | Pattern.DOTALL);
+    private static final Pattern TRAILING_PUNCTUATION = Pattern.compile("[\\s.!?~]+$");
+    private static final Set<String> SYNC_COMMANDS = Set.of("sync", "동기화");
+    private static final Set<String> NOTE_COMMANDS = Set.of("note", "memo", "메모", "노트");
+    private static final Set<String> TASK_COMMANDS = Set.of("todo", "task", "할일");
+    private static final Set<String> SYNC_PHRASES = Set.of(
+            "sync", "싱크", "동기화", "동기화해줘", "동기화 해줘", "동기화해", "동기화 해", "동기화 시작", "옵시디언 동기화", "볼트 동기화");
+    private static final String QUICK_NOTE_TITLE = "빠른 메모";
+
+    private final TemporalExpressionParser temporalParser;
+
+    public CommandIntentClassifier() {
+        this(null);
+    }
+
+    /**
+     * @param temporalParser 있으면 `/todo 금요일까지 보고서`의 시간 표현을 마감일로 옮긴다.
+     */
+    public CommandIntentClassifier(TemporalExpressionParser temporalParser) {
+        this.temporalParser = temporalParser;
+    }
+
+    @Override
+    public Optional<LlmIntentResult> classify(BrainRequest request) {
+        if (request.type() == MessageType.SYNC) {
+            return Optional.of(sync());
+        }
+        String content = request.content().strip();
+        Matcher command = SLASH_COMMAND.matcher(content);
+        if (command.matches()) {
+            return slashCommand(request, command.group(1).toLowerCase(Locale.ROOT), argument(command.group(2)));
+        }
+        if (SYNC_PHRASES.contains(TRAILING_PUNCTUATION.matcher(content).replaceAll("").toLowerCase(Locale.ROOT))) {
+            return Optional.of(sync());
+        }
+        Matcher note = NOTE_PREFIX.matcher(content);
+        if (note.matches()) {
+            return Optional.of(note(note.group(1).strip()));
+        }
+        return Optional.empty();
+    }
+
+    private Optional<LlmIntentResult> slashCommand(BrainRequest request, String name, String argument) {
+        if (SYNC_COMMANDS.contains(name)) {
+            return Optional.of(sync());
+        }
+        if (NOTE_COMMANDS.contains(name)) {
+            // 본문 없는 `/note`는 기록할 것이 없으므로 사용법을 모르는 입력으로 본다.
+            return Optional.of(argument.isEmpty() ? unknown() : note(argument));
+        }
+        if (TASK_COMMANDS.contains(name)) {
+            return Optional.of(argument.isEmpty() ? unknown() : task(request, argument));
+        }
+        // 인자 없는 `/start` 같은 알 수 없는 명령은 LLM도 분류할 수 없으므로 토큰을 쓰지 않고 바로 돌려보낸다.
+        // `/remind 내일 3시 회의`처럼 인자가 있으면 본문에 의도가 담겨 있을 수 있으므로 LLM에 넘긴다.
+        return argument.isEmpty() ? Optional.of(unknown()) : Optional.empty();
+    }
+
+    private LlmIntentResult task(BrainRequest request, String argument) {
+        if (temporalParser != null) {
+            Optional<TemporalExpression> due = temporalParser.parse(argument, request.timestamp());
+            if (due.isPresent()) {
+                String description = ScheduleIntentClassifier.title(due.get().remainder());
+                return new LlmIntentResult(IntentType.TASK, null,
+                        new TodoItem(description.isEmpty() ? argument : description, due.get().start()), null);
+            }
+        }
+        return new LlmIntentResult(IntentType.TASK, null, new TodoItem(argument, null), null);
+    }
+
+    private static String argument(String raw) {
+        return raw == null ? "" : raw.strip();
+    }
+
+    private static LlmIntentResult sync() {
+        return new LlmIntentResult(IntentType.SYNC, null, null, null);
+    }
+
+    private static LlmIntentResult note(String text) {
+        return new LlmIntentResult(IntentType.NOTE, null, null, new Note("", QUICK_NOTE_TITLE, text));
+    }
+
+    private static LlmIntentResult unknown() {
+        return new LlmIntentResult(IntentType.UNKNOWN, null, null, null);
+    }
+}
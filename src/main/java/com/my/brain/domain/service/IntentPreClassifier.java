@@ -0,0 +1,40 @@
+package com.my.brain.domain.service;
+
+import com.my.brain.domain.model.BrainRequest;
+import com.my.brain.domain.model.LlmIntentResult;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 왜: 슬래시 명령처럼 규칙만으로 확실히 판별되는 입력은 LLM 왕복(지연/토큰 비용) 없이 바로 의도를 정하기 위함.
+ * 확신할 수 없는 입력은 비워 돌려 LLM에 넘긴다.
+ */
+@FunctionalInterface
+public interface IntentPreClassifier {
+
+    /**
+     * NOTE 결과의 {@code note().content()}는 명령 접두어를 뺀, 기록할 본문이다.
+     *
+     * @return 규칙으로 확정한 의도. 판단을 LLM에 맡길 때는 비어 있음.
+     */
+    Optional<LlmIntentResult> classify(BrainRequest request);
+
+    static IntentPreClassifier none() {
+        return request -> Optional.empty();
+    }
+
+    /** 앞의 분류기부터 차례로 묻고 처음 확정한 결과를 쓴다. */
+    static IntentPreClassifier firstOf(IntentPreClassifier... classifiers) {
+        List<IntentPreClassifier> chain = List.of(classifiers);
+        return request -> {
+            for (IntentPreClassifier classifier : chain) {
+                Optional<LlmIntentResult> result = classifier.classify(request);
+                if (result.isPresent()) {
+                    return result;
+                }
+            }
+            return Optional.empty();
+        };
+    }
+}
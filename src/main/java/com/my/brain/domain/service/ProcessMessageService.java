@@ -13,10 +13,13 @@ import com.my.brain.domain.port.out.DockerPort;
 import com.my.brain.domain.port.out.FilePort;
 import com.my.brain.domain.port.out.GooglePort;
 import com.my.brain.domain.port.out.LlmPort;
-import com.my.brain.domain.port.out.ReplyPort;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
- * 왜: 모든 입력 처리를 단일 유스케이스로 수렴시켜 의도 파악, 외부 연동, 응답 전송을 일관되게 연결하기 위함.
+ * 왜: 모든 입력 처리를 단일 유스케이스로 수렴시켜 의도 파악, 외부 연동, 응답 생성을 일관되게 연결하기 위함.
+ * 응답 전송은 호출한 어댑터가 맡아, 부수 효과의 완료 기록과 응답 전달 확인을 따로 다룰 수 있게 한다.
  */
 public class ProcessMessageService implements ProcessMessageUseCase {
 
@@ -24,21 +27,31 @@ public class ProcessMessageService implements ProcessMessageUseCase {
     private final FilePort filePort;
     private final GooglePort googlePort;
     private final DockerPort dockerPort;
-    private final ReplyPort replyPort;
     private final ClockPort clockPort;
+    private final IntentPreClassifier preClassifier;
+    private final AtomicLong fastPathCount = new AtomicLong();
+    private final AtomicLong llmCount = new AtomicLong();
 
     public ProcessMessageService(LlmPort llmPort,
                                  FilePort filePort,
                                  GooglePort googlePort,
                                  DockerPort dockerPort,
-                                 ReplyPort replyPort,
                                  ClockPort clockPort) {
+        this(llmPort, filePort, googlePort, dockerPort, clockPort, IntentPreClassifier.none());
+    }
+
+    public ProcessMessageService(LlmPort llmPort,
+                                 FilePort filePort,
+                                 GooglePort googlePort,
+                                 DockerPort dockerPort,
+                                 ClockPort clockPort,
+                                 IntentPreClassifier preClassifier) {
         this.llmPort = llmPort;
         this.filePort = filePort;
         this.googlePort = googlePort;
         this.dockerPort = dockerPort;
-        this.replyPort = replyPort;
         this.clockPort = clockPort;
+        this.preClassifier = preClassifier;
     }
 
     @Override
@@ -46,8 +59,17 @@ public class ProcessMessageService implements ProcessMessageUseCase {
         if (isAuthCommand(request)) {
             return handleAuthCommand(request);
         }
-        // LLM으로 의도 파싱
-        LlmIntentResult intentResult = llmPort.parseIntent(request);
+        // 규칙으로 확정되는 명령은 LLM을 거치지 않는다.
+        Optional<LlmIntentResult> preClassified = preClassifier.classify(request);
+        LlmIntentResult intentResult;
+        if (preClassified.isPresent()) {
+            fastPathCount.incrementAndGet();
+            intentResult = preClassified.get();
+        } else {
+            llmCount.incrementAndGet();
+            // LLM으로 의도 파싱
+            intentResult = llmPort.parseIntent(request);
+        }
         if (intentResult == null) {
             throw new IntentParseException("LLM 결과가 null입니다.");
         }
@@ -55,7 +77,9 @@ public class ProcessMessageService implements ProcessMessageUseCase {
         return switch (intentResult.intentType()) {
             case CALENDAR -> handleCalendar(request, intentResult);
             case TASK -> handleTask(request, intentResult);
-            case NOTE -> handleNote(request, intentResult);
+            case NOTE -> handleNote(request, preClassified.isPresent() && intentResult.note() != null
+                    ? intentResult.note().content()
+                    : request.content());
             case SYNC -> handleSync(request);
             case UNKNOWN -> buildReply(request.userId(), "❓ 요청을 이해하지 못했습니다. 다시 시도해주세요.");
         };
@@ -73,13 +97,9 @@ public class ProcessMessageService implements ProcessMessageUseCase {
             );
             filePort.linkMeetingNote(filePort.ensureDailyNote(request), meetingNote);
             googlePort.createCalendarEvent(intentResult.calendarEvent());
-            ReplyMessage reply = buildReply(request.userId(), "✅ 일정이 등록되었습니다. (관련 노트: " + meetingNote.title() + ")");
-            replyPort.send(reply);
-            return reply;
+            return buildReply(request.userId(), "✅ 일정이 등록되었습니다. (관련 노트: " + meetingNote.title() + ")");
         } catch (GoogleCredentialNotFoundException e) {
-            ReplyMessage reply = buildReply(request.userId(), "🔐 Google 인증이 필요합니다. 링크: " + e.authUrl() + "\n승인 후 /auth <코드> 로 전송해주세요.");
-            replyPort.send(reply);
-            return reply;
+            return buildReply(request.userId(), "🔐 Google 인증이 필요합니다. 링크: " + e.authUrl() + "\n승인 후 /auth <코드> 로 전송해주세요.");
         }
     }
 
@@ -89,30 +109,22 @@ public class ProcessMessageService implements ProcessMessageUseCase {
         }
         try {
             googlePort.createTask(intentResult.todoItem(), request.content());
-            ReplyMessage reply = buildReply(request.userId(), "✅ 할 일이 등록되었습니다.");
-            replyPort.send(reply);
-            return reply;
+            return buildReply(request.userId(), "✅ 할 일이 등록되었습니다.");
         } catch (GoogleCredentialNotFoundException e) {
-            ReplyMessage reply = buildReply(request.userId(), "🔐 Google 인증이 필요합니다. 링크: " + e.authUrl() + "\n승인 후 /auth <코드> 로 전송해주세요.");
-            replyPort.send(reply);
-            return reply;
+            return buildReply(request.userId(), "🔐 Google 인증이 필요합니다. 링크: " + e.authUrl() + "\n승인 후 /auth <코드> 로 전송해주세요.");
         }
     }
 
-    private ReplyMessage handleNote(BrainRequest request, LlmIntentResult intentResult) {
+    private ReplyMessage handleNote(BrainRequest request, String text) {
         Note dailyNote = filePort.ensureDailyNote(request);
-        filePort.appendQuickLog(dailyNote, clockPort.now().toLocalTime() + " - " + request.content());
-        ReplyMessage reply = buildReply(request.userId(), "📝 노트에 기록했습니다.");
-        replyPort.send(reply);
-        return reply;
+        filePort.appendQuickLog(dailyNote, clockPort.now().toLocalTime() + " - " + text);
+        return buildReply(request.userId(), "📝 노트에 기록했습니다.");
     }
 
     private ReplyMessage handleSync(BrainRequest request) {
         String id = dockerPort.runSyncContainer();
         // 도메인은 동기화 완료 여부를 직접 기다리지 않고 성공 메시지를 반환
-        ReplyMessage reply = buildReply(request.userId(), "🔄 동기화를 시작했습니다. (컨테이너: " + id + ")");
-        replyPort.send(reply);
-        return reply;
+        return buildReply(request.userId(), "🔄 동기화를 시작했습니다. (컨테이너: " + id + ")");
     }
 
     private boolean isAuthCommand(BrainRequest request) {
@@ -123,22 +135,33 @@ public class ProcessMessageService implements ProcessMessageUseCase {
         String[] parts = request.content().trim().split("\\s+", 2);
         if (parts.length < 2 || parts[1].isBlank()) {
             String url = googlePort.generateAuthUrl();
-            ReplyMessage reply = buildReply(request.userId(), "🔑 Google 인증 링크: " + url + "\n승인 후 /auth <코드> 로 보내주세요.");
-            replyPort.send(reply);
-            return reply;
+            return buildReply(request.userId(), "🔑 Google 인증 링크: " + url + "\n승인 후 /auth <코드> 로 보내주세요.");
         }
         try {
             googlePort.exchangeAuthCode(parts[1].trim());
-            ReplyMessage reply = buildReply(request.userId(), "✅ 인증이 완료되었습니다. 이제 캘린더/할 일을 사용할 수 있습니다.");
-            replyPort.send(reply);
-            return reply;
+            return buildReply(request.userId(), "✅ 인증이 완료되었습니다. 이제 캘린더/할 일을 사용할 수 있습니다.");
         } catch (RuntimeException e) {
-            ReplyMessage reply = buildReply(request.userId(), "⚠️ 인증 코드 처리에 실패했습니다. 다시 시도해주세요.");
-            replyPort.send(reply);
-            return reply;
+            return buildReply(request.userId(), "⚠️ 인증 코드 처리에 실패했습니다. 다시 시도해주세요.");
         }
     }
 
+    /** 규칙으로 처리해 LLM을 건너뛴 요청 수. */
+    public long fastPathCount() {
+        return fastPathCount.get();
+    }
+
+    /** LLM으로 의도를 해석한 요청 수. */
+    public long llmCount() {
+        return llmCount.get();
+    }
+
+    /** 의도 해석 요청 중 LLM을 건너뛴 비율(0~1). 아직 요청이 없으면 0. */
+    public double bypassRatio() {
+        long fast = fastPathCount.get();
+        long total = fast + llmCount.get();
+        return total == 0 ? 0.0 : (double) fast / total;
+    }
+
     private ReplyMessage buildReply(String userId, String content) {
         return new ReplyMessage(userId, content);
     }
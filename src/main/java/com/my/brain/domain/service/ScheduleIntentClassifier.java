@@ -0,0 +1,88 @@
+package com.my.brain.domain.service;
+
+import com.my.brain.domain.model.BrainRequest;
+import com.my.brain.domain.model.CalendarEvent;
+import com.my.brain.domain.model.IntentType;
+import com.my.brain.domain.model.LlmIntentResult;
+import com.my.brain.domain.model.MessageType;
+import com.my.brain.domain.model.TemporalExpression;
+import com.my.brain.domain.model.TimeRange;
+import com.my.brain.domain.model.TodoItem;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+/**
+ * 왜: "내일 오후 2시 팀 회의", "금요일까지 보고서 제출"처럼 가장 흔한 일정/할 일 문장은 시간 표현과 핵심 단어만으로 결정되므로 LLM 없이 처리하기 위함.
+ * 시간 표현이 하나뿐이고 일정 단어와 할 일 단어 중 정확히 한쪽만 보일 때만 확정하며, 나머지는 LLM에 넘긴다.
+ */
+public class ScheduleIntentClassifier implements IntentPreClassifier {
+
+    /** 끝 시각이 없을 때 일정 길이. */
+    static final Duration DEFAULT_EVENT_DURATION = Duration.ofHours(1);
+
+    private static final Pattern CALENDAR_WORDS = Pattern.compile(
+            "회의|미팅|약속|면담|면접|통화|진료|병원|수업|세미나|발표|워크숍|행사|\\bmeeting\\b|\\bcall\\b|\\bappointment\\b|\\binterview\\b",
+            Pattern.CASE_INSENSITIVE);
+    private static final Pattern TASK_WORDS = Pattern.compile(
+            "마감|제출|해야|할\\s*일|리마인드|알려\\s*줘|잊지|\\bdeadline\\b|\\bdue\\b|\\btodo\\b|\\bremind\\b",
+            Pattern.CASE_INSENSITIVE);
+    /** 제목에 남기지 않을 요청 어미. "팀 회의 일정 잡아줘" → "팀 회의". */
+    private static final Pattern REQUEST_SUFFIX = Pattern.compile(
+            "\\s*(?:일정\\s*)?(?:을|를|으로|로)?\\s*(?:잡아|등록해|추가해|넣어|예약해|만들어|알려|리마인드해|기억해)\\s*(?:줘|주세요|줄래|줘요|둬)?[\\s.!~]*$");
+    private static final Pattern REQUEST_PREFIX = Pattern.compile(
+            "^(?:schedule|add|set\\s+up|remind\\s+me\\s+to|remind\\s+me(?:\\s+about)?)\\s+", Pattern.CASE_INSENSITIVE);
+    private static final Pattern EDGE_WORDS = Pattern.compile(
+            "^(?:(?:에|at|on|by|for|from)\\s+)+|(?:\\s+(?:에|at|on|by|for|from))+$|[\\s.!?~]+$", Pattern.CASE_INSENSITIVE);
+
+    private final TemporalExpressionParser parser;
+
+    public ScheduleIntentClassifier(TemporalExpressionParser parser) {
+        this.parser = parser;
+    }
+
+    @Override
+    public Optional<LlmIntentResult> classify(BrainRequest request) {
+        if (request.type() != MessageType.CHAT || request.content().strip().startsWith("/")) {
+            return Optional.empty();
+        }
+        Optional<TemporalExpression> parsed = parser.parse(request.content(), request.timestamp());
+        if (parsed.isEmpty()) {
+            return Optional.empty();
+        }
+        TemporalExpression expression = parsed.get();
+        // "어제 3시 회의 정리해서 내일까지 제출"처럼 표현이 여럿이거나 지난 날짜면 어느 시간으로 등록할지 문맥을 봐야 한다.
+        if (expression.ambiguous() || expression.start().toLocalDate()
+                .isBefore(request.timestamp().withOffsetSameInstant(expression.start().getOffset()).toLocalDate())) {
+            return Optional.empty();
+        }
+        // 시간 표현을 걷어 낸 나머지로 판단해야 "4시까지" 같은 조사가 할 일 단어로 오인되지 않는다.
+        boolean calendar = CALENDAR_WORDS.matcher(expression.remainder()).find();
+        boolean task = TASK_WORDS.matcher(expression.remainder()).find();
+        if (calendar == task) {
+            return Optional.empty();
+        }
+        String title = title(expression.remainder());
+        if (title.isEmpty()) {
+            return Optional.empty();
+        }
+        if (calendar) {
+            if (!expression.timeSpecified()) {
+                // 시각 없는 일정은 종일/시간 미정 여부를 규칙으로 정할 수 없다.
+                return Optional.empty();
+            }
+            TimeRange range = new TimeRange(expression.start(),
+                    expression.end() != null ? expression.end() : expression.start().plus(DEFAULT_EVENT_DURATION));
+            return Optional.of(new LlmIntentResult(IntentType.CALENDAR,
+                    new CalendarEvent(title, range, null, null, null, null), null, null));
+        }
+        return Optional.of(new LlmIntentResult(IntentType.TASK, null, new TodoItem(title, expression.start()), null));
+    }
+
+    static String title(String remainder) {
+        String title = REQUEST_SUFFIX.matcher(remainder).replaceAll("");
+        title = REQUEST_PREFIX.matcher(title).replaceAll("");
+        return EDGE_WORDS.matcher(title).replaceAll("").strip();
+    }
+}
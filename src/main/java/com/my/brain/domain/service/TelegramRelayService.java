@@ -4,6 +4,8 @@ import com.my.brain.domain.model.TelegramOutgoingMessage;
 import com.my.brain.domain.port.in.RelayTelegramMessageUseCase;
 import com.my.brain.domain.port.out.TelegramSendPort;
 
+import java.util.concurrent.CompletableFuture;
+
 /**
  * 왜: 외부 발신 요청 처리 로직을 한 곳에서 검증 후 전송하도록 분리해 책임을 명확히 하기 위함.
  */
@@ -19,4 +21,9 @@ public class TelegramRelayService implements RelayTelegramMessageUseCase {
     public void relay(TelegramOutgoingMessage message) {
         telegramSendPort.send(message);
     }
+
+    @Override
+    public CompletableFuture<Void> relayAsync(TelegramOutgoingMessage message) {
+        return telegramSendPort.sendAsync(message);
+    }
 }
@@ -4,7 +4,10 @@ import com.my.brain.domain.model.TelegramIncomingMessage;
 import com.my.brain.domain.port.out.TelegramIncomingPublishPort;
 import com.my.brain.domain.port.out.TelegramUpdatePort;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 /**
  * 왜: 텔레그램 업데이트 조회와 후속 전달을 도메인 계층에서 조율해 중복/누락을 방지하기 위함.
@@ -20,13 +23,38 @@ public class TelegramUpdateService {
         this.telegramIncomingPublishPort = telegramIncomingPublishPort;
     }
 
+    /**
+     * 왜: 웹훅 모드로 돌던 봇을 폴링으로 되돌려도 운영자가 따로 `deleteWebhook`을 부르지 않게 하기 위함.
+     */
+    public void prepareForPolling() {
+        telegramUpdatePort.deleteWebhook();
+    }
+
+    /**
+     * 왜: 모든 업데이트의 발행이 확인된 뒤에만 다음 오프셋을 돌려줘, 호출자가 이를 저장해도 재시작 시 유실이 없게 한다.
+     * 발행이 하나라도 실패하면 예외로 끝나 같은 오프셋부터 다시 조회한다.
+     */
     public long fetchAndPublish(long offset, int timeoutSeconds) {
-        List<TelegramIncomingMessage> updates = telegramUpdatePort.fetchUpdates(offset, timeoutSeconds);
-        long nextOffset = offset;
-        for (TelegramIncomingMessage update : updates) {
-            telegramIncomingPublishPort.publish(update);
-            nextOffset = Math.max(nextOffset, update.updateId() + 1);
+        List<CompletableFuture<Void>> confirmations = new ArrayList<>();
+        // 파싱되는 대로 발행을 시작해 응답 전체를 목록으로 들고 있지 않는다.
+        long lastUpdateId = telegramUpdatePort.fetchUpdates(offset, timeoutSeconds,
+                update -> confirmations.add(telegramIncomingPublishPort.publishAsync(update)));
+        awaitAll(confirmations);
+        return lastUpdateId < 0 ? offset : Math.max(offset, lastUpdateId + 1);
+    }
+
+    /**
+     * 왜: 웹훅처럼 텔레그램이 업데이트를 한 건씩 밀어 넣는 경로도 폴링과 같은 전달 채널을 거치게 하기 위함.
+     */
+    public void publish(TelegramIncomingMessage update) {
+        awaitAll(List.of(telegramIncomingPublishPort.publishAsync(update)));
+    }
+
+    private void awaitAll(List<CompletableFuture<Void>> confirmations) {
+        try {
+            CompletableFuture.allOf(confirmations.toArray(CompletableFuture[]::new)).join();
+        } catch (CompletionException e) {
+            throw new IllegalStateException("텔레그램 수신 메시지 발행 확인 실패", e.getCause());
         }
-        return nextOffset;
     }
 }
@@ -0,0 +1,370 @@
+package com.my.brain.domain.service;
+
+import com.my.brain.domain.model.TemporalExpression;
+import com.my.brain.domain.port.out.ClockPort;
+
+import java.time.DateTimeException;
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.TemporalAdjusters;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 왜: "내일 오후 2시", "다음주 금요일", "30분 후" 같은 흔한 시간 표현을 LLM에 맡기면 기준 시각 오독으로 재시도 비용이 생기므로,
+ * 프로세스 안에서 결정적으로 계산해 일정/할 일 시간을 채우거나 검증하기 위함.
+ * 기준 시각은 요청 시각을 {@link ClockPort}의 오프셋(사용자 시간대)으로 옮긴 값이다.
+ * 날짜 표현과 시각 표현은 각각 첫 번째 것만 쓰고, 시각 두 개가 "~", "부터", "to"로 이어지면 시작/끝으로 본다.
+ * 그 밖에 날짜/시각 표현이 더 남아 있으면 어느 것이 일정 시간인지 알 수 없으므로 {@link TemporalExpression#ambiguous()}로 알린다.
+ */
+public class TemporalExpressionParser {
+
+    private static final int CASE_INSENSITIVE = Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE;
+    private static final String NATIVE_NUMBER = "열한|열두|한|두|세|네|다섯|여섯|일곱|여덟|아홉|열";
+    /** 시각 앞의 고유어 숫자는 단어 중간("이네시" 등)이 아니어야 하지만 "오후두시"처럼 오전/오후 바로 뒤는 허용한다. */
+    private static final String HOUR = "(?:(?<!\\d)(\\d{1,2})|(?<![\\p{L}&&[^전후침낮녁밤벽]])(" + NATIVE_NUMBER + "))";
+    private static final String KO_MERIDIEM = "(오전|오후|아침|낮|저녁|밤|새벽)";
+    private static final String EN_MERIDIEM = "(am|pm|a\\.m\\.|p\\.m\\.)(?![a-z])";
+    private static final String PARTICLE = "(?:에는|에|까지|부터|쯤)?";
+    /** 경과량은 네 자리까지만 읽는다. 더 긴 숫자는 long이나 날짜 범위를 넘어 예외가 나므로 시간 표현으로 보지 않는다. */
+    private static final String AMOUNT = "\\d{1,4}(?!\\d)";
+
+    private static final Pattern KO_ELAPSED = Pattern.compile(
+            "(?:(?<!\\d)(" + AMOUNT + ")|(" + NATIVE_NUMBER + "))\\s*(분|시간|일|주)\\s*(?:후|뒤|있다가)" + PARTICLE);
+    private static final Pattern EN_ELAPSED = Pattern.compile(
+            "\\bin\\s+(" + AMOUNT + "|an?|one|two|three)\\s*(min(?:ute)?s?|hours?|hrs?|days?|weeks?)\\b"
+                    + "|\\b(" + AMOUNT + ")\\s*(min(?:ute)?s?|hours?|hrs?|days?|weeks?)\\s+(?:later|from\\s+now)\\b",
+            CASE_INSENSITIVE);
+
+    private static final Pattern ISO_DATE = Pattern.compile("(?<!\\d)(\\d{4})-(\\d{1,2})-(\\d{1,2})(?!\\d)" + PARTICLE);
+    private static final Pattern KO_MONTH_DAY = Pattern.compile(
+            "(?:(?<!\\d)(\\d{4})\\s*년\\s*)?(?<!\\d)(\\d{1,2})\\s*월\\s*(\\d{1,2})\\s*일(?!요일)" + PARTICLE);
+    private static final Pattern SLASH_DATE = Pattern.compile("(?<![\\d/])(\\d{1,2})/(\\d{1,2})(?![\\d/])" + PARTICLE);
+    private static final Pattern KO_RELATIVE_DAY = Pattern.compile(
+            "(내일\\s*모레|오늘|금일|내일|명일|모레|글피|어제|어저께|엊그제|그제|그저께)" + PARTICLE);
+    private static final Pattern EN_RELATIVE_DAY = Pattern.compile(
+            "\\b(?:on\\s+)?(the\\s+day\\s+after\\s+tomorrow|day\\s+after\\s+tomorrow|today|tonight|tomorrow|yesterday)\\b",
+            CASE_INSENSITIVE);
+    private static final Pattern KO_WEEKDAY = Pattern.compile(
+            "(?:(이번\\s*주|금주|다음\\s*주|담주|차주|다다음\\s*주)\\s*)?([월화수목금토일])요일" + PARTICLE);
+    private static final Pattern EN_WEEKDAY = Pattern.compile(
+            "\\b(?:on\\s+)?(?:(this|next)\\s+)?(monday|tuesday|wednesday|thursday|friday|saturday|sunday)\\b", CASE_INSENSITIVE);
+    private static final List<Pattern> DATE_PATTERNS = List.of(
+            KO_ELAPSED, EN_ELAPSED, ISO_DATE, KO_MONTH_DAY, SLASH_DATE, KO_RELATIVE_DAY, EN_RELATIVE_DAY, KO_WEEKDAY, EN_WEEKDAY);
+
+    private static final Pattern NAMED_TIME = Pattern.compile("(?:\\bat\\s+)?(정오|자정|\\bnoon\\b|\\bmidnight\\b)" + PARTICLE, CASE_INSENSITIVE);
+    private static final Pattern EN_TIME = Pattern.compile(
+            "(?:\\bat\\s+)?(?<![\\d:])(\\d{1,2})(?::(\\d{2}))?\\s*" + EN_MERIDIEM, CASE_INSENSITIVE);
+    private static final Pattern COLON_TIME = Pattern.compile(
+            "(?:\\bat\\s+)?(?:" + KO_MERIDIEM + "\\s*)?(?<![\\d:])(\\d{1,2}):(\\d{2})(?![\\d:])" + PARTICLE);
+    private static final Pattern KO_TIME = Pattern.compile(
+            "(?:" + KO_MERIDIEM + "\\s*)?" + HOUR + "\\s*시(?!간)(?:\\s*(\\d{1,2})\\s*분|\\s*(반))?" + PARTICLE);
+    private static final Pattern EN_AT_TIME = Pattern.compile("\\bat\\s+(\\d{1,2})(?![\\d:])", CASE_INSENSITIVE);
+    private static final List<Pattern> TIME_PATTERNS = List.of(NAMED_TIME, EN_TIME, COLON_TIME, KO_TIME, EN_AT_TIME);
+    private static final Pattern RANGE_SEPARATOR = Pattern.compile("\\s*(?:~|-|–|to|until|till)?\\s*", CASE_INSENSITIVE);
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private static final Map<String, Integer> NATIVE_NUMBERS = Map.ofEntries(
+            Map.entry("한", 1), Map.entry("두", 2), Map.entry("세", 3), Map.entry("네", 4), Map.entry("다섯", 5),
+            Map.entry("여섯", 6), Map.entry("일곱", 7), Map.entry("여덟", 8), Map.entry("아홉", 9), Map.entry("열", 10),
+            Map.entry("열한", 11), Map.entry("열두", 12), Map.entry("a", 1), Map.entry("an", 1), Map.entry("one", 1),
+            Map.entry("two", 2), Map.entry("three", 3));
+    private static final Map<String, DayOfWeek> WEEKDAYS = Map.ofEntries(
+            Map.entry("월", DayOfWeek.MONDAY), Map.entry("화", DayOfWeek.TUESDAY), Map.entry("수", DayOfWeek.WEDNESDAY),
+            Map.entry("목", DayOfWeek.THURSDAY), Map.entry("금", DayOfWeek.FRIDAY), Map.entry("토", DayOfWeek.SATURDAY),
+            Map.entry("일", DayOfWeek.SUNDAY));
+
+    private final ClockPort clockPort;
+
+    public TemporalExpressionParser(ClockPort clockPort) {
+        this.clockPort = clockPort;
+    }
+
+    /** 현재 시각을 기준으로 해석한다. */
+    public Optional<TemporalExpression> parse(String text) {
+        return parse(text, clockPort.now());
+    }
+
+    /**
+     * @param reference 상대 표현의 기준 시각(보통 요청 시각)
+     * @return 날짜나 시각 표현이 하나도 없으면 비어 있음
+     */
+    public Optional<TemporalExpression> parse(String text, OffsetDateTime reference) {
+        ZoneOffset offset = clockPort.now().getOffset();
+        OffsetDateTime now = reference.withOffsetSameInstant(offset);
+        // 찾은 표현은 같은 길이의 공백으로 지워, 다음 패턴이 다시 잡지 않게 하면서 위치는 원문과 맞춘다.
+        StringBuilder masked = new StringBuilder(text);
+
+        Matcher elapsed = KO_ELAPSED.matcher(masked);
+        String amount = null;
+        String unit = null;
+        if (elapsed.find()) {
+            amount = elapsed.group(1) != null ? elapsed.group(1) : elapsed.group(2);
+            unit = elapsed.group(3);
+        } else if ((elapsed = EN_ELAPSED.matcher(masked)).find()) {
+            amount = elapsed.group(1) != null ? elapsed.group(1) : elapsed.group(3);
+            unit = elapsed.group(2) != null ? elapsed.group(2) : elapsed.group(4);
+        }
+        LocalDate date = null;
+        if (amount != null) {
+            mask(masked, elapsed);
+            long n = number(amount);
+            String u = unit.toLowerCase(Locale.ROOT);
+            if (u.equals("분") || u.startsWith("min")) {
+                return Optional.of(new TemporalExpression(now.plus(Duration.ofMinutes(n)), null, true, true, hasMore(masked), remainder(masked)));
+            }
+            if (u.equals("시간") || u.startsWith("h")) {
+                return Optional.of(new TemporalExpression(now.plus(Duration.ofHours(n)), null, true, true, hasMore(masked), remainder(masked)));
+            }
+            date = now.toLocalDate().plusDays(u.equals("주") || u.startsWith("w") ? n * 7 : n);
+        }
+
+        LocalDate today = now.toLocalDate();
+        boolean evening = false;
+        boolean rollsWeekly = false;
+        Matcher m;
+        if (date == null && (m = ISO_DATE.matcher(masked)).find()) {
+            date = date(Integer.parseInt(m.group(1)), Integer.parseInt(m.group(2)), Integer.parseInt(m.group(3)));
+            consume(masked, m, date);
+        }
+        if (date == null && (m = KO_MONTH_DAY.matcher(masked)).find()) {
+            date = m.group(1) != null
+                    ? date(Integer.parseInt(m.group(1)), Integer.parseInt(m.group(2)), Integer.parseInt(m.group(3)))
+                    : upcoming(today, Integer.parseInt(m.group(2)), Integer.parseInt(m.group(3)));
+            consume(masked, m, date);
+        }
+        if (date == null && (m = SLASH_DATE.matcher(masked)).find()) {
+            date = upcoming(today, Integer.parseInt(m.group(1)), Integer.parseInt(m.group(2)));
+            consume(masked, m, date);
+        }
+        if (date == null && (m = KO_RELATIVE_DAY.matcher(masked)).find()) {
+            String word = WHITESPACE.matcher(m.group(1)).replaceAll("");
+            date = today.plusDays(switch (word) {
+                case "내일", "명일" -> 1;
+                case "모레", "내일모레" -> 2;
+                case "글피" -> 3;
+                case "어제", "어저께" -> -1;
+                case "엊그제", "그제", "그저께" -> -2;
+                default -> 0;
+            });
+            mask(masked, m);
+        }
+        if (date == null && (m = EN_RELATIVE_DAY.matcher(masked)).find()) {
+            String word = m.group(1).toLowerCase(Locale.ROOT);
+            date = today.plusDays(switch (word) {
+                case "tomorrow" -> 1;
+                case "yesterday" -> -1;
+                default -> word.endsWith("tomorrow") ? 2 : 0;
+            });
+            evening = word.equals("tonight");
+            mask(masked, m);
+        }
+        if (date == null && (m = KO_WEEKDAY.matcher(masked)).find()) {
+            String week = m.group(1) == null ? null : WHITESPACE.matcher(m.group(1)).replaceAll("");
+            int weeksAhead = week == null ? -1 : switch (week) {
+                case "다음주", "담주", "차주" -> 1;
+                case "다다음주" -> 2;
+                default -> 0;
+            };
+            date = weekday(today, WEEKDAYS.get(m.group(2)), weeksAhead);
+            rollsWeekly = weeksAhead < 0;
+            mask(masked, m);
+        }
+        if (date == null && (m = EN_WEEKDAY.matcher(masked)).find()) {
+            boolean next = "next".equalsIgnoreCase(m.group(1));
+            date = weekday(today, DayOfWeek.valueOf(m.group(2).toUpperCase(Locale.ROOT)), next ? 1 : -1);
+            rollsWeekly = !next;
+            mask(masked, m);
+        }
+
+        TimeMatch time = nextTime(masked, 0, evening);
+        TimeMatch endTime = null;
+        if (time != null) {
+            mask(masked, time.start(), time.end());
+            TimeMatch candidate = nextTime(masked, time.end(), evening);
+            if (candidate != null && RANGE_SEPARATOR.matcher(masked.subSequence(time.end(), candidate.start())).matches()) {
+                endTime = candidate;
+                mask(masked, time.end(), candidate.end());
+            }
+        }
+        if (date == null && time == null) {
+            return Optional.empty();
+        }
+
+        OffsetDateTime base = (date != null ? date : today).atStartOfDay().atOffset(offset);
+        OffsetDateTime start = base.plusMinutes(time != null ? time.minutes() : 0);
+        if (time != null && !start.isAfter(now)) {
+            // 날짜 없이 시각만 말했는데 이미 지났다면 다음 날, "금요일 3시"가 오늘 지난 시각이면 다음 주로 본다.
+            if (date == null) {
+                base = base.plusDays(1);
+                start = start.plusDays(1);
+            } else if (rollsWeekly) {
+                base = base.plusWeeks(1);
+                start = start.plusWeeks(1);
+            }
+        }
+        OffsetDateTime end = null;
+        if (endTime != null) {
+            end = base.plusMinutes(endTime.minutes());
+            // "오전 11시~1시"처럼 끝에 오전/오후가 없으면 시작 이후의 가장 가까운 같은 시각으로 본다.
+            if (!endTime.explicitMeridiem() && !end.isAfter(start) && end.plusHours(12).isAfter(start)) {
+                end = end.plusHours(12);
+            }
+            if (!end.isAfter(start)) {
+                end = end.plusDays(1);
+            }
+        }
+        return Optional.of(new TemporalExpression(start, end, date != null, time != null, hasMore(masked), remainder(masked)));
+    }
+
+    /** 쓰고 남은 본문에 날짜나 시각 표현이 또 있는지. */
+    private static boolean hasMore(StringBuilder masked) {
+        for (Pattern pattern : DATE_PATTERNS) {
+            if (pattern.matcher(masked).find()) {
+                return true;
+            }
+        }
+        return nextTime(masked, 0, false) != null;
+    }
+
+    private static TimeMatch nextTime(StringBuilder masked, int from, boolean evening) {
+        TimeMatch earliest = null;
+        for (Pattern pattern : TIME_PATTERNS) {
+            Matcher m = pattern.matcher(masked);
+            int position = from;
+            while (m.find(position)) {
+                TimeMatch match = time(pattern, m, evening);
+                if (match != null) {
+                    if (earliest == null || match.start() < earliest.start()) {
+                        earliest = match;
+                    }
+                    break;
+                }
+                position = m.start() + 1;
+            }
+        }
+        return earliest;
+    }
+
+    private static TimeMatch time(Pattern pattern, Matcher m, boolean evening) {
+        int minutes;
+        boolean explicit;
+        if (pattern == NAMED_TIME) {
+            String name = m.group(1).toLowerCase(Locale.ROOT);
+            minutes = name.equals("정오") || name.equals("noon") ? 12 * 60 : 24 * 60;
+            explicit = true;
+        } else if (pattern == EN_TIME) {
+            minutes = minutes(m.group(3), Integer.parseInt(m.group(1)), minute(m.group(2)), evening);
+            explicit = true;
+        } else if (pattern == COLON_TIME) {
+            int hour = Integer.parseInt(m.group(2));
+            minutes = minutes(m.group(1), hour, minute(m.group(3)), evening);
+            explicit = m.group(1) != null || hour == 0 || hour > 12;
+        } else if (pattern == KO_TIME) {
+            int hour = m.group(2) != null ? Integer.parseInt(m.group(2)) : NATIVE_NUMBERS.get(m.group(3));
+            minutes = minutes(m.group(1), hour, m.group(5) != null ? 30 : minute(m.group(4)), evening);
+            explicit = m.group(1) != null;
+        } else {
+            minutes = minutes(null, Integer.parseInt(m.group(1)), 0, evening);
+            explicit = false;
+        }
+        return minutes < 0 ? null : new TimeMatch(m.start(), m.end(), minutes, explicit);
+    }
+
+    /**
+     * @return 기준일 0시부터의 분. "밤 12시", "자정"처럼 다음 날로 넘어가는 시각은 1440 이상이며, 잘못된 시각이면 -1.
+     */
+    private static int minutes(String meridiem, int hour, int minute, boolean evening) {
+        if (hour > 24 || minute > 59) {
+            return -1;
+        }
+        if (hour > 12) {
+            // 13시, 15:30처럼 24시간제로 쓴 시각은 오전/오후와 상관없이 그대로 둔다.
+            return hour * 60 + minute;
+        }
+        String mark = meridiem == null ? null : meridiem.toLowerCase(Locale.ROOT).replace(".", "");
+        int h = hour;
+        if (mark == null) {
+            // 오전/오후 없이 "2시"라고 하면 대개 오후이고, "tonight"이면 저녁이다.
+            if (hour >= 1 && hour < 12 && (evening || hour <= 6)) {
+                h = hour + 12;
+            }
+        } else {
+            switch (mark) {
+                case "오후", "저녁", "pm" -> h = hour == 12 ? 12 : hour + 12;
+                case "밤" -> h = hour == 12 ? 24 : hour <= 4 ? hour + 24 : hour + 12;
+                case "낮" -> h = hour <= 6 ? hour + 12 : hour;
+                default -> h = hour == 12 ? 0 : hour;
+            }
+        }
+        return h * 60 + minute;
+    }
+
+    private static int minute(String value) {
+        return value == null ? 0 : Integer.parseInt(value);
+    }
+
+    private static long number(String value) {
+        Integer nativeNumber = NATIVE_NUMBERS.get(value.toLowerCase(Locale.ROOT));
+        return nativeNumber != null ? nativeNumber : Long.parseLong(value);
+    }
+
+    private static LocalDate date(int year, int month, int day) {
+        try {
+            return LocalDate.of(year, month, day);
+        } catch (DateTimeException e) {
+            return null;
+        }
+    }
+
+    /** 연도 없이 말한 월/일은 이미 지났으면 내년으로 본다. */
+    private static LocalDate upcoming(LocalDate today, int month, int day) {
+        LocalDate date = date(today.getYear(), month, day);
+        if (date != null && date.isBefore(today)) {
+            date = date(today.getYear() + 1, month, day);
+        }
+        return date;
+    }
+
+    /**
+     * @param weeksAhead 0이면 이번 주, 1이면 다음 주(월요일 시작). 음수면 오늘을 포함해 가장 가까운 그 요일.
+     */
+    private static LocalDate weekday(LocalDate today, DayOfWeek dayOfWeek, int weeksAhead) {
+        if (weeksAhead < 0) {
+            return today.with(TemporalAdjusters.nextOrSame(dayOfWeek));
+        }
+        return today.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY))
+                .plusWeeks(weeksAhead)
+                .plusDays(dayOfWeek.getValue() - 1L);
+    }
+
+    private static void consume(StringBuilder masked, Matcher m, LocalDate date) {
+        if (date != null) {
+            mask(masked, m);
+        }
+    }
+
+    private static void mask(StringBuilder masked, Matcher m) {
+        mask(masked, m.start(), m.end());
+    }
+
+    private static void mask(StringBuilder masked, int start, int end) {
+        for (int i = start; i < end; i++) {
+            masked.setCharAt(i, ' ');
+        }
+    }
+
+    private static String remainder(StringBuilder masked) {
+        return WHITESPACE.matcher(masked).replaceAll(" ").strip();
+    }
+
+    private record TimeMatch(int start, int end, int minutes, boolean explicitMeridiem) {
+    }
+}
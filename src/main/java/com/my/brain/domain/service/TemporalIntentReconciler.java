@@ -0,0 +1,146 @@
+package com.my.brain.domain.service;
+
+import com.my.brain.domain.model.BrainRequest;
+import com.my.brain.domain.model.CalendarEvent;
+import com.my.brain.domain.model.IntentType;
+import com.my.brain.domain.model.LlmIntentResult;
+import com.my.brain.domain.model.TemporalExpression;
+import com.my.brain.domain.model.TimeRange;
+import com.my.brain.domain.model.TodoItem;
+import com.my.brain.domain.port.out.LlmPort;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 왜: LLM이 "내일 오후 2시"를 엉뚱한 날이나 시각으로 읽어도 재시도 없이 바로잡기 위해,
+ * 본문에서 결정적으로 계산한 시간으로 일정/할 일 시간을 비어 있으면 채우고 어긋나면 덮어쓴다.
+ * 덮어쓰기는 본문에 날짜 표현과 시각 표현이 정확히 하나씩 있을 때만 한다. "월요일 회의를 화요일 3시로 옮겨줘"처럼
+ * 표현이 여럿이거나 날짜만 있으면 어느 쪽이 맞는지 규칙으로 알 수 없으므로 LLM 값을 두고 불일치만 센다.
+ */
+public class TemporalIntentReconciler implements LlmPort {
+
+    private final LlmPort delegate;
+    private final TemporalExpressionParser parser;
+    private final AtomicLong filled = new AtomicLong();
+    private final AtomicLong corrected = new AtomicLong();
+    private final AtomicLong mismatched = new AtomicLong();
+
+    public TemporalIntentReconciler(LlmPort delegate, TemporalExpressionParser parser) {
+        this.delegate = delegate;
+        this.parser = parser;
+    }
+
+    @Override
+    public LlmIntentResult parseIntent(BrainRequest request) {
+        LlmIntentResult result = delegate.parseIntent(request);
+        if (result == null || (result.intentType() != IntentType.CALENDAR && result.intentType() != IntentType.TASK)) {
+            return result;
+        }
+        Optional<TemporalExpression> parsed = parser.parse(request.content(), request.timestamp());
+        if (result.intentType() == IntentType.CALENDAR && result.calendarEvent() != null) {
+            return reconcileCalendar(result, parsed);
+        }
+        if (result.intentType() == IntentType.TASK && result.todoItem() != null && parsed.isPresent()) {
+            return reconcileTask(result, parsed.get());
+        }
+        return result;
+    }
+
+    private LlmIntentResult reconcileCalendar(LlmIntentResult result, Optional<TemporalExpression> parsed) {
+        CalendarEvent event = result.calendarEvent();
+        OffsetDateTime start = event.timeRange().start();
+        OffsetDateTime end = event.timeRange().end();
+        Duration length = start != null && end != null ? Duration.between(start, end) : ScheduleIntentClassifier.DEFAULT_EVENT_DURATION;
+        OffsetDateTime newStart = start;
+        OffsetDateTime newEnd = end;
+        if (parsed.isPresent()) {
+            TemporalExpression expression = parsed.get();
+            OffsetDateTime expectedStart = expected(start, expression);
+            OffsetDateTime expectedEnd = expression.timeSpecified() ? expression.end() : null;
+            if (accepts(start, expectedStart, expression)) {
+                newStart = expectedStart;
+                newEnd = expectedEnd != null ? expectedEnd : newStart.plus(length);
+            } else if (same(start, expectedStart) && expectedEnd != null && accepts(end, expectedEnd, expression)) {
+                newEnd = expectedEnd;
+            }
+        }
+        if (newStart != null && newEnd == null) {
+            // 캘린더는 종료 시각이 없으면 등록되지 않으므로 기본 길이로 채운다.
+            newEnd = newStart.plus(length);
+        }
+        if (same(start, newStart) && same(end, newEnd)) {
+            return result;
+        }
+        count(start == null || end == null);
+        CalendarEvent adjusted = new CalendarEvent(event.summary(), new TimeRange(newStart, newEnd),
+                event.location(), event.attendees(), event.description(), event.linkedNote());
+        return new LlmIntentResult(result.intentType(), adjusted, result.todoItem(), result.note());
+    }
+
+    private LlmIntentResult reconcileTask(LlmIntentResult result, TemporalExpression expression) {
+        TodoItem todo = result.todoItem();
+        OffsetDateTime due = expected(todo.dueDate(), expression);
+        if (!accepts(todo.dueDate(), due, expression)) {
+            return result;
+        }
+        count(todo.dueDate() == null);
+        return new LlmIntentResult(result.intentType(), result.calendarEvent(), new TodoItem(todo.description(), due), result.note());
+    }
+
+    /**
+     * @return 본문 표현에 맞는 시각. 날짜만 있는 표현이면 LLM 시각의 시:분을 그 날짜로 옮긴다.
+     */
+    private static OffsetDateTime expected(OffsetDateTime llmTime, TemporalExpression expression) {
+        if (expression.timeSpecified() || llmTime == null) {
+            return expression.start();
+        }
+        OffsetDateTime local = llmTime.withOffsetSameInstant(expression.start().getOffset());
+        if (local.toLocalDate().equals(expression.start().toLocalDate())) {
+            return llmTime;
+        }
+        return expression.start().with(local.toLocalTime());
+    }
+
+    /**
+     * @return 본문 시간으로 바꿀지. 비어 있으면 표현이 하나뿐일 때 채우고, 값이 있으면 날짜와 시각이 하나씩일 때만 바로잡는다.
+     * 바꾸지 않는 불일치는 {@link #mismatchedCount()}로 센다.
+     */
+    private boolean accepts(OffsetDateTime llmTime, OffsetDateTime expected, TemporalExpression expression) {
+        if (same(llmTime, expected)) {
+            return false;
+        }
+        boolean accepted = llmTime == null
+                ? !expression.ambiguous()
+                : expression.dateSpecified() && expression.timeSpecified() && !expression.ambiguous();
+        if (!accepted) {
+            mismatched.incrementAndGet();
+        }
+        return accepted;
+    }
+
+    private static boolean same(OffsetDateTime a, OffsetDateTime b) {
+        return a == null ? b == null : b != null && a.isEqual(b);
+    }
+
+    private void count(boolean missing) {
+        (missing ? filled : corrected).incrementAndGet();
+    }
+
+    /** LLM이 비워 둔 시간을 채운 횟수. */
+    public long filledCount() {
+        return filled.get();
+    }
+
+    /** LLM 시간이 본문과 달라 바로잡은 횟수. */
+    public long correctedCount() {
+        return corrected.get();
+    }
+
+    /** LLM 시간이 본문과 다르거나 비어 있었지만 본문 표현이 모호해 그대로 둔 횟수. */
+    public long mismatchedCount() {
+        return mismatched.get();
+    }
+}
@@ -0,0 +1,64 @@
+package com.my.brain.adapter.in.deadletter;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.sqlite.SQLiteDataSource;
+
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SqliteDeadLetterStoreTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void filtersParkedMessagesByReasonUserAndTime() {
+        SQLiteDataSource dataSource = new SQLiteDataSource();
+        dataSource.setUrl("jdbc:sqlite:" + tempDir.resolve("dlq.db").toAbsolutePath());
+        SqliteDeadLetterStore store = new SqliteDeadLetterStore(dataSource);
+        store.init();
+
+        Instant base = Instant.parse("2026-01-01T00:00:00Z");
+        store.park("rejected", "brain.inbox.q", "user-1", "c-1", "{\"n\":1}", 0, base);
+        store.park("overloaded", "brain.inbox.q", "user-1", "c-2", "{\"n\":2}", 0, base.plusSeconds(60));
+        store.park("overloaded", "brain.inbox.q", "user-2", null, "{\"n\":3}", 0, base.plusSeconds(120));
+
+        assertThat(store.find(RedriveFilter.all(), 0, 10)).hasSize(3);
+        assertThat(store.find(new RedriveFilter(Set.of("overloaded"), null, null, null, null), 0, 10)).hasSize(2);
+        assertThat(store.find(new RedriveFilter(null, "user-1", base.plusSeconds(30), null, null), 0, 10))
+                .extracting(ParkedDeadLetter::payload)
+                .containsExactly("{\"n\":2}");
+        assertThat(store.countByReason()).containsEntry("overloaded", 2L);
+
+        List<ParkedDeadLetter> firstPage = store.find(RedriveFilter.all(), 0, 2);
+        store.delete(firstPage.get(0).id());
+        assertThat(store.find(RedriveFilter.all(), firstPage.get(1).id(), 10))
+                .extracting(ParkedDeadLetter::payload)
+                .containsExactly("{\"n\":3}");
+    }
+
+    @Test
+    void skipsMessagesThatReachedRedriveLimit() {
+        SQLiteDataSource dataSource = new SQLiteDataSource();
+        dataSource.setUrl("jdbc:sqlite:" + tempDir.resolve("dlq.db").toAbsolutePath());
+        SqliteDeadLetterStore store = new SqliteDeadLetterStore(dataSource);
+        store.init();
+
+        Instant base = Instant.parse("2026-01-01T00:00:00Z");
+        store.park("rejected", "brain.inbox.q", "user-1", null, "{\"n\":1}", 0, base);
+        store.park("rejected", "brain.inbox.q", "user-1", null, "{\"n\":2}", 3, base);
+
+        assertThat(store.find(new RedriveFilter(null, null, null, null, 3), 0, 10))
+                .extracting(ParkedDeadLetter::payload)
+                .containsExactly("{\"n\":1}");
+        // 상한을 넘긴 메시지도 지우지 않고 보관소에 남는다.
+        assertThat(store.find(RedriveFilter.all(), 0, 10))
+                .extracting(ParkedDeadLetter::redriveCount)
+                .containsExactly(0, 3);
+    }
+}
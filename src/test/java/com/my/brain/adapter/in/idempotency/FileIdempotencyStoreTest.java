@@ -0,0 +1,71 @@
+package com.my.brain.adapter.in.idempotency;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FileIdempotencyStoreTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void rebuildsIndexFromSegmentsAfterRestart() {
+        Path logPath = tempDir.resolve("idempotency.log");
+        AtomicLong now = new AtomicLong(1_000);
+
+        FileIdempotencyStore store = new FileIdempotencyStore(logPath, Duration.ofHours(1), Duration.ofMinutes(5), Duration.ofMinutes(10), Duration.ofSeconds(1), now::get);
+        assertThat(store.tryClaim("evt-1")).isTrue();
+        assertThat(store.tryClaim("evt-1")).isFalse();
+        store.markProcessed("evt-1");
+        store.release("evt-1");
+        assertThat(store.tryClaim("evt-2")).isTrue();
+        store.close();
+
+        // 처리 도중 끝난 프로세스의 lease는 남지 않으므로 재전달된 evt-2는 다시 점유된다.
+        FileIdempotencyStore reopened = new FileIdempotencyStore(logPath, Duration.ofHours(1), Duration.ofMinutes(5), Duration.ofMinutes(10), Duration.ofSeconds(1), now::get);
+        assertThat(reopened.isProcessed("evt-1")).isTrue();
+        assertThat(reopened.isProcessed("evt-2")).isFalse();
+        assertThat(reopened.tryClaim("evt-2")).isTrue();
+        reopened.close();
+    }
+
+    @Test
+    void dropsWholeSegmentsOnceExpired() throws Exception {
+        Path logPath = tempDir.resolve("idempotency.log");
+        AtomicLong now = new AtomicLong(1_000);
+        FileIdempotencyStore store = new FileIdempotencyStore(logPath, Duration.ofMinutes(30), Duration.ofMinutes(5), Duration.ofMinutes(10), Duration.ofSeconds(1), now::get);
+
+        store.markProcessed("evt-old");
+        now.addAndGet(Duration.ofMinutes(20).toMillis());
+        store.markProcessed("evt-new");
+        assertThat(store.segmentCount()).isEqualTo(2);
+
+        now.addAndGet(Duration.ofMinutes(15).toMillis());
+        store.maintain();
+
+        assertThat(store.segmentCount()).isEqualTo(1);
+        assertThat(store.isProcessed("evt-old")).isFalse();
+        assertThat(store.isProcessed("evt-new")).isTrue();
+        assertThat(Files.exists(logPath.resolveSibling("idempotency.log.1000"))).isFalse();
+        store.close();
+    }
+
+    @Test
+    void loadsLegacySingleFileLog() throws Exception {
+        Path logPath = tempDir.resolve("idempotency.log");
+        long now = System.currentTimeMillis();
+        Files.writeString(logPath, "evt-legacy|" + now + "\n");
+
+        FileIdempotencyStore store = new FileIdempotencyStore(logPath, Duration.ofHours(1), Duration.ofMinutes(5), Duration.ofMinutes(10), Duration.ofSeconds(1), () -> now);
+
+        assertThat(store.isProcessed("evt-legacy")).isTrue();
+        store.close();
+    }
+}
@@ -1,9 +1,9 @@
 package com.my.brain.adapter.in.idempotency;
 
-import com.my.brain.config.AppConfig;
 import org.junit.jupiter.api.Test;
 
-import java.util.Optional;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -11,7 +11,7 @@ class InMemoryIdempotencyStoreTest {
 
     @Test
     void marksAndDetectsProcessedEvent() {
-        InMemoryIdempotencyStore store = new InMemoryIdempotencyStore(new TestConfig());
+        InMemoryIdempotencyStore store = new InMemoryIdempotencyStore(Duration.ofHours(24), Duration.ofMinutes(5), 1000, System::currentTimeMillis);
 
         assertThat(store.isProcessed("evt-1")).isFalse();
 
@@ -20,130 +20,90 @@ class InMemoryIdempotencyStoreTest {
         assertThat(store.isProcessed("evt-1")).isTrue();
     }
 
-    private static class TestConfig implements AppConfig {
-        @Override
-        public OpenAiConfig openai() {
-            return new OpenAiConfig() {
-                @Override
-                public Optional<String> apiKey() {
-                    return Optional.empty();
-                }
-
-                @Override
-                public String model() {
-                    return "gpt-5-mini";
-                }
-
-                @Override
-                public double temperature() {
-                    return 0.2;
-                }
-            };
-        }
+    @Test
+    void claimsOnlyOnceUntilReleased() {
+        InMemoryIdempotencyStore store = new InMemoryIdempotencyStore(Duration.ofHours(24), Duration.ofMinutes(5), 1000, System::currentTimeMillis);
 
-        @Override
-        public GoogleConfig google() {
-            return () -> "./config/tokens";
-        }
+        assertThat(store.tryClaim("evt-1")).isTrue();
+        assertThat(store.tryClaim("evt-1")).isFalse();
 
-        @Override
-        public PathsConfig paths() {
-            return new PathsConfig() {
-                @Override
-                public String vaultPath() {
-                    return "./data/vault";
-                }
-
-                @Override
-                public String templatePath() {
-                    return "src/main/resources/templates";
-                }
-            };
-        }
+        store.release("evt-1");
 
-        @Override
-         public IdempotencyConfig idempotency() {
-             return new IdempotencyConfig() {
-                 @Override
-                 public String backend() {
-                     return "memory";
-                 }
-
-                 @Override
-                 public String path() {
-                     return "./data/idempotency.log";
-                 }
-
-                 @Override
-                 public String sqlitePath() {
-                     return "./data/idempotency.db";
-                 }
-
-                 @Override
-                 public int ttlHours() {
-                     return 1;
-                 }
-             };
-         }
-
-        @Override
-        public DockerConfig docker() {
-            return new DockerConfig() {
-                @Override
-                public String host() {
-                    return "unix:///var/run/docker.sock";
-                }
-
-                @Override
-                public String image() {
-                    return "lscr.io/linuxserver/obsidian:latest";
-                }
-
-                @Override
-                public int syncWaitSeconds() {
-                    return 30;
-                }
-
-                @Override
-                public String configPath() {
-                    return "./data/obsidian-config";
-                }
-
-                @Override
-                public String puid() {
-                    return "1000";
-                }
-
-                @Override
-                public String pgid() {
-                    return "1000";
-                }
-
-                @Override
-                public String timezone() {
-                    return "Etc/UTC";
-                }
-            };
-        }
+        assertThat(store.tryClaim("evt-1")).isTrue();
+    }
+
+    @Test
+    void treatsOnlyCompletedClaimsAsProcessedAndTakesOverExpiredLeases() {
+        AtomicLong now = new AtomicLong(0);
+        InMemoryIdempotencyStore store = new InMemoryIdempotencyStore(Duration.ofHours(1), Duration.ofMillis(100), 10, now::get);
+
+        assertThat(store.tryClaim("evt-1")).isTrue();
+        assertThat(store.isProcessed("evt-1")).isFalse();
+        assertThat(store.tryClaim("evt-1")).isFalse();
+
+        now.set(150);
+        assertThat(store.tryClaim("evt-1")).isTrue();
+
+        store.markProcessed("evt-1");
+        store.release("evt-1");
+        now.set(1_000);
+
+        assertThat(store.isProcessed("evt-1")).isTrue();
+        assertThat(store.tryClaim("evt-1")).isFalse();
+    }
+
+    @Test
+    void repeatedClaimReleaseDoesNotGrowExpiryQueue() {
+        InMemoryIdempotencyStore store = new InMemoryIdempotencyStore(Duration.ofHours(1), Duration.ofMinutes(5), 100, () -> 0L);
 
-        @Override
-        public TelegramConfig telegram() {
-            return new TelegramConfig() {
-                @Override
-                public Optional<String> botToken() {
-                    return Optional.empty();
-                }
-
-                @Override
-                public int pollIntervalSeconds() {
-                    return 1;
-                }
-
-                @Override
-                public int pollTimeoutSeconds() {
-                    return 1;
-                }
-            };
+        for (int i = 0; i < 1_000; i++) {
+            assertThat(store.tryClaim("evt-1")).isTrue();
+            store.release("evt-1");
+            store.markProcessed("evt-2");
         }
+
+        assertThat(store.size()).isEqualTo(1);
+        // 다시 기록한 키의 낡은 항목은 바로 지우지 않지만, 살아 있는 항목의 두 배를 넘기 전에 걸러 낸다.
+        assertThat(store.queueSize()).isLessThanOrEqualTo(2);
+    }
+
+    @Test
+    void staleQueueEntriesDoNotEvictRewrittenKeys() {
+        AtomicLong now = new AtomicLong(0);
+        InMemoryIdempotencyStore store = new InMemoryIdempotencyStore(Duration.ofMinutes(10), Duration.ofMinutes(5), 100, now::get);
+
+        store.markProcessed("evt-1");
+        store.markProcessed("evt-2");
+        now.set(Duration.ofMinutes(5).toMillis());
+        store.markProcessed("evt-1");
+
+        // 첫 기록의 TTL이 지나 낡은 항목이 큐 앞에서 빠져도, 다시 기록한 evt-1은 남는다.
+        now.set(Duration.ofMinutes(11).toMillis());
+        assertThat(store.tryClaim("evt-2")).isTrue();
+        assertThat(store.isProcessed("evt-1")).isTrue();
+        assertThat(store.size()).isEqualTo(1);
+    }
+
+    @Test
+    void expiresOnlyDueEntriesAndEvictsOldestOverCapacity() {
+        AtomicLong now = new AtomicLong(0);
+        InMemoryIdempotencyStore store = new InMemoryIdempotencyStore(Duration.ofMillis(100), Duration.ofMillis(100), 2, now::get);
+
+        store.markProcessed("evt-1");
+        now.set(50);
+        store.markProcessed("evt-2");
+        now.set(120);
+        store.markProcessed("evt-3");
+
+        assertThat(store.isProcessed("evt-1")).isFalse();
+        assertThat(store.isProcessed("evt-2")).isTrue();
+        assertThat(store.size()).isEqualTo(2);
+
+        store.markProcessed("evt-4");
+
+        assertThat(store.isProcessed("evt-2")).isFalse();
+        assertThat(store.isProcessed("evt-3")).isTrue();
+        assertThat(store.isProcessed("evt-4")).isTrue();
+        assertThat(store.size()).isEqualTo(2);
     }
 }
@@ -0,0 +1,80 @@
+package com.my.brain.adapter.in.idempotency;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.sqlite.SQLiteDataSource;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SqliteGroupCommitWriterTest {
+
+    private static final String INSERT_SQL = "INSERT INTO item(id, qty) VALUES (?, ?)";
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void failingStatementDoesNotFailRestOfBatch() throws Exception {
+        SQLiteDataSource dataSource = new SQLiteDataSource();
+        dataSource.setUrl("jdbc:sqlite:" + tempDir.resolve("group.db").toAbsolutePath());
+        try (Connection conn = dataSource.getConnection(); Statement st = conn.createStatement()) {
+            st.executeUpdate("CREATE TABLE item(id TEXT PRIMARY KEY, qty INTEGER NOT NULL CHECK (qty > 0))");
+        }
+
+        // 긴 linger로 세 문장이 한 배치에 묶이게 한다.
+        try (SqliteGroupCommitWriter writer = new SqliteGroupCommitWriter(dataSource, 16, Duration.ofMillis(200))) {
+            CompletableFuture<Integer> first = writer.submit(INSERT_SQL, insert("a", 1));
+            CompletableFuture<Integer> broken = writer.submit(INSERT_SQL, insert("b", 0));
+            CompletableFuture<Integer> third = writer.submit(INSERT_SQL, insert("c", 3));
+
+            assertThat(first.get(5, TimeUnit.SECONDS)).isEqualTo(1);
+            assertThat(third.get(5, TimeUnit.SECONDS)).isEqualTo(1);
+            assertThatThrownBy(() -> broken.get(5, TimeUnit.SECONDS)).isInstanceOf(ExecutionException.class);
+        }
+
+        try (Connection conn = dataSource.getConnection();
+             Statement st = conn.createStatement();
+             ResultSet rs = st.executeQuery("SELECT COUNT(*) FROM item")) {
+            rs.next();
+            assertThat(rs.getInt(1)).isEqualTo(2);
+        }
+    }
+
+    @Test
+    void unexpectedFailureFailsOnlyItsBatchAndKeepsWriterRunning() throws Exception {
+        SQLiteDataSource dataSource = new SQLiteDataSource();
+        dataSource.setUrl("jdbc:sqlite:" + tempDir.resolve("group.db").toAbsolutePath());
+        try (Connection conn = dataSource.getConnection(); Statement st = conn.createStatement()) {
+            st.executeUpdate("CREATE TABLE item(id TEXT PRIMARY KEY, qty INTEGER NOT NULL CHECK (qty > 0))");
+        }
+
+        try (SqliteGroupCommitWriter writer = new SqliteGroupCommitWriter(dataSource, 16, Duration.ZERO)) {
+            CompletableFuture<Integer> broken = writer.submit(INSERT_SQL, ps -> {
+                throw new IllegalStateException("binder failure");
+            });
+            assertThatThrownBy(() -> broken.get(5, TimeUnit.SECONDS))
+                    .isInstanceOf(ExecutionException.class)
+                    .hasCauseInstanceOf(IllegalStateException.class);
+
+            // 작성 스레드가 살아 있어야 다음 쓰기가 끝난다.
+            assertThat(writer.submit(INSERT_SQL, insert("a", 1)).get(5, TimeUnit.SECONDS)).isEqualTo(1);
+        }
+    }
+
+    private static SqliteGroupCommitWriter.StatementBinder insert(String id, int qty) {
+        return ps -> {
+            ps.setString(1, id);
+            ps.setInt(2, qty);
+        };
+    }
+}
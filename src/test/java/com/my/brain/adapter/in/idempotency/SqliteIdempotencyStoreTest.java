@@ -8,8 +8,14 @@ import org.sqlite.SQLiteDataSource;
 import java.nio.file.Path;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
+import java.time.Duration;
 import java.time.Instant;
-import java.util.Optional;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -24,7 +30,7 @@ class SqliteIdempotencyStoreTest {
         SQLiteDataSource dataSource = new SQLiteDataSource();
         dataSource.setUrl("jdbc:sqlite:" + dbPath.toAbsolutePath());
 
-        SqliteIdempotencyStore store = new SqliteIdempotencyStore(dataSource, new TestConfig(dbPath));
+        SqliteIdempotencyStore store = store(dataSource, dbPath);
         store.init();
 
         assertThat(store.isProcessed("evt-1")).isFalse();
@@ -43,137 +49,117 @@ class SqliteIdempotencyStoreTest {
         assertThat(store.isProcessed("evt-1")).isFalse();
     }
 
-    private static class TestConfig implements AppConfig {
+    @Test
+    void claimsAtomicallyAndReclaimsExpiredRows() throws Exception {
+        Path dbPath = tempDir.resolve("idempotency.db");
+        SQLiteDataSource dataSource = new SQLiteDataSource();
+        dataSource.setUrl("jdbc:sqlite:" + dbPath.toAbsolutePath());
 
-        private final Path sqlitePath;
+        SqliteIdempotencyStore store = store(dataSource, dbPath);
+        store.init();
 
-        private TestConfig(Path sqlitePath) {
-            this.sqlitePath = sqlitePath;
-        }
+        assertThat(store.tryClaim("evt-1")).isTrue();
+        assertThat(store.tryClaim("evt-1")).isFalse();
+        assertThat(store.isProcessed("evt-1")).isFalse();
 
-        @Override
-        public OpenAiConfig openai() {
-            return new OpenAiConfig() {
-                @Override
-                public Optional<String> apiKey() {
-                    return Optional.empty();
-                }
+        store.release("evt-1");
+        assertThat(store.tryClaim("evt-1")).isTrue();
 
-                @Override
-                public String model() {
-                    return "gpt-5-mini";
-                }
+        // lease가 끝난 점유는 다시 점유할 수 있다.
+        expire(dataSource, "evt-1");
+        assertThat(store.tryClaim("evt-1")).isTrue();
 
-                @Override
-                public double temperature() {
-                    return 0.2;
-                }
-            };
-        }
+        store.markProcessed("evt-1");
+        store.release("evt-1");
+        assertThat(store.isProcessed("evt-1")).isTrue();
+        assertThat(store.tryClaim("evt-1")).isFalse();
 
-        @Override
-        public GoogleConfig google() {
-            return () -> "./config/tokens";
-        }
+        expire(dataSource, "evt-1");
+        assertThat(store.tryClaim("evt-1")).isTrue();
 
-        @Override
-        public PathsConfig paths() {
-            return new PathsConfig() {
-                @Override
-                public String vaultPath() {
-                    return "./data/vault";
-                }
+        expire(dataSource, "evt-1");
+        assertThat(store.sweepExpired()).isEqualTo(1);
+        assertThat(store.isProcessed("evt-1")).isFalse();
+        store.stop();
+    }
 
-                @Override
-                public String templatePath() {
-                    return "src/main/resources/templates";
-                }
-            };
-        }
+    @Test
+    void dropsLeasesLeftByPreviousProcessOnStartup() throws Exception {
+        Path dbPath = tempDir.resolve("idempotency.db");
+        SQLiteDataSource dataSource = new SQLiteDataSource();
+        dataSource.setUrl("jdbc:sqlite:" + dbPath.toAbsolutePath());
 
-        @Override
-        public IdempotencyConfig idempotency() {
-            return new IdempotencyConfig() {
-                @Override
-                public String backend() {
-                    return "sqlite";
-                }
+        SqliteIdempotencyStore crashed = store(dataSource, dbPath);
+        crashed.init();
+        assertThat(crashed.tryClaim("evt-1")).isTrue();
+        crashed.markProcessed("evt-2");
+        crashed.stop();
 
-                @Override
-                public String path() {
-                    return "./data/idempotency.log";
-                }
+        SqliteIdempotencyStore restarted = store(dataSource, dbPath);
+        restarted.init();
 
-                @Override
-                public String sqlitePath() {
-                    return sqlitePath.toString();
-                }
+        assertThat(restarted.tryClaim("evt-1")).isTrue();
+        assertThat(restarted.tryClaim("evt-2")).isFalse();
+        restarted.stop();
+    }
 
-                @Override
-                public int ttlHours() {
-                    return 1;
-                }
-            };
-        }
+    @Test
+    void groupCommitsConcurrentClaimsWithSingleWinner() throws Exception {
+        Path dbPath = tempDir.resolve("idempotency.db");
+        SQLiteDataSource dataSource = new SQLiteDataSource();
+        dataSource.setUrl("jdbc:sqlite:" + dbPath.toAbsolutePath());
 
-        @Override
-        public DockerConfig docker() {
-            return new DockerConfig() {
-                @Override
-                public String host() {
-                    return "unix:///var/run/docker.sock";
-                }
+        SqliteIdempotencyStore store = store(dataSource, dbPath);
+        store.init();
 
-                @Override
-                public String image() {
-                    return "lscr.io/linuxserver/obsidian:latest";
-                }
+        List<Callable<Boolean>> claims = new ArrayList<>();
+        for (int i = 0; i < 16; i++) {
+            claims.add(() -> store.tryClaim("evt-1"));
+        }
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            long winners = 0;
+            for (Future<Boolean> result : executor.invokeAll(claims)) {
+                if (result.get()) {
+                    winners++;
+                }
+            }
+            assertThat(winners).isEqualTo(1);
+        }
 
-                @Override
-                public int syncWaitSeconds() {
-                    return 30;
-                }
+        store.markProcessed("evt-2");
+        assertThat(store.isProcessed("evt-2")).isTrue();
+        store.stop();
+    }
 
-                @Override
-                public String configPath() {
-                    return "./data/obsidian-config";
-                }
+    @Test
+    void claimsBatchInOneCall() throws Exception {
+        Path dbPath = tempDir.resolve("idempotency.db");
+        SQLiteDataSource dataSource = new SQLiteDataSource();
+        dataSource.setUrl("jdbc:sqlite:" + dbPath.toAbsolutePath());
 
-                @Override
-                public String puid() {
-                    return "1000";
-                }
+        SqliteIdempotencyStore store = store(dataSource, dbPath);
+        store.init();
+        store.markProcessed("evt-1");
 
-                @Override
-                public String pgid() {
-                    return "1000";
-                }
+        assertThat(store.tryClaimAll(List.of("evt-1", "evt-2", "evt-3", "evt-2"))).containsExactlyInAnyOrder("evt-2", "evt-3");
+        assertThat(store.isProcessed("evt-3")).isFalse();
+        assertThat(store.tryClaim("evt-3")).isFalse();
+        store.stop();
+    }
 
-                @Override
-                public String timezone() {
-                    return "Etc/UTC";
-                }
-            };
+    private void expire(SQLiteDataSource dataSource, String eventId) throws Exception {
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement ps = conn.prepareStatement("UPDATE idempotency_log SET processed_at = ? WHERE event_id = ?")) {
+            ps.setLong(1, Instant.now().minusSeconds(4000).toEpochMilli());
+            ps.setString(2, eventId);
+            ps.executeUpdate();
         }
+    }
 
-        @Override
-        public TelegramConfig telegram() {
-            return new TelegramConfig() {
-                @Override
-                public Optional<String> botToken() {
-                    return Optional.empty();
-                }
-
-                @Override
-                public int pollIntervalSeconds() {
-                    return 1;
-                }
+    private static SqliteIdempotencyStore store(SQLiteDataSource dataSource, Path dbPath) {
+        return new SqliteIdempotencyStore(dataSource, dbPath, Duration.ofHours(1), Duration.ofMinutes(5), 10, new GroupCommit(true, 64, 5));
+    }
 
-                @Override
-                public int pollTimeoutSeconds() {
-                    return 1;
-                }
-            };
-        }
+    private record GroupCommit(boolean enabled, int maxBatch, int lingerMillis) implements AppConfig.GroupCommitConfig {
     }
 }
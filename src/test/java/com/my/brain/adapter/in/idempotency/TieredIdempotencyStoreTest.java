@@ -0,0 +1,71 @@
+package com.my.brain.adapter.in.idempotency;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TieredIdempotencyStoreTest {
+
+    @Test
+    void answersRedeliveriesFromCacheAndNewEventsFromBackend() {
+        AtomicLong now = new AtomicLong(0);
+        InMemoryIdempotencyStore backend = new InMemoryIdempotencyStore(Duration.ofHours(1), Duration.ofMinutes(5), 1000, now::get);
+        TieredIdempotencyStore store = new TieredIdempotencyStore(backend, Duration.ofHours(1), 10, now::get);
+
+        assertThat(store.tryClaim("evt-1")).isTrue();
+        store.markProcessed("evt-1");
+        assertThat(store.tryClaim("evt-1")).isFalse();
+        assertThat(store.isProcessed("evt-1")).isTrue();
+        assertThat(store.hits()).isEqualTo(2);
+
+        assertThat(store.isProcessed("evt-unknown")).isFalse();
+        assertThat(store.misses()).isEqualTo(2);
+    }
+
+    @Test
+    void fallsBackToBackendSoRestartDoesNotLoseDuplicates() {
+        AtomicLong now = new AtomicLong(0);
+        InMemoryIdempotencyStore backend = new InMemoryIdempotencyStore(Duration.ofHours(1), Duration.ofMinutes(5), 1000, now::get);
+        backend.markProcessed("evt-1");
+
+        TieredIdempotencyStore store = new TieredIdempotencyStore(backend, Duration.ofHours(1), 10, now::get);
+
+        assertThat(store.isProcessed("evt-1")).isTrue();
+        assertThat(store.tryClaim("evt-1")).isFalse();
+        assertThat(store.misses()).isEqualTo(2);
+    }
+
+    @Test
+    void releaseLetsEventBeClaimedAgain() {
+        AtomicLong now = new AtomicLong(0);
+        InMemoryIdempotencyStore backend = new InMemoryIdempotencyStore(Duration.ofHours(1), Duration.ofMinutes(5), 1000, now::get);
+        TieredIdempotencyStore store = new TieredIdempotencyStore(backend, Duration.ofHours(1), 10, now::get);
+
+        assertThat(store.tryClaim("evt-1")).isTrue();
+        store.release("evt-1");
+
+        assertThat(store.tryClaim("evt-1")).isTrue();
+        assertThat(store.hits()).isZero();
+    }
+
+    @Test
+    void backendHitsDoNotExtendCachedExpiry() {
+        AtomicLong now = new AtomicLong(0);
+        InMemoryIdempotencyStore backend = new InMemoryIdempotencyStore(Duration.ofHours(1), Duration.ofMinutes(5), 1000, now::get);
+        backend.markProcessed("evt-1");
+        TieredIdempotencyStore store = new TieredIdempotencyStore(backend, Duration.ofHours(1), 10, now::get);
+
+        now.set(Duration.ofMinutes(50).toMillis());
+        assertThat(store.isProcessed("evt-1")).isTrue();
+        assertThat(store.tryClaim("evt-1")).isFalse();
+
+        // 저장소 TTL이 지나면 캐시도 중복으로 답하지 않는다.
+        now.set(Duration.ofMinutes(61).toMillis());
+        assertThat(store.isProcessed("evt-1")).isFalse();
+        assertThat(store.tryClaim("evt-1")).isTrue();
+        assertThat(store.hits()).isZero();
+    }
+}
@@ -0,0 +1,39 @@
+package com.my.brain.adapter.in.rabbitmq;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdmissionControllerTest {
+
+    @Test
+    void rejectsWhenInFlightLimitIsReachedWithinBudget() {
+        AdmissionController controller = new AdmissionController(2, Duration.ofMillis(20));
+
+        assertThat(controller.tryAdmit()).isTrue();
+        assertThat(controller.tryAdmit()).isTrue();
+        assertThat(controller.inFlight()).isEqualTo(2);
+
+        assertThat(controller.tryAdmit()).isFalse();
+        assertThat(controller.rejected()).isEqualTo(1);
+
+        controller.release();
+        assertThat(controller.tryAdmit()).isTrue();
+        assertThat(controller.waiting()).isZero();
+    }
+
+    @Test
+    void rejectsWithoutWaitingWhenBudgetWasSpentBeforeAdmission() {
+        AdmissionController controller = new AdmissionController(2, Duration.ofMillis(50));
+
+        // 레인 큐에서 이미 예산보다 오래 기다린 요청은 자리가 비어 있어도 거절한다.
+        long receivedAt = System.nanoTime() - Duration.ofMillis(100).toNanos();
+        assertThat(controller.tryAdmit(receivedAt)).isFalse();
+        assertThat(controller.inFlight()).isZero();
+        assertThat(controller.rejected()).isEqualTo(1);
+
+        assertThat(controller.tryAdmit(System.nanoTime())).isTrue();
+    }
+}
@@ -0,0 +1,64 @@
+package com.my.brain.adapter.in.rabbitmq;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MessageBatcherTest {
+
+    @Test
+    void flushesWhenBatchIsFull() throws Exception {
+        List<List<Integer>> batches = new CopyOnWriteArrayList<>();
+        CountDownLatch flushed = new CountDownLatch(1);
+        try (MessageBatcher<Integer> batcher = new MessageBatcher<>("test-batcher", 3, Duration.ofSeconds(10), batch -> {
+            batches.add(batch);
+            flushed.countDown();
+        }, (batch, failure) -> { })) {
+            batcher.add(1);
+            batcher.add(2);
+            batcher.add(3);
+
+            assertThat(flushed.await(5, TimeUnit.SECONDS)).isTrue();
+            assertThat(batches.get(0)).containsExactly(1, 2, 3);
+        }
+    }
+
+    @Test
+    void flushesPartialBatchAfterLinger() throws Exception {
+        List<List<Integer>> batches = new CopyOnWriteArrayList<>();
+        CountDownLatch flushed = new CountDownLatch(1);
+        try (MessageBatcher<Integer> batcher = new MessageBatcher<>("test-batcher", 100, Duration.ofMillis(20), batch -> {
+            batches.add(batch);
+            flushed.countDown();
+        }, (batch, failure) -> { })) {
+            batcher.add(1);
+
+            assertThat(flushed.await(5, TimeUnit.SECONDS)).isTrue();
+            assertThat(batches.get(0)).containsExactly(1);
+        }
+    }
+
+    @Test
+    void handsFailedBatchToFailureHandler() throws Exception {
+        List<List<Integer>> failed = new CopyOnWriteArrayList<>();
+        CountDownLatch reported = new CountDownLatch(1);
+        try (MessageBatcher<Integer> batcher = new MessageBatcher<>("test-batcher", 2, Duration.ofSeconds(10), batch -> {
+            throw new IllegalStateException("boom");
+        }, (batch, failure) -> {
+            failed.add(batch);
+            reported.countDown();
+        })) {
+            batcher.add(1);
+            batcher.add(2);
+
+            assertThat(reported.await(5, TimeUnit.SECONDS)).isTrue();
+            assertThat(failed.get(0)).containsExactly(1, 2);
+        }
+    }
+}
@@ -0,0 +1,177 @@
+package com.my.brain.adapter.in.rabbitmq;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.my.brain.adapter.in.idempotency.IdempotencyStore;
+import com.my.brain.adapter.out.rabbitmq.OverloadDeadLetterProducer;
+import com.my.brain.config.AppConfig;
+import com.my.brain.domain.model.ReplyMessage;
+import com.my.brain.domain.port.in.ProcessMessageUseCase;
+import com.my.brain.domain.port.out.ReplyPort;
+import org.eclipse.microprofile.reactive.messaging.Message;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class RabbitMessageConsumerTest {
+
+    private static final String PAYLOAD = """
+            {"eventId":"evt-1","timestamp":"2025-03-12T10:00:00+09:00","userId":"user-1","type":"CHAT","content":"안녕"}""";
+
+    private final ProcessMessageUseCase useCase = mock(ProcessMessageUseCase.class);
+    private final IdempotencyStore store = mock(IdempotencyStore.class);
+    private final OverloadDeadLetterProducer overload = mock(OverloadDeadLetterProducer.class);
+    private final ReplyPort replyPort = mock(ReplyPort.class);
+    private final CompletableFuture<Void> acked = new CompletableFuture<>();
+    private final CompletableFuture<Throwable> nacked = new CompletableFuture<>();
+    private RabbitMessageConsumer consumer;
+
+    @AfterEach
+    void tearDown() {
+        if (consumer != null) {
+            consumer.stop();
+        }
+    }
+
+    @Test
+    void shedsRequestWithBusyReplyWhenAdmissionIsFull() throws Exception {
+        AdmissionController admission = new AdmissionController(1, Duration.ofMillis(20));
+        assertThat(admission.tryAdmit()).isTrue();
+        when(store.tryClaim("evt-1")).thenReturn(true);
+        when(replyPort.send(any())).thenReturn(CompletableFuture.completedFuture(null));
+        consumer = consumer("busy-reply", admission);
+
+        consumer.consume(message());
+
+        acked.get(5, TimeUnit.SECONDS);
+        ArgumentCaptor<ReplyMessage> reply = ArgumentCaptor.forClass(ReplyMessage.class);
+        verify(replyPort).send(reply.capture());
+        assertThat(reply.getValue().replyToUserId()).isEqualTo("user-1");
+        assertThat(reply.getValue().content()).contains("요청이 많아");
+        // 거절한 요청은 다시 들어올 수 있게 점유를 돌려놓고, 처리는 시작하지 않는다.
+        verify(store).release("evt-1");
+        verifyNoInteractions(useCase);
+        assertThat(admission.rejected()).isEqualTo(1);
+    }
+
+    @Test
+    void publishesShedRequestToDeadLetterExchangeWhenConfigured() throws Exception {
+        AdmissionController admission = new AdmissionController(1, Duration.ofMillis(20));
+        assertThat(admission.tryAdmit()).isTrue();
+        when(store.tryClaim("evt-1")).thenReturn(true);
+        when(overload.publish(anyString(), anyString(), anyInt())).thenReturn(CompletableFuture.completedFuture(null));
+        consumer = consumer("dlq", admission);
+
+        consumer.consume(message());
+
+        acked.get(5, TimeUnit.SECONDS);
+        verify(overload).publish(PAYLOAD, "evt-1", 0);
+        verify(store).release("evt-1");
+        verifyNoInteractions(useCase, replyPort);
+        assertThat(nacked).isNotDone();
+    }
+
+    @Test
+    void admitsEveryRequestWhenAdmissionIsDisabled() throws Exception {
+        AdmissionController admission = new AdmissionController(false, 1, Duration.ZERO);
+        when(store.tryClaim("evt-1")).thenReturn(true);
+        when(useCase.process(any())).thenReturn(new ReplyMessage("user-1", "done"));
+        when(replyPort.send(any())).thenReturn(CompletableFuture.completedFuture(null));
+        consumer = consumer("busy-reply", admission);
+
+        consumer.consume(message());
+
+        acked.get(5, TimeUnit.SECONDS);
+        verify(useCase).process(any());
+        verify(replyPort).send(new ReplyMessage("user-1", "done"));
+        assertThat(admission.rejected()).isZero();
+    }
+
+    @Test
+    void recordsCompletionBeforeReplySoFailedConfirmDoesNotRepeatSideEffects() throws Exception {
+        AdmissionController admission = new AdmissionController(false, 1, Duration.ZERO);
+        when(store.tryClaim("evt-1")).thenReturn(true);
+        when(useCase.process(any())).thenReturn(new ReplyMessage("user-1", "done"));
+        when(replyPort.send(any())).thenReturn(CompletableFuture.failedFuture(new IllegalStateException("nacked")));
+        consumer = consumer("busy-reply", admission);
+
+        consumer.consume(message());
+
+        assertThat(nacked.get(5, TimeUnit.SECONDS)).hasMessage("nacked");
+        InOrder order = inOrder(store, replyPort);
+        order.verify(store).markProcessed("evt-1");
+        order.verify(replyPort).send(new ReplyMessage("user-1", "done"));
+        // 완료 기록을 되돌리지 않으므로 재전달은 중복으로 건너뛴다.
+        verify(store, never()).release("evt-1");
+        assertThat(acked).isNotDone();
+    }
+
+    @Test
+    void holdsRedeliveryWhileLeaseIsLiveAndProcessesOnceItExpires() throws Exception {
+        AdmissionController admission = new AdmissionController(false, 1, Duration.ZERO);
+        // 첫 확인에서는 남의 lease가 살아 있고, 다음 확인에서는 lease가 만료되어 점유할 수 있다.
+        when(store.tryClaim("evt-1")).thenReturn(false, true);
+        when(store.isProcessed("evt-1")).thenReturn(false);
+        when(useCase.process(any())).thenReturn(new ReplyMessage("user-1", "done"));
+        when(replyPort.send(any())).thenReturn(CompletableFuture.completedFuture(null));
+        consumer = consumer("busy-reply", admission);
+
+        consumer.consume(message());
+
+        acked.get(5, TimeUnit.SECONDS);
+        verify(useCase).process(any());
+        verify(store, never()).release("evt-1");
+        assertThat(nacked).isNotDone();
+    }
+
+    @Test
+    void acksRedeliveryWithoutProcessingOnceLeaseHolderCompletes() throws Exception {
+        AdmissionController admission = new AdmissionController(false, 1, Duration.ZERO);
+        when(store.tryClaim("evt-1")).thenReturn(false);
+        when(store.isProcessed("evt-1")).thenReturn(false, true);
+        consumer = consumer("busy-reply", admission);
+
+        consumer.consume(message());
+
+        acked.get(5, TimeUnit.SECONDS);
+        verify(store, times(2)).tryClaim("evt-1");
+        verify(store, never()).release("evt-1");
+        verifyNoInteractions(useCase, replyPort);
+        assertThat(nacked).isNotDone();
+    }
+
+    private RabbitMessageConsumer consumer(String onReject, AdmissionController admission) {
+        AppConfig appConfig = mock(AppConfig.class, RETURNS_DEEP_STUBS);
+        when(appConfig.admission().onReject()).thenReturn(onReject);
+        when(appConfig.consumer().lanes()).thenReturn(1);
+        when(appConfig.consumer().batch().enabled()).thenReturn(false);
+        return new RabbitMessageConsumer(useCase, store, new ObjectMapper(), appConfig, admission, overload, replyPort, Duration.ofMillis(10));
+    }
+
+    private Message<String> message() {
+        return Message.of(PAYLOAD, () -> {
+            acked.complete(null);
+            return CompletableFuture.completedFuture(null);
+        }, failure -> {
+            nacked.complete(failure);
+            return CompletableFuture.completedFuture(null);
+        });
+    }
+}
@@ -0,0 +1,63 @@
+package com.my.brain.adapter.in.rabbitmq;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UserLaneDispatcherTest {
+
+    @Test
+    void keepsOrderPerKey() throws Exception {
+        try (UserLaneDispatcher dispatcher = new UserLaneDispatcher(4)) {
+            List<Integer> seen = new ArrayList<>();
+            List<CompletableFuture<Void>> futures = new ArrayList<>();
+            for (int i = 0; i < 100; i++) {
+                int value = i;
+                futures.add(dispatcher.submit("user-1", () -> seen.add(value)));
+            }
+            CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).get(5, TimeUnit.SECONDS);
+
+            assertThat(seen).hasSize(100).isSorted();
+        }
+    }
+
+    @Test
+    void slowKeyDoesNotBlockOtherLanes() throws Exception {
+        try (UserLaneDispatcher dispatcher = new UserLaneDispatcher(2)) {
+            String slowUser = "user-a";
+            String otherUser = findKeyOnOtherLane(dispatcher, slowUser);
+            CountDownLatch release = new CountDownLatch(1);
+
+            CompletableFuture<Void> slow = dispatcher.submit(slowUser, () -> await(release));
+            CompletableFuture<Void> fast = dispatcher.submit(otherUser, () -> { });
+
+            fast.get(5, TimeUnit.SECONDS);
+            assertThat(slow.isDone()).isFalse();
+            release.countDown();
+            slow.get(5, TimeUnit.SECONDS);
+        }
+    }
+
+    private String findKeyOnOtherLane(UserLaneDispatcher dispatcher, String key) {
+        for (int i = 0; ; i++) {
+            String candidate = "user-" + i;
+            if (dispatcher.laneOf(candidate) != dispatcher.laneOf(key)) {
+                return candidate;
+            }
+        }
+    }
+
+    private void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package com.my.brain.adapter.in.telegram;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.my.brain.adapter.in.idempotency.IdempotencyStore;
+import com.my.brain.adapter.out.telegram.TelegramUpdateParser;
+import com.my.brain.config.AppConfig;
+import com.my.brain.domain.model.TelegramIncomingMessage;
+import com.my.brain.domain.service.TelegramUpdateService;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TelegramWebhookRouteTest {
+
+    private static final byte[] TEXT_UPDATE = """
+            {"update_id":42,"message":{"message_id":7,"from":{"id":1,"username":"alice"},
+             "chat":{"id":99,"type":"private"},"date":1700000000,"text":"/todo milk"}}
+            """.getBytes(StandardCharsets.UTF_8);
+
+    private final List<TelegramIncomingMessage> published = new CopyOnWriteArrayList<>();
+    private final TelegramWebhookRoute route = new TelegramWebhookRoute(
+            new TelegramUpdateService((offset, timeoutSeconds) -> List.of(), published::add),
+            new SetIdempotencyStore(),
+            new TelegramUpdateParser(new ObjectMapper()),
+            null,
+            new WebhookConfig("s3cret"));
+
+    @Test
+    void rejectsRequestsWithoutMatchingSecretToken() {
+        assertThat(route.handle(null, TEXT_UPDATE)).isEqualTo(401);
+        assertThat(route.handle("wrong", TEXT_UPDATE)).isEqualTo(401);
+        assertThat(published).isEmpty();
+    }
+
+    @Test
+    void publishesEachUpdateIdOnceAcrossRedeliveries() {
+        assertThat(route.handle("s3cret", TEXT_UPDATE)).isEqualTo(200);
+        assertThat(route.handle("s3cret", TEXT_UPDATE)).isEqualTo(200);
+
+        assertThat(published).containsExactly(new TelegramIncomingMessage(42L, 99L, "alice", "/todo milk", 1700000000L));
+    }
+
+    @Test
+    void acknowledgesNonTextUpdatesWithoutPublishing() {
+        byte[] sticker = """
+                {"update_id":43,"message":{"message_id":8,"chat":{"id":99,"type":"private"},"date":1700000001}}
+                """.getBytes(StandardCharsets.UTF_8);
+
+        assertThat(route.handle("s3cret", sticker)).isEqualTo(200);
+        assertThat(route.handle("s3cret", "not-json".getBytes(StandardCharsets.UTF_8))).isEqualTo(400);
+        assertThat(published).isEmpty();
+    }
+
+    private static final class SetIdempotencyStore implements IdempotencyStore {
+        private final Set<String> claimed = ConcurrentHashMap.newKeySet();
+
+        @Override
+        public boolean isProcessed(String eventId) {
+            return claimed.contains(eventId);
+        }
+
+        @Override
+        public void markProcessed(String eventId) {
+            claimed.add(eventId);
+        }
+
+        @Override
+        public boolean tryClaim(String eventId) {
+            return claimed.add(eventId);
+        }
+
+        @Override
+        public void release(String eventId) {
+            claimed.remove(eventId);
+        }
+    }
+
+    private record WebhookConfig(String secret) implements AppConfig.TelegramConfig {
+
+        @Override
+        public Optional<String> botToken() {
+            return Optional.empty();
+        }
+
+        @Override
+        public int pollIntervalSeconds() {
+            return 5;
+        }
+
+        @Override
+        public int pollTimeoutSeconds() {
+            return 30;
+        }
+
+        @Override
+        public String pollMode() {
+            return "continuous";
+        }
+
+        @Override
+        public long pollBackoffInitialMillis() {
+            return 250;
+        }
+
+        @Override
+        public long pollBackoffMaxMillis() {
+            return 5000;
+        }
+
+        @Override
+        public AppConfig.TelegramOutboundConfig outbound() {
+            return null;
+        }
+
+        @Override
+        public String ingress() {
+            return "webhook";
+        }
+
+        @Override
+        public String offsetCheckpointPath() {
+            return "./data/telegram-offset";
+        }
+
+        @Override
+        public AppConfig.TelegramWebhookConfig webhook() {
+            return new AppConfig.TelegramWebhookConfig() {
+                @Override
+                public String path() {
+                    return "/telegram/webhook";
+                }
+
+                @Override
+                public Optional<String> secretToken() {
+                    return Optional.of(secret);
+                }
+
+                @Override
+                public Optional<String> publicUrl() {
+                    return Optional.empty();
+                }
+            };
+        }
+    }
+}
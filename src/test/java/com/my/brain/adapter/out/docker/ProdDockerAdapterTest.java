@@ -132,5 +132,10 @@ class ProdDockerAdapterTest {
         public String templatePath() {
             return "src/main/resources/templates";
         }
+
+        @Override
+        public int noteCoalesceWindowMillis() {
+            return 0;
+        }
     }
 }
@@ -0,0 +1,54 @@
+package com.my.brain.adapter.out.filesystem;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DailyNoteWriteCoalescerTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void appliesBurstInOneWriteAndKeepsOrder() throws Exception {
+        Path note = tempDir.resolve("2026-01-01.md");
+        Files.writeString(note, "## Logs");
+
+        try (DailyNoteWriteCoalescer coalescer = new DailyNoteWriteCoalescer(Duration.ofMillis(200))) {
+            List<CompletableFuture<String>> results = new ArrayList<>();
+            for (int i = 0; i < 5; i++) {
+                results.add(coalescer.append(note, "- line " + i + "\n"));
+            }
+            for (CompletableFuture<String> result : results) {
+                result.get(5, TimeUnit.SECONDS);
+            }
+
+            // 모든 호출자가 같은 쓰기 결과를 받으면 한 번의 읽기/쓰기로 반영된 것이다.
+            assertThat(results.get(0).get()).isEqualTo(results.get(4).get());
+            assertThat(Files.readString(note))
+                    .isEqualTo("## Logs\n- line 0\n- line 1\n- line 2\n- line 3\n- line 4\n");
+        }
+    }
+
+    @Test
+    void laterAppendsGoToNextWrite() throws Exception {
+        Path note = tempDir.resolve("2026-01-02.md");
+        Files.writeString(note, "");
+
+        try (DailyNoteWriteCoalescer coalescer = new DailyNoteWriteCoalescer(Duration.ofMillis(1))) {
+            coalescer.append(note, "- first\n").get(5, TimeUnit.SECONDS);
+            String content = coalescer.append(note, "- second\n").get(5, TimeUnit.SECONDS);
+
+            assertThat(content).isEqualTo("\n- first\n- second\n");
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.my.brain.adapter.out.llm;
+
+import com.my.brain.domain.model.BrainRequest;
+import com.my.brain.domain.model.IntentType;
+import com.my.brain.domain.model.LlmIntentResult;
+import com.my.brain.domain.model.MessageType;
+import com.my.brain.domain.port.out.LlmPort;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BatchingLlmAdapterTest {
+
+    private static final LlmIntentResult NOTE = new LlmIntentResult(IntentType.NOTE, null, null, null);
+    private static final LlmIntentResult SYNC = new LlmIntentResult(IntentType.SYNC, null, null, null);
+
+    private final List<String> singleCalls = new CopyOnWriteArrayList<>();
+    private final List<List<String>> batchCalls = new CopyOnWriteArrayList<>();
+    private final LlmPort single = request -> {
+        singleCalls.add(request.eventId());
+        return SYNC;
+    };
+
+    @Test
+    void classifiesConcurrentRequestsInOneCall() throws Exception {
+        BatchingLlmAdapter adapter = start(requests -> answerAll(requests), 4);
+
+        List<LlmIntentResult> results = parseConcurrently(adapter, 4);
+
+        assertThat(results).containsExactly(NOTE, NOTE, NOTE, NOTE);
+        assertThat(batchCalls).hasSize(1);
+        assertThat(batchCalls.getFirst()).containsExactlyInAnyOrder("evt-0", "evt-1", "evt-2", "evt-3");
+        assertThat(singleCalls).isEmpty();
+        assertThat(adapter.batched()).isEqualTo(4);
+        adapter.stop();
+    }
+
+    @Test
+    void fallsBackPerRequestForMissingResults() throws Exception {
+        BatchingLlmAdapter adapter = start(requests -> {
+            Map<String, LlmIntentResult> results = answerAll(requests);
+            results.remove("evt-1");
+            return results;
+        }, 2);
+
+        List<LlmIntentResult> results = parseConcurrently(adapter, 2);
+
+        assertThat(results).containsExactly(NOTE, SYNC);
+        assertThat(singleCalls).containsExactly("evt-1");
+        assertThat(adapter.fallbacks()).isEqualTo(1);
+        adapter.stop();
+    }
+
+    @Test
+    void fallsBackPerRequestWhenBatchCallFails() throws Exception {
+        BatchingLlmAdapter adapter = start(requests -> {
+            throw new IllegalStateException("structured output invalid");
+        }, 2);
+
+        List<LlmIntentResult> results = parseConcurrently(adapter, 2);
+
+        assertThat(results).containsExactly(SYNC, SYNC);
+        assertThat(singleCalls).containsExactlyInAnyOrder("evt-0", "evt-1");
+        assertThat(adapter.fallbacks()).isEqualTo(2);
+        adapter.stop();
+    }
+
+    @Test
+    void callsDelegateDirectlyWhenDisabled() {
+        BatchingLlmAdapter adapter = new BatchingLlmAdapter(single, requests -> answerAll(requests), false, 4, Duration.ofMillis(50));
+        adapter.start();
+
+        assertThat(adapter.parseIntent(request(0))).isEqualTo(SYNC);
+        assertThat(batchCalls).isEmpty();
+        adapter.stop();
+    }
+
+    private BatchingLlmAdapter start(BatchIntentClassifier batch, int maxBatch) {
+        BatchIntentClassifier recording = requests -> {
+            batchCalls.add(requests.stream().map(BrainRequest::eventId).toList());
+            return batch.parseIntents(requests);
+        };
+        // linger를 넉넉히 둬 동시에 들어온 요청이 한 배치로 모이게 한다.
+        BatchingLlmAdapter adapter = new BatchingLlmAdapter(single, recording, true, maxBatch, Duration.ofSeconds(2));
+        adapter.start();
+        return adapter;
+    }
+
+    private static Map<String, LlmIntentResult> answerAll(List<BrainRequest> requests) {
+        Map<String, LlmIntentResult> results = new HashMap<>();
+        requests.forEach(request -> results.put(request.eventId(), NOTE));
+        return results;
+    }
+
+    private static List<LlmIntentResult> parseConcurrently(BatchingLlmAdapter adapter, int count) throws Exception {
+        List<CompletableFuture<LlmIntentResult>> futures = IntStream.range(0, count)
+                .mapToObj(i -> CompletableFuture.supplyAsync(() -> adapter.parseIntent(request(i))))
+                .toList();
+        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).get(5, TimeUnit.SECONDS);
+        return futures.stream().map(CompletableFuture::join).toList();
+    }
+
+    private static BrainRequest request(int index) {
+        return new BrainRequest("evt-" + index, OffsetDateTime.now(), "user", MessageType.CHAT, "message " + index);
+    }
+}
@@ -0,0 +1,159 @@
+package com.my.brain.adapter.out.llm;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.my.brain.domain.model.BrainRequest;
+import com.my.brain.domain.model.CalendarEvent;
+import com.my.brain.domain.model.IntentType;
+import com.my.brain.domain.model.LlmIntentResult;
+import com.my.brain.domain.model.MessageType;
+import com.my.brain.domain.model.TimeRange;
+import com.my.brain.domain.model.TodoItem;
+import com.my.brain.domain.port.out.LlmPort;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CachingLlmAdapterTest {
+
+    private static final OffsetDateTime MORNING = OffsetDateTime.parse("2025-03-10T09:00:00+09:00");
+
+    @TempDir
+    Path tempDir;
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    private final AtomicLong now = new AtomicLong(0);
+    private final AtomicInteger calls = new AtomicInteger();
+
+    @Test
+    void reusesResultForNormalizedContentOnTheSameLocalDate() {
+        CachingLlmAdapter adapter = adapter(request -> new LlmIntentResult(IntentType.SYNC, null, null, null), Optional.empty());
+
+        adapter.parseIntent(request("동기화해줘", MORNING));
+        adapter.parseIntent(request("  동기화해줘!  ", MORNING.plusHours(3)));
+        adapter.parseIntent(request("동기화해줘", MORNING.plusDays(1)));
+
+        assertThat(calls.get()).isEqualTo(2);
+        assertThat(adapter.hits()).isEqualTo(1);
+        assertThat(adapter.misses()).isEqualTo(2);
+    }
+
+    @Test
+    void expiresEntriesAfterTtl() {
+        CachingLlmAdapter adapter = adapter(request -> new LlmIntentResult(IntentType.SYNC, null, null, null), Optional.empty());
+
+        adapter.parseIntent(request("동기화해줘", MORNING));
+        now.addAndGet(Duration.ofMinutes(61).toMillis());
+        adapter.parseIntent(request("동기화해줘", MORNING));
+
+        assertThat(calls.get()).isEqualTo(2);
+    }
+
+    @Test
+    void reanchorsCalendarTimesToTheNewRequest() {
+        // LLM은 요청 시각 기준 "내일 오후 2시"를 돌려준다.
+        CachingLlmAdapter adapter = adapter(request -> calendar(request.timestamp().toLocalDate().plusDays(1).atTime(14, 0)
+                .atOffset(request.timestamp().getOffset())), Optional.empty());
+
+        adapter.parseIntent(request("내일 오후 2시 회의", MORNING));
+        LlmIntentResult replayed = adapter.parseIntent(request("내일 오후 2시 회의", MORNING.withHour(22).withOffsetSameLocal(ZoneOffset.UTC)));
+
+        assertThat(calls.get()).isEqualTo(1);
+        assertThat(replayed.calendarEvent().timeRange().start()).isEqualTo(OffsetDateTime.parse("2025-03-11T14:00:00Z"));
+        assertThat(replayed.calendarEvent().timeRange().end()).isEqualTo(OffsetDateTime.parse("2025-03-11T15:00:00Z"));
+    }
+
+    @Test
+    void reanchorsElapsedExpressionsByDuration() {
+        CachingLlmAdapter adapter = adapter(request -> new LlmIntentResult(IntentType.TASK, null,
+                new TodoItem("보고서 제출", request.timestamp().plusMinutes(30)), null), Optional.empty());
+
+        adapter.parseIntent(request("30분 후 보고서 제출", MORNING));
+        LlmIntentResult replayed = adapter.parseIntent(request("30분 후 보고서 제출", MORNING.plusHours(2)));
+
+        assertThat(calls.get()).isEqualTo(1);
+        assertThat(replayed.todoItem().dueDate()).isEqualTo(MORNING.plusHours(2).plusMinutes(30));
+    }
+
+    @Test
+    void persistsEntriesAcrossRestarts() {
+        Path file = tempDir.resolve("cache/intents.json");
+        CachingLlmAdapter first = adapter(request -> calendar(MORNING.plusDays(1).withHour(14)), Optional.of(file));
+        first.parseIntent(request("내일 오후 2시 회의", MORNING));
+        first.stop();
+
+        CachingLlmAdapter restarted = adapter(request -> {
+            throw new IllegalStateException("캐시에서 응답해야 합니다.");
+        }, Optional.of(file));
+        restarted.load();
+        LlmIntentResult replayed = restarted.parseIntent(request("내일 오후 2시 회의", MORNING.plusHours(1)));
+
+        assertThat(replayed.calendarEvent().timeRange().start()).isEqualTo(MORNING.plusDays(1).withHour(14));
+        assertThat(restarted.hits()).isEqualTo(1);
+    }
+
+    @Test
+    void doesNotCacheUnknownResults() {
+        CachingLlmAdapter adapter = adapter(request -> new LlmIntentResult(IntentType.UNKNOWN, null, null, null), Optional.empty());
+
+        adapter.parseIntent(request("음...", MORNING));
+        adapter.parseIntent(request("음...", MORNING));
+
+        assertThat(calls.get()).isEqualTo(2);
+        assertThat(adapter.size()).isZero();
+    }
+
+    @Test
+    void snapshotsToDiskAfterEnoughNewEntriesWithoutShutdown() throws Exception {
+        Path file = tempDir.resolve("intents.json");
+        CachingLlmAdapter adapter = adapter(request -> new LlmIntentResult(IntentType.SYNC, null, null, null), Optional.of(file));
+
+        adapter.parseIntent(request("동기화해줘", MORNING));
+        assertThat(Files.exists(file)).isFalse();
+        adapter.parseIntent(request("다시 동기화해줘", MORNING));
+
+        // 스냅숏은 백그라운드에서 쓰이고 교체는 원자적이므로 파일이 보이면 저장이 끝난 것이다.
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!Files.exists(file) && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(Files.exists(file)).isTrue();
+        CachingLlmAdapter restarted = adapter(request -> {
+            throw new IllegalStateException("캐시에서 응답해야 합니다.");
+        }, Optional.of(file));
+        restarted.load();
+        assertThat(restarted.size()).isEqualTo(2);
+    }
+
+    private CachingLlmAdapter adapter(Function<BrainRequest, LlmIntentResult> llm, Optional<Path> persistencePath) {
+        LlmPort delegate = request -> {
+            calls.incrementAndGet();
+            return llm.apply(request);
+        };
+        return new CachingLlmAdapter(delegate, true, 100, Duration.ofMinutes(60), persistencePath, 2, objectMapper, now::get);
+    }
+
+    private static LlmIntentResult calendar(OffsetDateTime start) {
+        return new LlmIntentResult(IntentType.CALENDAR,
+                new CalendarEvent("회의", new TimeRange(start, start.plusHours(1)), null, null, null, null), null, null);
+    }
+
+    private static BrainRequest request(String content, OffsetDateTime timestamp) {
+        return new BrainRequest("evt-" + content.hashCode() + timestamp, timestamp, "user", MessageType.CHAT, content);
+    }
+}
@@ -0,0 +1,120 @@
+package com.my.brain.adapter.out.llm;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class HedgedLlmCallerTest {
+
+    @Test
+    void hedgedRequestWinsWhenPrimaryIsSlow() {
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch primaryCancelled = new CountDownLatch(1);
+        try (HedgedLlmCaller caller = caller(Duration.ofSeconds(5), 1, true, Duration.ofMillis(50))) {
+            String result = caller.call(() -> {
+                if (calls.getAndIncrement() == 0) {
+                    try {
+                        Thread.sleep(5_000);
+                    } catch (InterruptedException e) {
+                        primaryCancelled.countDown();
+                    }
+                    return "primary";
+                }
+                return "hedge";
+            });
+
+            assertThat(result).isEqualTo("hedge");
+            assertThat(caller.hedges()).isEqualTo(1);
+            assertThat(caller.hedgeWins()).isEqualTo(1);
+            assertThat(await(primaryCancelled)).isTrue();
+        }
+    }
+
+    @Test
+    void fastPrimaryDoesNotHedge() {
+        AtomicInteger calls = new AtomicInteger();
+        try (HedgedLlmCaller caller = caller(Duration.ofSeconds(5), 1, true, Duration.ofSeconds(1))) {
+            String result = caller.call(() -> {
+                calls.incrementAndGet();
+                return "primary";
+            });
+
+            assertThat(result).isEqualTo("primary");
+            assertThat(calls.get()).isEqualTo(1);
+            assertThat(caller.hedges()).isEqualTo(0);
+        }
+    }
+
+    @Test
+    void retriesAfterAttemptTimeoutWithinDeadline() {
+        AtomicInteger calls = new AtomicInteger();
+        // 기한 900ms를 3회로 나눠 첫 시도는 300ms 뒤에 끊긴다.
+        try (HedgedLlmCaller caller = caller(Duration.ofMillis(900), 3, false, Duration.ofSeconds(1))) {
+            String result = caller.call(() -> {
+                if (calls.getAndIncrement() == 0) {
+                    sleepQuietly(2_000);
+                }
+                return "second";
+            });
+
+            assertThat(result).isEqualTo("second");
+            assertThat(caller.attemptTimeouts()).isEqualTo(1);
+        }
+    }
+
+    @Test
+    void failsOnceDeadlineIsExhausted() {
+        AtomicInteger calls = new AtomicInteger();
+        try (HedgedLlmCaller caller = caller(Duration.ofMillis(300), 3, false, Duration.ofSeconds(1))) {
+            long startedAt = System.nanoTime();
+            assertThatThrownBy(() -> caller.call(() -> {
+                calls.incrementAndGet();
+                throw new IllegalStateException("upstream 500");
+            })).isInstanceOf(IllegalStateException.class).hasMessageContaining("기한");
+
+            assertThat(calls.get()).isEqualTo(3);
+            assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt)).isLessThan(1_000L);
+        }
+    }
+
+    @Test
+    void hedgeDelayFollowsObservedP95() {
+        try (HedgedLlmCaller caller = caller(Duration.ofSeconds(5), 1, false, Duration.ofSeconds(3))) {
+            assertThat(caller.hedgeDelayNanos()).isEqualTo(Duration.ofSeconds(3).toNanos());
+
+            for (int i = 0; i < 40; i++) {
+                caller.call(() -> "ok");
+            }
+
+            // 즉시 끝나는 호출만 관측됐으므로 하한(10ms)까지 내려간다.
+            assertThat(caller.hedgeDelayNanos()).isEqualTo(Duration.ofMillis(10).toNanos());
+        }
+    }
+
+    private static HedgedLlmCaller caller(Duration deadline, int maxAttempts, boolean hedge, Duration initialHedgeDelay) {
+        return new HedgedLlmCaller("gpt-test", deadline, maxAttempts, Duration.ofMillis(10), hedge, initialHedgeDelay, Duration.ofMillis(10));
+    }
+
+    private static void sleepQuietly(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static boolean await(CountDownLatch latch) {
+        try {
+            return latch.await(2, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
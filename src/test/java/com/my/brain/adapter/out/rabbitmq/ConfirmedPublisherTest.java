@@ -0,0 +1,126 @@
+package com.my.brain.adapter.out.rabbitmq;
+
+import org.eclipse.microprofile.reactive.messaging.Emitter;
+import org.eclipse.microprofile.reactive.messaging.Message;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+
+@SuppressWarnings({"unchecked", "rawtypes"})
+class ConfirmedPublisherTest {
+
+    private final List<Message<String>> sent = new CopyOnWriteArrayList<>();
+    private final Emitter<String> emitter = (Emitter<String>) mock(Emitter.class);
+
+    private ConfirmedPublisher<String> publisher(int maxUnconfirmed) {
+        return publisher(maxUnconfirmed, 0);
+    }
+
+    private ConfirmedPublisher<String> publisher(int maxUnconfirmed, int maxRetries) {
+        doAnswer(invocation -> {
+            sent.add(invocation.getArgument(0));
+            return null;
+        }).when(emitter).send(any(Message.class));
+        return new ConfirmedPublisher<>(emitter, "test", maxUnconfirmed, Duration.ofSeconds(5), maxRetries, Duration.ofMillis(10));
+    }
+
+    private void awaitSent(int count) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (sent.size() < count && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertThat(sent).hasSize(count);
+    }
+
+    @Test
+    void completesOnAckAndFailsOnNack() {
+        ConfirmedPublisher<String> publisher = publisher(4);
+
+        CompletableFuture<Void> first = publisher.send("a", null);
+        CompletableFuture<Void> second = publisher.send("b", null);
+        assertThat(first).isNotDone();
+        assertThat(publisher.unconfirmed()).isEqualTo(2);
+
+        sent.get(0).ack();
+        sent.get(1).nack(new IllegalStateException("nacked"));
+
+        assertThat(first).isCompleted();
+        assertThat(second).isCompletedExceptionally();
+        assertThat(publisher.unconfirmed()).isZero();
+        assertThat(publisher.failed()).isEqualTo(1);
+    }
+
+    @Test
+    void blocksPublisherWhileUnconfirmedLimitIsReached() throws Exception {
+        ConfirmedPublisher<String> publisher = publisher(1);
+        publisher.send("a", null);
+
+        CompletableFuture<CompletableFuture<Void>> blocked = CompletableFuture.supplyAsync(() -> publisher.send("b", null));
+        Thread.sleep(100);
+        assertThat(blocked).isNotDone();
+        assertThat(sent).hasSize(1);
+
+        sent.get(0).ack();
+
+        blocked.get(5, TimeUnit.SECONDS);
+        assertThat(sent).hasSize(2);
+    }
+
+    @Test
+    void resendsSamePayloadWhenConfirmFails() throws Exception {
+        ConfirmedPublisher<String> publisher = publisher(4, 2);
+
+        CompletableFuture<Void> result = publisher.send("a", null);
+        sent.get(0).nack(new IllegalStateException("nacked"));
+        awaitSent(2);
+        assertThat(result).isNotDone();
+
+        sent.get(1).ack();
+
+        result.get(5, TimeUnit.SECONDS);
+        assertThat(sent).extracting(Message::getPayload).containsExactly("a", "a");
+        assertThat(publisher.retried()).isEqualTo(1);
+        assertThat(publisher.failed()).isZero();
+        assertThat(publisher.unconfirmed()).isZero();
+    }
+
+    @Test
+    void failsAfterRetriesAreExhausted() throws Exception {
+        ConfirmedPublisher<String> publisher = publisher(4, 1);
+
+        CompletableFuture<Void> result = publisher.send("a", null);
+        sent.get(0).nack(new IllegalStateException("nacked"));
+        awaitSent(2);
+        sent.get(1).nack(new IllegalStateException("nacked again"));
+
+        assertThatThrownBy(() -> result.get(5, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .hasRootCauseMessage("nacked again");
+        assertThat(publisher.retried()).isEqualTo(1);
+        assertThat(publisher.failed()).isEqualTo(1);
+    }
+
+    @Test
+    void reportsEmitterOverflowAsFailure() {
+        doThrow(new IllegalStateException("buffer full")).when(emitter).send(any(Message.class));
+        ConfirmedPublisher<String> publisher = new ConfirmedPublisher<>(emitter, "test", 4, Duration.ofSeconds(5));
+
+        CompletableFuture<Void> result = publisher.send("a", null);
+
+        assertThat(result).isCompletedExceptionally();
+        assertThat(publisher.overflowed()).isEqualTo(1);
+        assertThat(publisher.unconfirmed()).isZero();
+    }
+}
@@ -1,11 +1,19 @@
 package com.my.brain.adapter.out.reply;
 
+import com.my.brain.adapter.out.rabbitmq.ConfirmedPublisher;
 import com.my.brain.domain.model.ReplyMessage;
 import org.eclipse.microprofile.reactive.messaging.Emitter;
+import org.eclipse.microprofile.reactive.messaging.Message;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 
@@ -15,14 +23,20 @@ class RabbitReplyProducerTest {
     @Test
     void send_serializes_payload_and_emits() {
         @SuppressWarnings("unchecked")
-        Emitter<String> emitter = (Emitter<String>) mock(Emitter.class);
-        RabbitReplyProducer producer = new RabbitReplyProducer(emitter);
+        Emitter<byte[]> emitter = (Emitter<byte[]>) mock(Emitter.class);
+        RabbitReplyProducer producer = new RabbitReplyProducer(
+                new ConfirmedPublisher<>(emitter, RabbitReplyProducer.CHANNEL, 4, Duration.ofSeconds(5)));
         ReplyMessage message = new ReplyMessage("user", "hello");
 
-        producer.send(message);
+        CompletableFuture<Void> confirmed = producer.send(message);
+
+        ArgumentCaptor<Message> messageCaptor = ArgumentCaptor.forClass(Message.class);
+        verify(emitter).send(messageCaptor.capture());
+        assertEquals("{\"replyToUserId\":\"user\",\"content\":\"hello\"}",
+                new String((byte[]) messageCaptor.getValue().getPayload(), StandardCharsets.UTF_8));
+        assertFalse(confirmed.isDone());
 
-        ArgumentCaptor<String> payloadCaptor = ArgumentCaptor.forClass(String.class);
-        verify(emitter).send(payloadCaptor.capture());
-        assertEquals("{\"replyToUserId\":\"user\",\"content\":\"hello\"}", payloadCaptor.getValue());
+        messageCaptor.getValue().ack();
+        assertTrue(confirmed.isDone());
     }
 }
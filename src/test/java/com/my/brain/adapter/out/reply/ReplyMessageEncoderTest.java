@@ -0,0 +1,61 @@
+package com.my.brain.adapter.out.reply;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.my.brain.domain.model.ReplyMessage;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ReplyMessageEncoderTest {
+
+    private final ReplyMessageEncoder encoder = new ReplyMessageEncoder();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void escapesQuotesBackslashesAndControlCharacters() {
+        ReplyMessage message = new ReplyMessage("u\"1", "인증 코드: \"1234\"\n경로 C:\\tmp\t끝\u0001");
+
+        String json = new String(encoder.encode(message), StandardCharsets.UTF_8);
+
+        assertThat(json).isEqualTo("{\"replyToUserId\":\"u\\\"1\",\"content\":\"인증 코드: \\\"1234\\\"\\n경로 C:\\\\tmp\\t끝\\u0001\"}");
+    }
+
+    @Test
+    void roundTripsThroughJacksonIncludingSupplementaryCharacters() throws Exception {
+        String content = "안녕 👋\r\n\b\f/ \u007f é \u2028";
+        byte[] first = encoder.encode(new ReplyMessage("user", content));
+        byte[] second = encoder.encode(new ReplyMessage("u", "x"));
+
+        // 미리 센 길이가 실제로 쓴 바이트 수와 같아 배열 끝에 빈 바이트가 남지 않는다.
+        assertThat(first[first.length - 1]).isEqualTo((byte) '}');
+        JsonNode node = objectMapper.readTree(first);
+        assertThat(node.get("replyToUserId").asText()).isEqualTo("user");
+        assertThat(node.get("content").asText()).isEqualTo(content);
+        assertThat(new String(second, StandardCharsets.UTF_8)).isEqualTo("{\"replyToUserId\":\"u\",\"content\":\"x\"}");
+    }
+
+    @Test
+    void writesNullFieldsAsJsonNull() {
+        ReplyMessage message = mock(ReplyMessage.class);
+        when(message.replyToUserId()).thenReturn("user");
+        when(message.content()).thenReturn(null);
+
+        String json = new String(encoder.encode(message), StandardCharsets.UTF_8);
+
+        assertThat(json).isEqualTo("{\"replyToUserId\":\"user\",\"content\":null}");
+    }
+
+    @Test
+    void replacesUnpairedSurrogatesLikeStringGetBytes() {
+        String content = "a\uD83Db\uDC4Bc";
+
+        String json = new String(encoder.encode(new ReplyMessage("user", content)), StandardCharsets.UTF_8);
+
+        assertThat(json).isEqualTo("{\"replyToUserId\":\"user\",\"content\":\"a?b?c\"}");
+    }
+}
@@ -0,0 +1,50 @@
+package com.my.brain.adapter.out.telegram;
+
+import com.my.brain.domain.model.TelegramOutgoingMessage;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OutgoingMessageCoalescerTest {
+
+    @Test
+    void mergesConsecutiveMessagesWithSameParseMode() {
+        List<TelegramOutgoingMessage> pending = List.of(
+                new TelegramOutgoingMessage(1L, "first", "Markdown"),
+                new TelegramOutgoingMessage(1L, "second", "Markdown"),
+                new TelegramOutgoingMessage(1L, "plain"),
+                new TelegramOutgoingMessage(1L, "third", "Markdown"));
+
+        OutgoingMessageCoalescer.Merged merged = OutgoingMessageCoalescer.merge(pending, OutgoingMessageCoalescer.MAX_TEXT_LENGTH);
+
+        // 파싱 모드가 바뀌는 지점에서 멈추므로 뒤쪽 Markdown 메시지는 다음 전송으로 넘어간다.
+        assertThat(merged.count()).isEqualTo(2);
+        assertThat(merged.message()).isEqualTo(new TelegramOutgoingMessage(1L, "first\n\nsecond", "Markdown"));
+    }
+
+    @Test
+    void stopsAtMessageBoundaryBeforeExceedingLimit() {
+        List<TelegramOutgoingMessage> pending = List.of(
+                new TelegramOutgoingMessage(1L, "a".repeat(6)),
+                new TelegramOutgoingMessage(1L, "b".repeat(4)),
+                new TelegramOutgoingMessage(1L, "c"));
+
+        OutgoingMessageCoalescer.Merged merged = OutgoingMessageCoalescer.merge(pending, 12);
+
+        assertThat(merged.count()).isEqualTo(2);
+        assertThat(merged.message().text()).isEqualTo("aaaaaa\n\nbbbb");
+    }
+
+    @Test
+    void sendsOversizedHeadAsIs() {
+        TelegramOutgoingMessage head = new TelegramOutgoingMessage(1L, "x".repeat(20));
+        List<TelegramOutgoingMessage> pending = List.of(head, new TelegramOutgoingMessage(1L, "y"));
+
+        OutgoingMessageCoalescer.Merged merged = OutgoingMessageCoalescer.merge(pending, 10);
+
+        assertThat(merged.count()).isEqualTo(1);
+        assertThat(merged.message()).isSameAs(head);
+    }
+}
@@ -0,0 +1,208 @@
+package com.my.brain.adapter.out.telegram;
+
+import com.my.brain.config.AppConfig;
+import com.my.brain.domain.model.TelegramOutgoingMessage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TelegramOutboundSchedulerTest {
+
+    private TelegramOutboundScheduler scheduler;
+
+    @AfterEach
+    void tearDown() {
+        if (scheduler != null) {
+            scheduler.stop();
+        }
+    }
+
+    @Test
+    void drainsChatsRoundRobinInsteadOfFirstComeFirstServed() throws Exception {
+        List<String> delivered = new CopyOnWriteArrayList<>();
+        CountDownLatch done = new CountDownLatch(5);
+        scheduler = start(message -> {
+            delivered.add(message.chatId() + ":" + message.text());
+            done.countDown();
+            return TelegramBotClient.SendOutcome.DELIVERED;
+        }, 10.0);
+
+        for (int i = 1; i <= 4; i++) {
+            scheduler.send(new TelegramOutgoingMessage(1L, "a" + i));
+        }
+        scheduler.send(new TelegramOutgoingMessage(2L, "b1"));
+
+        assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+        // 채팅 1의 적체가 끝날 때까지 채팅 2가 기다리지 않고, 채팅 내 순서는 유지된다.
+        assertThat(delivered.indexOf("2:b1")).isLessThan(delivered.indexOf("1:a4"));
+        assertThat(delivered.stream().filter(entry -> entry.startsWith("1:")).toList())
+                .containsExactly("1:a1", "1:a2", "1:a3", "1:a4");
+    }
+
+    @Test
+    void waitsForRetryAfterBeforeResendingThrottledMessage() throws Exception {
+        List<Long> attempts = new CopyOnWriteArrayList<>();
+        AtomicBoolean throttledOnce = new AtomicBoolean();
+        CountDownLatch done = new CountDownLatch(1);
+        scheduler = start(message -> {
+            attempts.add(System.nanoTime());
+            if (throttledOnce.compareAndSet(false, true)) {
+                return TelegramBotClient.SendOutcome.retryAfter(Duration.ofMillis(300));
+            }
+            done.countDown();
+            return TelegramBotClient.SendOutcome.DELIVERED;
+        }, 100.0);
+
+        scheduler.send(new TelegramOutgoingMessage(7L, "hello"));
+
+        assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(attempts).hasSize(2);
+        assertThat(attempts.get(1) - attempts.get(0)).isGreaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(300));
+        assertThat(scheduler.throttled()).isEqualTo(1);
+        assertThat(scheduler.dropped()).isZero();
+    }
+
+    @Test
+    void sendAsyncCompletesAfterDeliveryAndFailsWhenDropped() {
+        scheduler = start(message -> message.text().equals("bad")
+                ? TelegramBotClient.SendOutcome.FAILED
+                : TelegramBotClient.SendOutcome.DELIVERED, 100.0);
+
+        CompletableFuture<Void> ok = scheduler.sendAsync(new TelegramOutgoingMessage(1L, "good"));
+        CompletableFuture<Void> bad = scheduler.sendAsync(new TelegramOutgoingMessage(2L, "bad"));
+
+        assertThat(ok).succeedsWithin(Duration.ofSeconds(5));
+        assertThat(bad).failsWithin(Duration.ofSeconds(5));
+        assertThat(scheduler.dropped()).isEqualTo(1);
+    }
+
+    @Test
+    void retriesTransientFailuresWithinLimit() {
+        AtomicInteger attempts = new AtomicInteger();
+        scheduler = start(message -> {
+            if (message.text().equals("down") || attempts.incrementAndGet() < 3) {
+                return TelegramBotClient.SendOutcome.UNAVAILABLE;
+            }
+            return TelegramBotClient.SendOutcome.DELIVERED;
+        }, 100.0);
+
+        CompletableFuture<Void> flaky = scheduler.sendAsync(new TelegramOutgoingMessage(1L, "flaky"));
+        CompletableFuture<Void> down = scheduler.sendAsync(new TelegramOutgoingMessage(2L, "down"));
+
+        // 네트워크 오류/5xx는 재시도해 결국 보내고, 한도(3회)를 넘기면 폐기해 호출자가 nack할 수 있게 한다.
+        assertThat(flaky).succeedsWithin(Duration.ofSeconds(5));
+        assertThat(attempts.get()).isEqualTo(3);
+        assertThat(down).failsWithin(Duration.ofSeconds(5));
+        assertThat(scheduler.retried()).isEqualTo(5);
+        assertThat(scheduler.dropped()).isEqualTo(1);
+    }
+
+    @Test
+    void sendAsyncDefersInsteadOfBlockingWhenQueueIsFull() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        scheduler = start(message -> {
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return TelegramBotClient.SendOutcome.DELIVERED;
+        }, 100.0, 1);
+
+        CompletableFuture<Void> first = scheduler.sendAsync(new TelegramOutgoingMessage(1L, "first"));
+        long startedAt = System.nanoTime();
+        CompletableFuture<Void> second = scheduler.sendAsync(new TelegramOutgoingMessage(2L, "second"));
+
+        // 대기열(1건)이 찼어도 호출 스레드(커넥터 이벤트 루프)는 곧바로 돌아오고, 자리가 나면 넣어 보낸다.
+        assertThat(System.nanoTime() - startedAt).isLessThan(TimeUnit.SECONDS.toNanos(1));
+        assertThat(second).isNotDone();
+        release.countDown();
+        assertThat(first).succeedsWithin(Duration.ofSeconds(5));
+        assertThat(second).succeedsWithin(Duration.ofSeconds(5));
+    }
+
+    @Test
+    void resendsMergedMessagesOneByOneWhenTheMergedSendIsRejected() {
+        List<String> sent = new CopyOnWriteArrayList<>();
+        scheduler = start(message -> {
+            sent.add(message.text());
+            return message.text().contains("*bad") ? TelegramBotClient.SendOutcome.FAILED : TelegramBotClient.SendOutcome.DELIVERED;
+        }, 100.0, 100, 200);
+
+        CompletableFuture<Void> first = scheduler.sendAsync(new TelegramOutgoingMessage(1L, "first", "Markdown"));
+        CompletableFuture<Void> bad = scheduler.sendAsync(new TelegramOutgoingMessage(1L, "*bad", "Markdown"));
+        CompletableFuture<Void> last = scheduler.sendAsync(new TelegramOutgoingMessage(1L, "last", "Markdown"));
+
+        // 깨진 마크다운 한 건 때문에 병합 전송이 거절돼도 함께 묶인 메시지는 따로 보내져 살아남는다.
+        assertThat(first).succeedsWithin(Duration.ofSeconds(5));
+        assertThat(bad).failsWithin(Duration.ofSeconds(5));
+        assertThat(last).succeedsWithin(Duration.ofSeconds(5));
+        assertThat(sent).containsExactly("first\n\n*bad\n\nlast", "first", "*bad", "last");
+        assertThat(scheduler.dropped()).isEqualTo(1);
+        assertThat(scheduler.coalesced()).isZero();
+    }
+
+    private TelegramOutboundScheduler start(Function<TelegramOutgoingMessage, TelegramBotClient.SendOutcome> delivery,
+                                            double perChatPerSecond) {
+        return start(delivery, perChatPerSecond, 100);
+    }
+
+    private TelegramOutboundScheduler start(Function<TelegramOutgoingMessage, TelegramBotClient.SendOutcome> delivery,
+                                            double perChatPerSecond, int maxQueued) {
+        return start(delivery, perChatPerSecond, maxQueued, 0);
+    }
+
+    private TelegramOutboundScheduler start(Function<TelegramOutgoingMessage, TelegramBotClient.SendOutcome> delivery,
+                                            double perChatPerSecond, int maxQueued, int coalesceWindowMillis) {
+        // 실제 HTTP 클라이언트처럼 다른 스레드에서 응답이 완료되게 한다.
+        TelegramOutboundScheduler started = new TelegramOutboundScheduler(
+                message -> CompletableFuture.supplyAsync(() -> delivery.apply(message)),
+                new TestOutboundConfig(perChatPerSecond, maxQueued, coalesceWindowMillis));
+        started.start();
+        return started;
+    }
+
+    private record TestOutboundConfig(double perChatPerSecond, int maxQueued, int coalesceWindowMillis) implements AppConfig.TelegramOutboundConfig {
+
+        @Override
+        public double globalPerSecond() {
+            return 1000;
+        }
+
+        @Override
+        public int globalBurst() {
+            return 1000;
+        }
+
+        @Override
+        public int perChatBurst() {
+            return 1;
+        }
+
+        @Override
+        public int maxRetries() {
+            return 3;
+        }
+
+        @Override
+        public long retryBackoffMillis() {
+            return 10;
+        }
+
+        @Override
+        public int maxInFlight() {
+            return 4;
+        }
+    }
+}
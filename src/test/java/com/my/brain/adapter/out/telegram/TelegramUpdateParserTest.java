@@ -0,0 +1,54 @@
+package com.my.brain.adapter.out.telegram;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.my.brain.domain.model.TelegramIncomingMessage;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TelegramUpdateParserTest {
+
+    private final TelegramUpdateParser parser = new TelegramUpdateParser(new ObjectMapper());
+
+    @Test
+    void streamsOnlyTextMessagesAndReportsLastUpdateId() throws Exception {
+        String body = """
+                {"ok":true,"result":[
+                 {"update_id":10,"message":{"message_id":1,"from":{"id":1,"is_bot":false,"username":"alice"},
+                  "chat":{"id":99,"type":"private"},"date":1700000000,"text":"/todo milk",
+                  "entities":[{"offset":0,"length":5,"type":"bot_command"}]}},
+                 {"update_id":11,"message":{"message_id":2,"chat":{"id":99},"date":1700000001,
+                  "sticker":{"file_id":"abc","thumbnail":{"file_id":"def"}}}},
+                 {"update_id":12,"edited_message":{"message_id":1,"chat":{"id":99},"date":1700000002,"text":"edited"}},
+                 {"update_id":13,"message":{"message_id":3,"chat":{"id":77},"date":1700000003,"text":"no sender"}},
+                 {"update_id":14,"callback_query":{"id":"q","data":"x"}}
+                ]}
+                """;
+        List<TelegramIncomingMessage> emitted = new ArrayList<>();
+
+        long lastUpdateId = parser.streamUpdates(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)), emitted::add);
+
+        assertThat(emitted).containsExactly(
+                new TelegramIncomingMessage(10L, 99L, "alice", "/todo milk", 1700000000L),
+                new TelegramIncomingMessage(13L, 77L, "unknown", "no sender", 1700000003L));
+        // 건너뛴 업데이트까지 포함해야 오프셋이 스티커/콜백 업데이트에 묶이지 않는다.
+        assertThat(lastUpdateId).isEqualTo(14L);
+    }
+
+    @Test
+    void reportsNoUpdatesForEmptyResultAndRejectsErrorResponses() throws Exception {
+        byte[] empty = "{\"ok\":true,\"result\":[]}".getBytes(StandardCharsets.UTF_8);
+        byte[] error = "{\"ok\":false,\"error_code\":409,\"description\":\"Conflict\"}".getBytes(StandardCharsets.UTF_8);
+
+        assertThat(parser.streamUpdates(new ByteArrayInputStream(empty), message -> {
+        })).isEqualTo(-1L);
+        assertThat(parser.parseUpdates(empty)).isEmpty();
+        assertThatThrownBy(() -> parser.parseUpdates(error)).isInstanceOf(IllegalStateException.class);
+    }
+}
@@ -0,0 +1,199 @@
+package com.my.brain.adapter.out.telegram;
+
+import com.my.brain.config.AppConfig;
+import com.my.brain.domain.model.TelegramIncomingMessage;
+import com.my.brain.domain.port.out.TelegramIncomingPublishPort;
+import com.my.brain.domain.port.out.TelegramUpdatePort;
+import com.my.brain.domain.service.TelegramUpdateService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TelegramUpdatePollerTest {
+
+    @TempDir
+    Path tempDir;
+
+    private TelegramUpdatePoller poller;
+
+    @AfterEach
+    void tearDown() {
+        if (poller != null) {
+            poller.stop();
+        }
+    }
+
+    @Test
+    void reissuesLongPollImmediatelyAfterUpdatesAndBacksOffOnErrors() throws Exception {
+        List<Long> requestedOffsets = new CopyOnWriteArrayList<>();
+        List<Long> requestedAt = new CopyOnWriteArrayList<>();
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch done = new CountDownLatch(4);
+        TelegramUpdateService service = new TelegramUpdateService((offset, timeoutSeconds) -> {
+            requestedOffsets.add(offset);
+            requestedAt.add(System.nanoTime());
+            done.countDown();
+            return switch (calls.incrementAndGet()) {
+                case 1 -> List.of(message(10));
+                case 2 -> List.of(message(11));
+                case 3 -> throw new IllegalStateException("boom");
+                default -> List.of();
+            };
+        }, message -> {
+        });
+        poller = new TelegramUpdatePoller(service, new TestTelegramConfig(tempDir.resolve("offset")));
+        poller.start();
+
+        assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(requestedOffsets.subList(0, 4)).containsExactly(0L, 11L, 12L, 12L);
+        // 업데이트를 받은 직후에는 폴링 간격(1초)을 기다리지 않고 곧바로 다시 요청한다.
+        assertThat(requestedAt.get(1) - requestedAt.get(0)).isLessThan(TimeUnit.MILLISECONDS.toNanos(500));
+        // 오류 뒤에는 백오프만큼 물러난다.
+        assertThat(requestedAt.get(3) - requestedAt.get(2)).isGreaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(50));
+        assertThat(poller.offset()).isEqualTo(12L);
+    }
+
+    @Test
+    void resumesFromCheckpointCommittedOnlyAfterPublishConfirmed() throws Exception {
+        Path checkpoint = tempDir.resolve("offset");
+        CompletableFuture<Void> confirmation = new CompletableFuture<>();
+        List<Long> requestedOffsets = new CopyOnWriteArrayList<>();
+        CountDownLatch polledAgain = new CountDownLatch(2);
+        TelegramUpdateService service = new TelegramUpdateService((offset, timeoutSeconds) -> {
+            requestedOffsets.add(offset);
+            polledAgain.countDown();
+            return offset == 0 ? List.of(message(20)) : List.of();
+        }, new TelegramIncomingPublishPort() {
+            @Override
+            public void publish(TelegramIncomingMessage message) {
+            }
+
+            @Override
+            public CompletableFuture<Void> publishAsync(TelegramIncomingMessage message) {
+                return confirmation;
+            }
+        });
+        poller = new TelegramUpdatePoller(service, new TestTelegramConfig(checkpoint));
+        poller.start();
+
+        Thread.sleep(200);
+        // 브로커 확인 전에는 오프셋을 저장하지 않는다.
+        assertThat(Files.exists(checkpoint)).isFalse();
+        confirmation.complete(null);
+        assertThat(polledAgain.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(Files.readString(checkpoint)).isEqualTo("21");
+        poller.stop();
+
+        List<Long> restartedOffsets = new CopyOnWriteArrayList<>();
+        CountDownLatch restarted = new CountDownLatch(1);
+        poller = new TelegramUpdatePoller(new TelegramUpdateService((offset, timeoutSeconds) -> {
+            restartedOffsets.add(offset);
+            restarted.countDown();
+            return List.of();
+        }, message -> {
+        }), new TestTelegramConfig(checkpoint));
+        poller.start();
+
+        assertThat(restarted.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(restartedOffsets.get(0)).isEqualTo(21L);
+    }
+
+    @Test
+    void clearsWebhookOnceBeforeFirstPoll() throws Exception {
+        List<String> calls = new CopyOnWriteArrayList<>();
+        AtomicInteger deleteAttempts = new AtomicInteger();
+        CountDownLatch polled = new CountDownLatch(3);
+        TelegramUpdateService service = new TelegramUpdateService(new TelegramUpdatePort() {
+            @Override
+            public void deleteWebhook() {
+                calls.add("deleteWebhook");
+                if (deleteAttempts.incrementAndGet() == 1) {
+                    throw new IllegalStateException("boom");
+                }
+            }
+
+            @Override
+            public List<TelegramIncomingMessage> fetchUpdates(long offset, int timeoutSeconds) {
+                calls.add("getUpdates");
+                polled.countDown();
+                return List.of();
+            }
+        }, message -> {
+        });
+        poller = new TelegramUpdatePoller(service, new TestTelegramConfig(tempDir.resolve("offset")));
+        poller.start();
+
+        assertThat(polled.await(5, TimeUnit.SECONDS)).isTrue();
+        // 해제에 실패하면 조회하지 않고 다음 차례에 다시 해제하며, 성공한 뒤에는 더 부르지 않는다.
+        assertThat(calls.subList(0, 5)).containsExactly("deleteWebhook", "deleteWebhook", "getUpdates", "getUpdates", "getUpdates");
+    }
+
+    private static TelegramIncomingMessage message(long updateId) {
+        return new TelegramIncomingMessage(updateId, 1L, "user", "hello", 0L);
+    }
+
+    private record TestTelegramConfig(Path checkpoint) implements AppConfig.TelegramConfig {
+
+        @Override
+        public Optional<String> botToken() {
+            return Optional.empty();
+        }
+
+        @Override
+        public int pollIntervalSeconds() {
+            return 1;
+        }
+
+        @Override
+        public int pollTimeoutSeconds() {
+            return 0;
+        }
+
+        @Override
+        public String pollMode() {
+            return "continuous";
+        }
+
+        @Override
+        public long pollBackoffInitialMillis() {
+            return 50;
+        }
+
+        @Override
+        public long pollBackoffMaxMillis() {
+            return 200;
+        }
+
+        @Override
+        public AppConfig.TelegramOutboundConfig outbound() {
+            return null;
+        }
+
+        @Override
+        public String ingress() {
+            return "poll";
+        }
+
+        @Override
+        public String offsetCheckpointPath() {
+            return checkpoint.toString();
+        }
+
+        @Override
+        public AppConfig.TelegramWebhookConfig webhook() {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.my.brain.domain.service;
+
+import com.my.brain.domain.model.BrainRequest;
+import com.my.brain.domain.model.IntentType;
+import com.my.brain.domain.model.LlmIntentResult;
+import com.my.brain.domain.model.MessageType;
+import org.junit.jupiter.api.Test;
+
+import java.time.OffsetDateTime;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CommandIntentClassifierTest {
+
+    private final CommandIntentClassifier classifier = new CommandIntentClassifier();
+
+    @Test
+    void resolvesSyncCommandsAndPhrases() {
+        assertThat(intent("/sync")).isEqualTo(IntentType.SYNC);
+        assertThat(intent("/sync@second_brain_bot")).isEqualTo(IntentType.SYNC);
+        assertThat(intent("/동기화")).isEqualTo(IntentType.SYNC);
+        assertThat(intent("  동기화해줘!  ")).isEqualTo(IntentType.SYNC);
+        assertThat(intent("Sync")).isEqualTo(IntentType.SYNC);
+        assertThat(classifier.classify(new BrainRequest("id", OffsetDateTime.now(), "user", MessageType.SYNC, "아무 내용")).map(LlmIntentResult::intentType))
+                .contains(IntentType.SYNC);
+    }
+
+    @Test
+    void resolvesNoteCommandWithBodyOnly() {
+        LlmIntentResult result = classifier.classify(request("/note 회의록 정리하기\n두 번째 줄")).orElseThrow();
+
+        assertThat(result.intentType()).isEqualTo(IntentType.NOTE);
+        assertThat(result.note().content()).isEqualTo("회의록 정리하기\n두 번째 줄");
+        assertThat(classifier.classify(request("메모: 우유 사기")).orElseThrow().note().content()).isEqualTo("우유 사기");
+        assertThat(intent("/note")).isEqualTo(IntentType.UNKNOWN);
+    }
+
+    @Test
+    void resolvesTodoCommandWithoutDueDate() {
+        LlmIntentResult result = classifier.classify(request("/todo 보고서 제출")).orElseThrow();
+
+        assertThat(result.intentType()).isEqualTo(IntentType.TASK);
+        assertThat(result.todoItem().description()).isEqualTo("보고서 제출");
+        assertThat(result.todoItem().dueDate()).isNull();
+    }
+
+    @Test
+    void movesTodoTimeExpressionIntoDueDate() {
+        OffsetDateTime now = OffsetDateTime.parse("2025-03-12T10:00:00+09:00");
+        CommandIntentClassifier withParser = new CommandIntentClassifier(new TemporalExpressionParser(() -> now));
+
+        LlmIntentResult result = withParser.classify(new BrainRequest("id", now, "user", MessageType.CHAT, "/todo 금요일까지 보고서 제출")).orElseThrow();
+
+        assertThat(result.todoItem().description()).isEqualTo("보고서 제출");
+        assertThat(result.todoItem().dueDate()).isEqualTo(OffsetDateTime.parse("2025-03-14T00:00:00+09:00"));
+    }
+
+    @Test
+    void answersBareUnknownCommandsWithoutLlm() {
+        assertThat(intent("/start")).isEqualTo(IntentType.UNKNOWN);
+        assertThat(intent("/help@second_brain_bot")).isEqualTo(IntentType.UNKNOWN);
+    }
+
+    @Test
+    void leavesUnknownCommandsWithArgumentsToLlm() {
+        assertThat(classifier.classify(request("/remind 내일 오후 3시 회의"))).isEmpty();
+        assertThat(classifier.classify(request("/일정 금요일 팀 회식"))).isEmpty();
+    }
+
+    @Test
+    void leavesNaturalLanguageToLlm() {
+        assertThat(classifier.classify(request("내일 오후 2시에 팀 회의 잡아줘"))).isEmpty();
+        assertThat(classifier.classify(request("동기화가 왜 안 되지?"))).isEmpty();
+        assertThat(classifier.classify(request("/ 슬래시로 시작하는 문장"))).isEmpty();
+    }
+
+    private IntentType intent(String content) {
+        Optional<LlmIntentResult> result = classifier.classify(request(content));
+        return result.map(LlmIntentResult::intentType).orElse(null);
+    }
+
+    private static BrainRequest request(String content) {
+        return new BrainRequest("id", OffsetDateTime.now(), "user", MessageType.CHAT, content);
+    }
+}
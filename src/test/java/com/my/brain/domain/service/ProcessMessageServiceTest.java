@@ -7,7 +7,6 @@ import com.my.brain.domain.port.out.DockerPort;
 import com.my.brain.domain.port.out.FilePort;
 import com.my.brain.domain.port.out.GooglePort;
 import com.my.brain.domain.port.out.LlmPort;
-import com.my.brain.domain.port.out.ReplyPort;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -22,7 +21,6 @@ class ProcessMessageServiceTest {
     private FilePort filePort;
     private GooglePort googlePort;
     private DockerPort dockerPort;
-    private ReplyPort replyPort;
     private ClockPort clockPort;
     private ProcessMessageService service;
 
@@ -32,9 +30,8 @@ class ProcessMessageServiceTest {
         filePort = mock(FilePort.class);
         googlePort = mock(GooglePort.class);
         dockerPort = mock(DockerPort.class);
-        replyPort = mock(ReplyPort.class);
         clockPort = mock(ClockPort.class);
-        service = new ProcessMessageService(llmPort, filePort, googlePort, dockerPort, replyPort, clockPort);
+        service = new ProcessMessageService(llmPort, filePort, googlePort, dockerPort, clockPort);
     }
 
     @Test
@@ -48,7 +45,7 @@ class ProcessMessageServiceTest {
         ReplyMessage reply = service.process(req);
 
         verify(googlePort).createCalendarEvent(event);
-        verify(replyPort).send(reply);
+        assertEquals("user", reply.replyToUserId());
         assertTrue(reply.content().contains("✅"));
     }
 
@@ -61,7 +58,8 @@ class ProcessMessageServiceTest {
         ReplyMessage reply = service.process(req);
 
         verify(googlePort).createTask(todo, req.content());
-        verify(replyPort).send(reply);
+        assertEquals("user", reply.replyToUserId());
+        assertTrue(reply.content().contains("할 일"));
     }
 
     @Test
@@ -73,10 +71,39 @@ class ProcessMessageServiceTest {
         ReplyMessage reply = service.process(req);
 
         verify(dockerPort).runSyncContainer();
-        verify(replyPort).send(reply);
+        assertEquals("user", reply.replyToUserId());
         assertTrue(reply.content().contains("🔄"));
     }
 
+    @Test
+    void fast_path_command_skips_llm() {
+        ProcessMessageService fastPath = new ProcessMessageService(llmPort, filePort, googlePort, dockerPort, clockPort, new CommandIntentClassifier());
+        BrainRequest req = new BrainRequest("id", OffsetDateTime.now(), "user", MessageType.CHAT, "/note 우유 사기");
+        Note daily = new Note("2026-01-01.md", "2026-01-01", "");
+        when(filePort.ensureDailyNote(req)).thenReturn(daily);
+        when(clockPort.now()).thenReturn(OffsetDateTime.parse("2026-01-01T09:30:00+09:00"));
+
+        fastPath.process(req);
+
+        verify(llmPort, never()).parseIntent(any());
+        verify(filePort).appendQuickLog(daily, "09:30 - 우유 사기");
+        assertEquals(1, fastPath.fastPathCount());
+        assertEquals(1.0, fastPath.bypassRatio());
+    }
+
+    @Test
+    void natural_language_falls_through_to_llm() {
+        ProcessMessageService fastPath = new ProcessMessageService(llmPort, filePort, googlePort, dockerPort, clockPort, new CommandIntentClassifier());
+        BrainRequest req = new BrainRequest("id", OffsetDateTime.now(), "user", MessageType.CHAT, "오늘 배운 것 정리");
+        when(llmPort.parseIntent(req)).thenReturn(new LlmIntentResult(IntentType.UNKNOWN, null, null, null));
+
+        fastPath.process(req);
+
+        verify(llmPort).parseIntent(req);
+        assertEquals(1, fastPath.llmCount());
+        assertEquals(0.0, fastPath.bypassRatio());
+    }
+
     @Test
     void null_intent_throws() {
         BrainRequest req = new BrainRequest("id", OffsetDateTime.now(), "user", MessageType.CHAT, "content");
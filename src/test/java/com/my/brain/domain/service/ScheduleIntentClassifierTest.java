@@ -0,0 +1,58 @@
+package com.my.brain.domain.service;
+
+import com.my.brain.domain.model.BrainRequest;
+import com.my.brain.domain.model.IntentType;
+import com.my.brain.domain.model.LlmIntentResult;
+import com.my.brain.domain.model.MessageType;
+import org.junit.jupiter.api.Test;
+
+import java.time.OffsetDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ScheduleIntentClassifierTest {
+
+    private static final OffsetDateTime NOW = OffsetDateTime.parse("2025-03-12T10:00:00+09:00");
+
+    private final ScheduleIntentClassifier classifier = new ScheduleIntentClassifier(new TemporalExpressionParser(() -> NOW));
+
+    @Test
+    void resolvesCalendarEventWithDefaultLength() {
+        LlmIntentResult result = classifier.classify(request("내일 오후 2시 팀 회의 일정 잡아줘")).orElseThrow();
+
+        assertThat(result.intentType()).isEqualTo(IntentType.CALENDAR);
+        assertThat(result.calendarEvent().summary()).isEqualTo("팀 회의");
+        assertThat(result.calendarEvent().timeRange().start()).isEqualTo(OffsetDateTime.parse("2025-03-13T14:00:00+09:00"));
+        assertThat(result.calendarEvent().timeRange().end()).isEqualTo(OffsetDateTime.parse("2025-03-13T15:00:00+09:00"));
+    }
+
+    @Test
+    void resolvesTaskWithDueDate() {
+        LlmIntentResult result = classifier.classify(request("다음주 금요일까지 보고서 제출")).orElseThrow();
+
+        assertThat(result.intentType()).isEqualTo(IntentType.TASK);
+        assertThat(result.todoItem().description()).isEqualTo("보고서 제출");
+        assertThat(result.todoItem().dueDate()).isEqualTo(OffsetDateTime.parse("2025-03-21T00:00:00+09:00"));
+        assertThat(classifier.classify(request("30분 후 빨래 알려줘")).orElseThrow().todoItem().description()).isEqualTo("빨래");
+    }
+
+    @Test
+    void leavesAmbiguousSentencesToLlm() {
+        // 시간 표현 없음
+        assertThat(classifier.classify(request("팀 회의 잡아줘"))).isEmpty();
+        // 일정/할 일 단어가 둘 다 있음
+        assertThat(classifier.classify(request("내일 3시 발표 자료 제출"))).isEmpty();
+        // 어느 쪽 단어도 없음
+        assertThat(classifier.classify(request("내일 오후 2시 강남역"))).isEmpty();
+        // 시각 없는 일정
+        assertThat(classifier.classify(request("금요일 회의"))).isEmpty();
+        // 시간 표현이 여럿
+        assertThat(classifier.classify(request("다음주 월요일 회의를 화요일 3시로 옮겨줘"))).isEmpty();
+        // 지난 날짜
+        assertThat(classifier.classify(request("어제 3시 회의"))).isEmpty();
+    }
+
+    private static BrainRequest request(String content) {
+        return new BrainRequest("id", NOW, "user", MessageType.CHAT, content);
+    }
+}
@@ -0,0 +1,112 @@
+package com.my.brain.domain.service;
+
+import com.my.brain.domain.model.TemporalExpression;
+import org.junit.jupiter.api.Test;
+
+import java.time.OffsetDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TemporalExpressionParserTest {
+
+    /** 2025-03-12(수) 오전 10시, 서울. */
+    private static final OffsetDateTime NOW = OffsetDateTime.parse("2025-03-12T10:00:00+09:00");
+
+    private final TemporalExpressionParser parser = new TemporalExpressionParser(() -> NOW);
+
+    @Test
+    void resolvesRelativeDayWithMeridiem() {
+        TemporalExpression expression = parse("내일 오후 2시에 팀 회의");
+
+        assertThat(expression.start()).isEqualTo(at("2025-03-13T14:00"));
+        assertThat(expression.timeSpecified()).isTrue();
+        assertThat(expression.remainder()).isEqualTo("팀 회의");
+    }
+
+    @Test
+    void resolvesWeekdaysAgainstTheCurrentWeek() {
+        assertThat(parse("다음주 금요일까지 보고서 제출").start()).isEqualTo(at("2025-03-21T00:00"));
+        assertThat(parse("다음주 금요일까지 보고서 제출").timeSpecified()).isFalse();
+        assertThat(parse("금요일 3시 미팅").start()).isEqualTo(at("2025-03-14T15:00"));
+        // 오늘(수요일) 9시는 이미 지났으므로 다음 주 수요일이다.
+        assertThat(parse("수요일 9시 미팅").start()).isEqualTo(at("2025-03-19T09:00"));
+        assertThat(parse("next friday 10:30 am call").start()).isEqualTo(at("2025-03-21T10:30"));
+    }
+
+    @Test
+    void rollsPastTimeOfDayToTomorrowAndReadsBareHoursAsAfternoon() {
+        assertThat(parse("3시 회의").start()).isEqualTo(at("2025-03-12T15:00"));
+        assertThat(parse("오전 9시 회의").start()).isEqualTo(at("2025-03-13T09:00"));
+        assertThat(parse("두시 반에 통화").start()).isEqualTo(at("2025-03-12T14:30"));
+        assertThat(parse("오늘 밤 12시 마감").start()).isEqualTo(at("2025-03-13T00:00"));
+        assertThat(parse("meeting tonight at 8").start()).isEqualTo(at("2025-03-12T20:00"));
+    }
+
+    @Test
+    void resolvesTimeRanges() {
+        TemporalExpression expression = parse("3월 15일 오전 10시~11시 치과");
+        assertThat(expression.start()).isEqualTo(at("2025-03-15T10:00"));
+        assertThat(expression.end()).isEqualTo(at("2025-03-15T11:00"));
+        assertThat(expression.remainder()).isEqualTo("치과");
+
+        TemporalExpression overnight = parse("오후 11시~1시 작업");
+        assertThat(overnight.end()).isEqualTo(at("2025-03-13T01:00"));
+        assertThat(parse("2시부터 4시까지 워크숍").end()).isEqualTo(at("2025-03-12T16:00"));
+    }
+
+    @Test
+    void resolvesElapsedAndAbsoluteExpressions() {
+        assertThat(parse("30분 후 빨래 알려줘").start()).isEqualTo(at("2025-03-12T10:30"));
+        assertThat(parse("in 2 hours remind me").start()).isEqualTo(at("2025-03-12T12:00"));
+        assertThat(parse("3일 후 계약서 검토").start()).isEqualTo(at("2025-03-15T00:00"));
+        assertThat(parse("2025-04-01 14:00 발표").start()).isEqualTo(at("2025-04-01T14:00"));
+        assertThat(parse("tomorrow at 3pm meeting with Bob").remainder()).isEqualTo("meeting with Bob");
+    }
+
+    @Test
+    void flagsLeftoverDateOrTimeExpressionsAsAmbiguous() {
+        TemporalExpression moved = parse("다음주 월요일 회의를 화요일 3시로 옮겨줘");
+        assertThat(moved.start()).isEqualTo(at("2025-03-17T15:00"));
+        assertThat(moved.ambiguous()).isTrue();
+
+        TemporalExpression summary = parse("어제 3시 회의 정리해서 내일까지 제출");
+        assertThat(summary.start()).isEqualTo(at("2025-03-11T15:00"));
+        assertThat(summary.ambiguous()).isTrue();
+
+        assertThat(parse("내일 오후 2시 팀 회의").ambiguous()).isFalse();
+        assertThat(parse("3월 15일 오전 10시~11시 치과").ambiguous()).isFalse();
+        assertThat(parse("다음주 금요일까지 보고서 제출").dateSpecified()).isTrue();
+        assertThat(parse("3시 회의").dateSpecified()).isFalse();
+    }
+
+    @Test
+    void anchorsOnRequestTimeInTheClockOffset() {
+        TemporalExpression expression = parser.parse("내일 9시", OffsetDateTime.parse("2025-03-12T16:00:00Z")).orElseThrow();
+
+        // UTC 16시는 서울 기준 13일 새벽 1시이므로 "내일"은 14일이다.
+        assertThat(expression.start()).isEqualTo(at("2025-03-14T09:00"));
+    }
+
+    @Test
+    void ignoresTextWithoutTemporalExpressions() {
+        assertThat(parser.parse("동기화해줘", NOW)).isEmpty();
+        assertThat(parser.parse("1시간 동안 회의", NOW)).isEmpty();
+    }
+
+    @Test
+    void ignoresOversizedElapsedAmountsInsteadOfFailing() {
+        assertThat(parser.parse("99999999999999999999분 후 알려줘", NOW)).isEmpty();
+        assertThat(parser.parse("9999999999999999분 후 알려줘", NOW)).isEmpty();
+        assertThat(parser.parse("in 99999999999 days remind me", NOW)).isEmpty();
+        assertThat(parser.parse("12345 hours later", NOW)).isEmpty();
+        assertThat(parse("9999일 후 점검").start()).isEqualTo(at("2052-07-27T00:00"));
+    }
+
+    private TemporalExpression parse(String text) {
+        return parser.parse(text, NOW).orElseThrow();
+    }
+
+    private static OffsetDateTime at(String localDateTime) {
+        return OffsetDateTime.parse(localDateTime + ":00+09:00");
+    }
+}
@@ -0,0 +1,95 @@
+package com.my.brain.domain.service;
+
+import com.my.brain.domain.model.BrainRequest;
+import com.my.brain.domain.model.CalendarEvent;
+import com.my.brain.domain.model.IntentType;
+import com.my.brain.domain.model.LlmIntentResult;
+import com.my.brain.domain.model.MessageType;
+import com.my.brain.domain.model.TimeRange;
+import com.my.brain.domain.model.TodoItem;
+import org.junit.jupiter.api.Test;
+
+import java.time.OffsetDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TemporalIntentReconcilerTest {
+
+    private static final OffsetDateTime NOW = OffsetDateTime.parse("2025-03-12T10:00:00+09:00");
+
+    private final TemporalExpressionParser parser = new TemporalExpressionParser(() -> NOW);
+
+    @Test
+    void correctsCalendarTimeThatDisagreesWithText() {
+        // LLM이 "내일"을 오늘로, "오후 2시"를 2시로 잘못 읽었다.
+        TemporalIntentReconciler reconciler = new TemporalIntentReconciler(request -> calendar(at("2025-03-12T02:00"), at("2025-03-12T03:30")), parser);
+
+        LlmIntentResult result = reconciler.parseIntent(request("내일 오후 2시 고객사 방문"));
+
+        assertThat(result.calendarEvent().timeRange().start()).isEqualTo(at("2025-03-13T14:00"));
+        assertThat(result.calendarEvent().timeRange().end()).isEqualTo(at("2025-03-13T15:30"));
+        assertThat(reconciler.correctedCount()).isEqualTo(1);
+    }
+
+    @Test
+    void keepsLlmTimeWhenTextOnlyNamesTheDate() {
+        LlmIntentResult llm = calendar(at("2025-03-20T15:00"), at("2025-03-20T16:00"));
+        TemporalIntentReconciler reconciler = new TemporalIntentReconciler(request -> llm, parser);
+
+        // 시각 표현이 없으니 "다음주 금요일"과 날짜가 달라도 덮어쓰지 않는다.
+        assertThat(reconciler.parseIntent(request("다음주 금요일 오후에 고객사 방문"))).isSameAs(llm);
+        assertThat(reconciler.correctedCount()).isZero();
+        assertThat(reconciler.mismatchedCount()).isEqualTo(1);
+    }
+
+    @Test
+    void keepsLlmTimeWhenTextHasSeveralExpressions() {
+        LlmIntentResult moved = calendar(at("2025-03-18T15:00"), at("2025-03-18T16:00"));
+        TemporalIntentReconciler events = new TemporalIntentReconciler(request -> moved, parser);
+        assertThat(events.parseIntent(request("다음주 월요일 회의를 화요일 3시로 옮겨줘"))).isSameAs(moved);
+        assertThat(events.mismatchedCount()).isEqualTo(1);
+
+        LlmIntentResult due = new LlmIntentResult(IntentType.TASK, null, new TodoItem("회의 정리", at("2025-03-13T00:00")), null);
+        TemporalIntentReconciler tasks = new TemporalIntentReconciler(request -> due, parser);
+        assertThat(tasks.parseIntent(request("어제 3시 회의 정리해서 내일까지 제출"))).isSameAs(due);
+
+        LlmIntentResult undated = new LlmIntentResult(IntentType.TASK, null, new TodoItem("회의 정리", null), null);
+        TemporalIntentReconciler unfilled = new TemporalIntentReconciler(request -> undated, parser);
+        assertThat(unfilled.parseIntent(request("어제 3시 회의 정리해서 내일까지 제출"))).isSameAs(undated);
+        assertThat(tasks.mismatchedCount() + unfilled.mismatchedCount()).isEqualTo(2);
+        assertThat(tasks.correctedCount() + unfilled.filledCount()).isZero();
+    }
+
+    @Test
+    void fillsMissingTaskDueDateAndCalendarEnd() {
+        TemporalIntentReconciler tasks = new TemporalIntentReconciler(request -> new LlmIntentResult(IntentType.TASK, null,
+                new TodoItem("계약서 검토", null), null), parser);
+        assertThat(tasks.parseIntent(request("3일 후 계약서 검토 알려줘")).todoItem().dueDate()).isEqualTo(at("2025-03-15T00:00"));
+        assertThat(tasks.filledCount()).isEqualTo(1);
+
+        TemporalIntentReconciler events = new TemporalIntentReconciler(request -> calendar(at("2025-03-13T14:00"), null), parser);
+        assertThat(events.parseIntent(request("고객사 방문")).calendarEvent().timeRange().end()).isEqualTo(at("2025-03-13T15:00"));
+    }
+
+    @Test
+    void leavesAgreeingResultsUntouched() {
+        LlmIntentResult llm = calendar(at("2025-03-13T14:00"), at("2025-03-13T15:00"));
+        TemporalIntentReconciler reconciler = new TemporalIntentReconciler(request -> llm, parser);
+
+        assertThat(reconciler.parseIntent(request("내일 오후 2시 고객사 방문"))).isSameAs(llm);
+        assertThat(reconciler.correctedCount()).isZero();
+        assertThat(reconciler.filledCount()).isZero();
+    }
+
+    private static LlmIntentResult calendar(OffsetDateTime start, OffsetDateTime end) {
+        return new LlmIntentResult(IntentType.CALENDAR, new CalendarEvent("고객사 방문", new TimeRange(start, end), null, null, null, null), null, null);
+    }
+
+    private static BrainRequest request(String content) {
+        return new BrainRequest("id", NOW, "user", MessageType.CHAT, content);
+    }
+
+    private static OffsetDateTime at(String localDateTime) {
+        return OffsetDateTime.parse(localDateTime + ":00+09:00");
+    }
+}